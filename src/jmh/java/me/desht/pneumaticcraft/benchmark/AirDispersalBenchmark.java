@@ -0,0 +1,94 @@
+package me.desht.pneumaticcraft.benchmark;
+
+import me.desht.pneumaticcraft.api.tileentity.IAirHandlerMachine;
+import me.desht.pneumaticcraft.api.tileentity.IAirListener;
+import me.desht.pneumaticcraft.common.capabilities.MachineAirHandler;
+import me.desht.pneumaticcraft.lib.PneumaticValues;
+import net.minecraft.tileentity.TileEntity;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Air dispersal across a square grid of pressure tubes, with a pressurised source in one corner.  Each tube's
+ * neighbours are connected through {@link IAirListener#addConnectedPneumatics(List)}, as Pressure Chamber valves
+ * are, so no world or neighbour capability lookup is needed.  Only the dispersal half of
+ * {@link MachineAirHandler#tick(TileEntity)} is run; the rest of it (leak & overpressure checks) needs a world.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AirDispersalBenchmark {
+    @Param({ "4", "16" })
+    public int size;
+
+    private MethodHandle disperseAir;
+    private MachineAirHandler[] grid;
+    private FakeTube[] tubes;
+
+    @Setup(Level.Trial)
+    public void setupTrial() throws ReflectiveOperationException {
+        Method m = MachineAirHandler.class.getDeclaredMethod("disperseAir", TileEntity.class);
+        m.setAccessible(true);
+        disperseAir = MethodHandles.lookup().unreflect(m);
+    }
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        grid = new MachineAirHandler[size * size];
+        tubes = new FakeTube[size * size];
+        for (int i = 0; i < grid.length; i++) {
+            grid[i] = new MachineAirHandler(PneumaticValues.DANGER_PRESSURE_PRESSURE_TUBE,
+                    PneumaticValues.MAX_PRESSURE_PRESSURE_TUBE, PneumaticValues.VOLUME_PRESSURE_TUBE);
+            tubes[i] = new FakeTube();
+        }
+        for (int x = 0; x < size; x++) {
+            for (int z = 0; z < size; z++) {
+                List<IAirHandlerMachine> neighbours = tubes[idx(x, z)].neighbours;
+                if (x > 0) neighbours.add(grid[idx(x - 1, z)]);
+                if (x + 1 < size) neighbours.add(grid[idx(x + 1, z)]);
+                if (z > 0) neighbours.add(grid[idx(x, z - 1)]);
+                if (z + 1 < size) neighbours.add(grid[idx(x, z + 1)]);
+            }
+        }
+    }
+
+    @Benchmark
+    public MachineAirHandler[] tickGrid() throws Throwable {
+        // keep a pressure gradient going, otherwise the grid settles and nothing is dispersed
+        grid[0].setPressure(PneumaticValues.DANGER_PRESSURE_PRESSURE_TUBE);
+        for (int i = 0; i < grid.length; i++) {
+            disperseAir.invokeExact(grid[i], (TileEntity) tubes[i]);
+        }
+        return grid;
+    }
+
+    private int idx(int x, int z) {
+        return x * size + z;
+    }
+
+    /**
+     * Stands in for a pressure tube; it's never added to a world.
+     */
+    private static class FakeTube extends TileEntity implements IAirListener {
+        private final List<IAirHandlerMachine> neighbours = new ArrayList<>();
+
+        FakeTube() {
+            super(null);
+        }
+
+        @Override
+        public List<IAirHandlerMachine> addConnectedPneumatics(List<IAirHandlerMachine> airHandlers) {
+            airHandlers.addAll(neighbours);
+            return airHandlers;
+        }
+    }
+}
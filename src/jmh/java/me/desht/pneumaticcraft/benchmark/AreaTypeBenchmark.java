@@ -0,0 +1,64 @@
+package me.desht.pneumaticcraft.benchmark;
+
+import me.desht.pneumaticcraft.common.progwidgets.area.*;
+import net.minecraft.nbt.CompoundNBT;
+import net.minecraft.util.math.BlockPos;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Area generation for each area type, as done whenever a drone program's area widgets are evaluated.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AreaTypeBenchmark {
+    @Param({ "box", "sphere", "line", "wall", "cylinder", "pyramid", "grid", "random" })
+    public String type;
+
+    @Param({ "8", "32" })
+    public int size;
+
+    private AreaType areaType;
+    private BlockPos p1;
+    private BlockPos p2;
+
+    @Setup
+    public void setup() {
+        areaType = createType(type);
+        p1 = new BlockPos(0, 64, 0);
+        p2 = p1.add(size, size, size);
+    }
+
+    @Benchmark
+    public void addArea(Blackhole bh) {
+        areaType.addArea(bh::consume, p1, p2,
+                Math.min(p1.getX(), p2.getX()), Math.min(p1.getY(), p2.getY()), Math.min(p1.getZ(), p2.getZ()),
+                Math.max(p1.getX(), p2.getX()), Math.max(p1.getY(), p2.getY()), Math.max(p1.getZ(), p2.getZ()));
+    }
+
+    private AreaType createType(String id) {
+        // constructed directly rather than via ProgWidgetArea, which would drag in the prog widget registry
+        switch (id) {
+            case AreaTypeBox.ID: return new AreaTypeBox();
+            case AreaTypeSphere.ID: return new AreaTypeSphere();
+            case AreaTypeLine.ID: return new AreaTypeLine();
+            case AreaTypeWall.ID: return new AreaTypeWall();
+            case AreaTypeCylinder.ID: return new AreaTypeCylinder();
+            case AreaTypePyramid.ID: return new AreaTypePyramid();
+            case AreaTypeGrid.ID: return new AreaTypeGrid();
+            case AreaTypeRandom.ID:
+                AreaTypeRandom random = new AreaTypeRandom();
+                CompoundNBT tag = new CompoundNBT();
+                tag.putInt("pickedAmount", 1000);
+                random.readFromNBT(tag);
+                return random;
+            default: throw new IllegalArgumentException("unknown area type " + id);
+        }
+    }
+}
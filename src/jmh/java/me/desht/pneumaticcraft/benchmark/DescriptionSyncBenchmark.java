@@ -0,0 +1,103 @@
+package me.desht.pneumaticcraft.benchmark;
+
+import io.netty.buffer.Unpooled;
+import me.desht.pneumaticcraft.common.network.*;
+import net.minecraft.nbt.CompoundNBT;
+import net.minecraft.network.PacketBuffer;
+import net.minecraft.util.math.BlockPos;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-tick description field change detection, and description packet encoding, for a typical machine.  A plain
+ * {@link IDescSynced} stands in for the tile entity.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DescriptionSyncBenchmark {
+    private FakeMachine machine;
+    private PacketBuffer buffer;
+
+    @Setup
+    public void setup() {
+        machine = new FakeMachine();
+        buffer = new PacketBuffer(Unpooled.buffer(1024));
+    }
+
+    @Benchmark
+    public int updateUnchanged() {
+        return machine.updateFields();
+    }
+
+    @Benchmark
+    public int updateChanged() {
+        machine.progress++;
+        machine.temperature += 0.5f;
+        return machine.updateFields();
+    }
+
+    @Benchmark
+    public int encodeFullSync() {
+        buffer.clear();
+        new PacketDescription(machine, true).toBytes(buffer);
+        return buffer.writerIndex();
+    }
+
+    public static class FakeMachine implements IDescSynced {
+        @DescSynced
+        int progress;
+        @DescSynced
+        float temperature = 300f;
+        @DescSynced
+        boolean active = true;
+        @DescSynced
+        String status = "running";
+        @DescSynced
+        int[] sideConfig = new int[6];
+        @DescSynced
+        double pressure = 4.5;
+
+        private final List<SyncedField<?>> descFields = NetworkUtils.getSyncedFields(this, DescSynced.class);
+
+        int updateFields() {
+            int changed = 0;
+            for (SyncedField<?> field : descFields) {
+                if (field.update()) changed++;
+            }
+            return changed;
+        }
+
+        @Override
+        public List<SyncedField<?>> getDescriptionFields() {
+            return descFields;
+        }
+
+        @Override
+        public void writeToPacket(CompoundNBT tag) {
+        }
+
+        @Override
+        public void readFromPacket(CompoundNBT tag) {
+        }
+
+        @Override
+        public BlockPos getPosition() {
+            return BlockPos.ZERO;
+        }
+
+        @Override
+        public void onDescUpdate() {
+        }
+
+        @Override
+        public boolean shouldSyncField(int idx) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package me.desht.pneumaticcraft.benchmark;
+
+import me.desht.pneumaticcraft.common.util.EntityFilter;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityClassification;
+import net.minecraft.entity.EntityType;
+import net.minecraft.entity.monster.IMob;
+import net.minecraft.nbt.CompoundNBT;
+import net.minecraft.network.IPacket;
+import net.minecraft.util.registry.Bootstrap;
+import net.minecraft.util.text.ITextComponent;
+import net.minecraft.util.text.StringTextComponent;
+import net.minecraft.util.text.TranslationTextComponent;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity filter matching over a mixed mob population, as done by drones' entity widgets, the Sentry Turret and the
+ * Universal Sensor.  Stand-in entities, with no world, supply the class and name which filters look at; a few of them
+ * have custom names, which can't use the per-name verdict cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntityFilterBenchmark {
+    private static final String[] MONSTERS = { "zombie", "skeleton", "creeper", "spider", "enderman" };
+    private static final String[] PASSIVES = { "cow", "pig", "sheep", "chicken", "villager" };
+    private static final int POPULATION = 500;
+
+    @Param({ "@mob", "*zombie*", "cow;pig;sheep", "!@player", "creeper;@animal;Bob*" })
+    public String filterSpec;
+
+    private EntityFilter filter;
+    private Entity[] population;
+
+    @Setup
+    public void setup() {
+        Bootstrap.register();
+
+        EntityType<?> type = EntityType.Builder.create(EntityClassification.MISC).disableSerialization().build("benchmark");
+        Random rand = new Random(42L);
+        population = new Entity[POPULATION];
+        for (int i = 0; i < POPULATION; i++) {
+            String customName = rand.nextInt(20) == 0 ? "Bob " + i : null;
+            if (rand.nextBoolean()) {
+                population[i] = new FakeMonster(type, MONSTERS[rand.nextInt(MONSTERS.length)], customName);
+            } else {
+                population[i] = new FakeEntity(type, PASSIVES[rand.nextInt(PASSIVES.length)], customName);
+            }
+        }
+        filter = new EntityFilter(filterSpec);
+    }
+
+    @Benchmark
+    public int filterPopulation() {
+        int matched = 0;
+        for (Entity entity : population) {
+            if (filter.test(entity)) matched++;
+        }
+        return matched;
+    }
+
+    /**
+     * Stands in for a mob; it's never added to a world.  Like a real entity, a new name component is created
+     * each time the name is asked for.
+     */
+    private static class FakeEntity extends Entity {
+        private final String translationKey;
+        private final String customName;
+
+        FakeEntity(EntityType<?> type, String id, String customName) {
+            super(type, null);
+            this.translationKey = "entity.minecraft." + id;
+            this.customName = customName;
+        }
+
+        @Override
+        public ITextComponent getName() {
+            return customName == null ? new TranslationTextComponent(translationKey) : new StringTextComponent(customName);
+        }
+
+        @Override
+        protected void registerData() {
+        }
+
+        @Override
+        protected void readAdditional(CompoundNBT compound) {
+        }
+
+        @Override
+        protected void writeAdditional(CompoundNBT compound) {
+        }
+
+        @Override
+        public IPacket<?> createSpawnPacket() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static class FakeMonster extends FakeEntity implements IMob {
+        FakeMonster(EntityType<?> type, String id, String customName) {
+            super(type, id, customName);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package me.desht.pneumaticcraft.benchmark;
+
+import me.desht.pneumaticcraft.common.variables.GlobalVariableManager;
+import net.minecraft.util.math.BlockPos;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Constructor;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Global variable access as done by a variable-heavy drone program: each "tick" reads and updates a set of '#'
+ * variables, either looking each one up by name every time, or through interned variable handles (as
+ * DroneAIManager now does).  The benchmark works on its own manager instance directly, rather than through
+ * getInstance(), which needs a running server.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GlobalVariableBenchmark {
+    @Param({ "4", "32" })
+    public int varCount;
+
+    private GlobalVariableManager manager;
+    private String[] varNames;
+    private final Map<String, GlobalVariableManager.GlobalVariable> handles = new HashMap<>();
+    private int counter;
+
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+        // normally created as overworld saved data, which needs a running server
+        Constructor<GlobalVariableManager> ctor = GlobalVariableManager.class.getDeclaredConstructor();
+        ctor.setAccessible(true);
+        manager = ctor.newInstance();
+
+        varNames = new String[varCount];
+        for (int i = 0; i < varCount; i++) {
+            varNames[i] = "#var" + i;
+            manager.set(varNames[i].substring(1), new BlockPos(i, 64, i));
+        }
+    }
+
+    @Benchmark
+    public void byName(Blackhole bh) {
+        counter++;
+        for (String varName : varNames) {
+            BlockPos pos = manager.getPos(varName.substring(1));
+            bh.consume(pos);
+            manager.set(varName.substring(1), pos.getX(), pos.getY(), counter);
+        }
+    }
+
+    @Benchmark
+    public void byHandle(Blackhole bh) {
+        counter++;
+        for (String varName : varNames) {
+            GlobalVariableManager.GlobalVariable var = handles.computeIfAbsent(varName, k -> manager.getVariable(k.substring(1)));
+            BlockPos pos = var.getPos();
+            bh.consume(pos);
+            var.setPos(new BlockPos(pos.getX(), pos.getY(), counter));
+        }
+    }
+}
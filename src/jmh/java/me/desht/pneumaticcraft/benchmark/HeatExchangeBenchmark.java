@@ -0,0 +1,56 @@
+package me.desht.pneumaticcraft.benchmark;
+
+import me.desht.pneumaticcraft.common.heat.HeatExchangerLogicTicking;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Heat exchange across a square cluster of heat sinks, with a hot source in one corner.  Exchangers are connected
+ * directly to their neighbours, so no world is needed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HeatExchangeBenchmark {
+    @Param({ "4", "16" })
+    public int size;
+
+    private HeatExchangerLogicTicking[] cluster;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        cluster = new HeatExchangerLogicTicking[size * size];
+        for (int i = 0; i < cluster.length; i++) {
+            HeatExchangerLogicTicking logic = new HeatExchangerLogicTicking();
+            logic.setThermalCapacity(10);
+            logic.setThermalResistance(1);
+            cluster[i] = logic;
+        }
+        for (int x = 0; x < size; x++) {
+            for (int z = 0; z < size; z++) {
+                // connections are two-way, so only connect forwards
+                if (x + 1 < size) cluster[idx(x, z)].addConnectedExchanger(cluster[idx(x + 1, z)]);
+                if (z + 1 < size) cluster[idx(x, z)].addConnectedExchanger(cluster[idx(x, z + 1)]);
+            }
+        }
+        cluster[0].setTemperature(2000);
+    }
+
+    @Benchmark
+    public HeatExchangerLogicTicking[] tickCluster() {
+        // keep a heat gradient going, otherwise the cluster settles and exchanges get trivially small
+        cluster[0].setTemperature(2000);
+        for (HeatExchangerLogicTicking logic : cluster) {
+            logic.tick();
+        }
+        return cluster;
+    }
+
+    private int idx(int x, int z) {
+        return x * size + z;
+    }
+}
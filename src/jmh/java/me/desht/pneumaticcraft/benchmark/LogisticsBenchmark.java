@@ -0,0 +1,180 @@
+package me.desht.pneumaticcraft.benchmark;
+
+import me.desht.pneumaticcraft.common.ai.LogisticsManager;
+import me.desht.pneumaticcraft.common.entity.semiblock.*;
+import net.minecraft.entity.EntityClassification;
+import net.minecraft.entity.EntityType;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.Items;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.Direction;
+import net.minecraft.util.registry.Bootstrap;
+import net.minecraft.world.World;
+import net.minecraftforge.common.capabilities.Capability;
+import net.minecraftforge.common.util.LazyOptional;
+import net.minecraftforge.fluids.FluidStack;
+import net.minecraftforge.fluids.capability.IFluidHandler;
+import net.minecraftforge.items.ItemStackHandler;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.lang.reflect.Field;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logistics task search, as done by a Logistics drone looking for work, over a synthetic set of providers, storage
+ * frames and requesters.  Frames are attached to stand-in inventories rather than placed in a world; the world is a
+ * mock which only supplies the random source frames need when constructed.  Path obstruction checks need real
+ * block states, so they're skipped (as for a drone with no access restrictions).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LogisticsBenchmark {
+    @Param({ "8", "32" })
+    public int frames;
+
+    private LogisticsManager manager;
+    private ItemStack heldItem;
+
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+        Bootstrap.register();
+
+        World world = Mockito.mock(World.class);
+        Field randField = World.class.getField("rand");
+        randField.setAccessible(true);  // it's final, and a mock skips field initialisers
+        randField.set(world, new Random(42L));
+        EntityType<?> type = EntityType.Builder.create(EntityClassification.MISC).disableSerialization().build("benchmark");
+        Item[] items = { Items.COBBLESTONE, Items.IRON_INGOT, Items.REDSTONE, Items.OAK_LOG, Items.COAL, Items.DIAMOND };
+        Random rand = new Random(42L);
+
+        manager = new LogisticsManager();
+        for (int i = 0; i < frames; i++) {
+            FakeInventory inv = new FakeInventory();
+            EntityLogisticsFrame frame;
+            switch (i % 4) {
+                case 0:
+                case 1:
+                    // half the frames are providers, each with a few stacks of assorted items
+                    for (int slot = 0; slot < 4; slot++) {
+                        inv.handler.setStackInSlot(slot, new ItemStack(items[rand.nextInt(items.length)], 1 + rand.nextInt(64)));
+                    }
+                    frame = i % 4 == 0 ? new EntityLogisticsActiveProvider(type, world) {
+                        @Override
+                        public TileEntity getCachedTileEntity() {
+                            return inv;
+                        }
+                    } : new EntityLogisticsPassiveProvider(type, world) {
+                        @Override
+                        public TileEntity getCachedTileEntity() {
+                            return inv;
+                        }
+                    };
+                    break;
+                case 2:
+                    frame = new EntityLogisticsStorage(type, world) {
+                        @Override
+                        public TileEntity getCachedTileEntity() {
+                            return inv;
+                        }
+                    };
+                    break;
+                default:
+                    frame = new EntityLogisticsRequester(type, world) {
+                        @Override
+                        public TileEntity getCachedTileEntity() {
+                            return inv;
+                        }
+                    };
+                    frame.setItemFilter(0, new ItemStack(items[rand.nextInt(items.length)], 32));
+                    frame.setItemFilter(1, new ItemStack(items[rand.nextInt(items.length)], 16));
+                    break;
+            }
+            manager.addLogisticFrame(frame);
+        }
+        heldItem = new ItemStack(Items.COBBLESTONE, 16);
+    }
+
+    @Benchmark
+    public PriorityQueue<LogisticsManager.LogisticsTask> findWork() {
+        return manager.getTasks(FluidStack.EMPTY, false);
+    }
+
+    @Benchmark
+    public PriorityQueue<LogisticsManager.LogisticsTask> deliverHeldItem() {
+        return manager.getTasks(heldItem, false);
+    }
+
+    /**
+     * Stands in for an inventory block; it's never added to a world.  Capabilities aren't injected outside the game,
+     * so every capability query gets the same handler, which is both a 27-slot item handler and an empty fluid
+     * handler.
+     */
+    private static class FakeInventory extends TileEntity {
+        private final FakeHandler handler = new FakeHandler();
+        private final LazyOptional<FakeHandler> handlerCap = LazyOptional.of(() -> handler);
+
+        FakeInventory() {
+            super(null);
+        }
+
+        @Nonnull
+        @Override
+        public <T> LazyOptional<T> getCapability(@Nonnull Capability<T> cap, @Nullable Direction side) {
+            return handlerCap.cast();
+        }
+    }
+
+    private static class FakeHandler extends ItemStackHandler implements IFluidHandler {
+        FakeHandler() {
+            super(27);
+        }
+
+        @Override
+        public int getTanks() {
+            return 0;
+        }
+
+        @Nonnull
+        @Override
+        public FluidStack getFluidInTank(int tank) {
+            return FluidStack.EMPTY;
+        }
+
+        @Override
+        public int getTankCapacity(int tank) {
+            return 0;
+        }
+
+        @Override
+        public boolean isFluidValid(int tank, @Nonnull FluidStack stack) {
+            return false;
+        }
+
+        @Override
+        public int fill(FluidStack resource, FluidAction action) {
+            return 0;
+        }
+
+        @Nonnull
+        @Override
+        public FluidStack drain(FluidStack resource, FluidAction action) {
+            return FluidStack.EMPTY;
+        }
+
+        @Nonnull
+        @Override
+        public FluidStack drain(int maxDrain, FluidAction action) {
+            return FluidStack.EMPTY;
+        }
+    }
+}
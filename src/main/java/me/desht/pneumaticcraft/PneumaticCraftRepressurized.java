@@ -6,12 +6,15 @@ import me.desht.pneumaticcraft.client.ClientSetup;
 import me.desht.pneumaticcraft.common.PneumaticCraftAPIHandler;
 import me.desht.pneumaticcraft.common.advancements.AdvancementTriggers;
 import me.desht.pneumaticcraft.common.capabilities.CapabilityAirHandler;
+import me.desht.pneumaticcraft.common.capabilities.CapabilityFluidDeposits;
 import me.desht.pneumaticcraft.common.capabilities.CapabilityHacking;
 import me.desht.pneumaticcraft.common.capabilities.CapabilityHeat;
 import me.desht.pneumaticcraft.common.commands.ModCommands;
 import me.desht.pneumaticcraft.common.config.ConfigHolder;
 import me.desht.pneumaticcraft.common.config.subconfig.AuxConfigHandler;
+import me.desht.pneumaticcraft.common.config.subconfig.AuxConfigWriter;
 import me.desht.pneumaticcraft.common.core.*;
+import me.desht.pneumaticcraft.common.debug.TickProfiler;
 import me.desht.pneumaticcraft.common.dispenser.BehaviorDispenseDrone;
 import me.desht.pneumaticcraft.common.event.*;
 import me.desht.pneumaticcraft.common.fluid.FluidSetup;
@@ -159,6 +162,7 @@ public class PneumaticCraftRepressurized {
         CapabilityAirHandler.register();
         CapabilityHeat.register();
         CapabilityHacking.register();
+        CapabilityFluidDeposits.register();
     }
 
     private void addReloadListeners(AddReloadListenerEvent event) {
@@ -176,6 +180,8 @@ public class PneumaticCraftRepressurized {
 
     private void serverStopping(FMLServerStoppingEvent event) {
         AmadronOfferManager.getInstance().saveAll();
+        AuxConfigWriter.flush();
+        TickProfiler.stopProfiling();
 
         // if we're on single-player, reset is needed here to stop world-specific configs crossing worlds
         AuxConfigHandler.clearPerWorldConfigs();
@@ -1,11 +1,13 @@
 package me.desht.pneumaticcraft.client.event;
 
 import me.desht.pneumaticcraft.client.model.CamoModel;
+import me.desht.pneumaticcraft.client.model.PressureTubeModuleModel;
 import me.desht.pneumaticcraft.client.model.custom.CamouflageModel;
 import me.desht.pneumaticcraft.client.model.custom.FluidItemModel;
 import me.desht.pneumaticcraft.client.model.custom.PressureGlassModel;
 import me.desht.pneumaticcraft.client.model.custom.RenderedItemModel;
 import me.desht.pneumaticcraft.common.block.BlockPneumaticCraftCamo;
+import me.desht.pneumaticcraft.common.block.BlockPressureTube;
 import me.desht.pneumaticcraft.common.core.ModBlocks;
 import me.desht.pneumaticcraft.lib.Names;
 import net.minecraft.block.Block;
@@ -13,9 +15,11 @@ import net.minecraft.block.BlockState;
 import net.minecraft.client.renderer.BlockModelShapes;
 import net.minecraft.client.renderer.model.IBakedModel;
 import net.minecraft.client.renderer.model.ModelResourceLocation;
+import net.minecraft.client.renderer.texture.AtlasTexture;
 import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.client.event.ModelBakeEvent;
 import net.minecraftforge.client.event.ModelRegistryEvent;
+import net.minecraftforge.client.event.TextureStitchEvent;
 import net.minecraftforge.client.model.ModelLoaderRegistry;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.RegistryObject;
@@ -34,13 +38,25 @@ public class ModClientEventHandler {
                     ModelResourceLocation loc = BlockModelShapes.getModelLocation(state);
                     IBakedModel model = event.getModelRegistry().get(loc);
                     if (model != null) {
-                        event.getModelRegistry().put(loc, new CamoModel(model));
+                        if (block.get() instanceof BlockPressureTube) {
+                            event.getModelRegistry().put(loc, new PressureTubeModuleModel(new CamoModel(model)));
+                        } else {
+                            event.getModelRegistry().put(loc, new CamoModel(model));
+                        }
                     }
                 }
             }
         }
     }
 
+    @SubscribeEvent
+    public static void onTextureStitch(TextureStitchEvent.Pre event) {
+        if (event.getMap().getTextureLocation().equals(AtlasTexture.LOCATION_BLOCKS_TEXTURE)) {
+            // static tube modules are baked into the pressure tube block model
+            PressureTubeModuleModel.STATIC_MODULE_TEXTURES.forEach(tex -> event.addSprite(PressureTubeModuleModel.toSpriteLocation(tex)));
+        }
+    }
+
     @SubscribeEvent
     public static void onModelRegistry(ModelRegistryEvent event) {
         ModelLoaderRegistry.registerLoader(RL("camouflaged"), CamouflageModel.Loader.INSTANCE);
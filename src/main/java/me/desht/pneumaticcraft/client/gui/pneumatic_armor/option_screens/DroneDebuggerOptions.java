@@ -30,6 +30,7 @@ import net.minecraft.util.text.StringTextComponent;
 import net.minecraft.util.text.TextFormatting;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 
@@ -162,14 +163,14 @@ public class DroneDebuggerOptions extends IOptionPage.SimpleToggleableOptions<Dr
             areaShowingWidget = areaShowingWidget == widget ? null : programmerUnit.getHoveredWidget((int)mouseX, (int)mouseY);
         } else if (mouseButton == 1) {
             if (widget instanceof IAreaProvider) {
-                getClientUpgradeHandler().getShownArea().clear();
                 int widgetId = selectedDrone.getProgWidgets().indexOf(widget);
                 if (areaShowWidgetId != widgetId) {
                     Set<BlockPos> area = Sets.newHashSet();
                     ((IAreaProvider) widget).getArea(area);
-                    getClientUpgradeHandler().getShownArea().addAll(area);
+                    getClientUpgradeHandler().setShownArea(area);
                     areaShowWidgetId = widgetId;
                 } else {
+                    getClientUpgradeHandler().setShownArea(Collections.emptySet());
                     clearAreaShowWidgetId();
                 }
             }
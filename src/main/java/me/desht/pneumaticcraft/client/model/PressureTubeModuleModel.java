@@ -0,0 +1,242 @@
+package me.desht.pneumaticcraft.client.model;
+
+import com.google.common.collect.ImmutableList;
+import com.mojang.blaze3d.matrix.MatrixStack;
+import com.mojang.blaze3d.vertex.IVertexBuilder;
+import me.desht.pneumaticcraft.client.TubeModuleClientRegistry;
+import me.desht.pneumaticcraft.client.render.tube_module.TubeModuleRendererBase;
+import me.desht.pneumaticcraft.common.block.BlockPneumaticCraftCamo;
+import me.desht.pneumaticcraft.common.block.BlockPressureTube;
+import me.desht.pneumaticcraft.common.block.tubes.TubeModule;
+import me.desht.pneumaticcraft.lib.Textures;
+import net.minecraft.block.BlockState;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.renderer.RenderType;
+import net.minecraft.client.renderer.model.BakedQuad;
+import net.minecraft.client.renderer.model.IBakedModel;
+import net.minecraft.client.renderer.model.ItemCameraTransforms;
+import net.minecraft.client.renderer.model.ItemOverrideList;
+import net.minecraft.client.renderer.texture.AtlasTexture;
+import net.minecraft.client.renderer.texture.OverlayTexture;
+import net.minecraft.client.renderer.texture.TextureAtlasSprite;
+import net.minecraft.client.renderer.vertex.VertexFormatElement;
+import net.minecraft.util.Direction;
+import net.minecraft.util.ResourceLocation;
+import net.minecraftforge.client.MinecraftForgeClient;
+import net.minecraftforge.client.model.data.IDynamicBakedModel;
+import net.minecraftforge.client.model.data.IModelData;
+import net.minecraftforge.client.model.pipeline.BakedQuadBuilder;
+
+import javax.annotation.Nullable;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Wraps the pressure tube block model, adding baked quads for any tube modules whose geometry is static (see
+ * {@link TubeModuleRendererBase#isStatic()}).  This keeps common modules like gauges and regulators in the chunk
+ * mesh, rather than having them re-rendered every frame by the tile entity renderer.
+ */
+public class PressureTubeModuleModel implements IDynamicBakedModel {
+    /**
+     * Textures of static modules; these need to be stitched into the block atlas.
+     */
+    public static final List<ResourceLocation> STATIC_MODULE_TEXTURES = ImmutableList.of(
+            Textures.MODEL_AIR_GRATE,
+            Textures.MODEL_CHARGING_MODULE,
+            Textures.MODEL_GAUGE,
+            Textures.MODEL_REGULATOR_MODULE,
+            Textures.MODEL_SAFETY_VALVE
+    );
+
+    private final IBakedModel originalModel;
+    private final Map<ResourceLocation, TubeModuleRendererBase<?>> renderers = new ConcurrentHashMap<>();
+    private final Map<String, List<BakedQuad>> quadCache = new ConcurrentHashMap<>();
+
+    public PressureTubeModuleModel(IBakedModel originalModel) {
+        this.originalModel = originalModel;
+    }
+
+    /**
+     * Convert a texture location (e.g. "pneumaticcraft:textures/model/modules/gauge_module.png") into the
+     * corresponding sprite location in the block atlas (e.g. "pneumaticcraft:model/modules/gauge_module").
+     */
+    public static ResourceLocation toSpriteLocation(ResourceLocation texture) {
+        String path = texture.getPath();
+        if (path.startsWith("textures/")) path = path.substring("textures/".length());
+        if (path.endsWith(".png")) path = path.substring(0, path.length() - ".png".length());
+        return new ResourceLocation(texture.getNamespace(), path);
+    }
+
+    @Override
+    public List<BakedQuad> getQuads(@Nullable BlockState state, @Nullable Direction side, Random rand, IModelData modelData) {
+        List<BakedQuad> quads = originalModel.getQuads(state, side, rand, modelData);
+        if (side != null || modelData.getData(BlockPneumaticCraftCamo.CAMO_STATE) != null
+                || MinecraftForgeClient.getRenderLayer() != RenderType.getCutout()) {
+            return quads;
+        }
+        TubeModule[] modules = modelData.getData(BlockPressureTube.MODULES);
+        if (modules == null) {
+            return quads;
+        }
+
+        List<BakedQuad> res = null;
+        for (TubeModule module : modules) {
+            if (module != null) {
+                TubeModuleRendererBase<TubeModule> renderer = getRenderer(module);
+                if (renderer != null && renderer.isStatic()) {
+                    if (res == null) res = new ArrayList<>(quads);
+                    res.addAll(getModuleQuads(renderer, module));
+                }
+            }
+        }
+        return res == null ? quads : res;
+    }
+
+    private TubeModuleRendererBase<TubeModule> getRenderer(TubeModule module) {
+        TubeModuleRendererBase<?> res = renderers.computeIfAbsent(module.getType(), k -> TubeModuleClientRegistry.createModel(module));
+        //noinspection unchecked
+        return (TubeModuleRendererBase<TubeModule>) res;
+    }
+
+    private List<BakedQuad> getModuleQuads(TubeModuleRendererBase<TubeModule> renderer, TubeModule module) {
+        String key = module.getType() + "/" + module.getDirection().getIndex() + "/" + module.isUpgraded();
+        return quadCache.computeIfAbsent(key, k -> {
+            TextureAtlasSprite sprite = Minecraft.getInstance().getAtlasSpriteGetter(AtlasTexture.LOCATION_BLOCKS_TEXTURE)
+                    .apply(toSpriteLocation(renderer.getModuleTexture()));
+            QuadCollector collector = new QuadCollector(sprite);
+            renderer.renderGeometry(module, new MatrixStack(), collector, 0f, 0, OverlayTexture.NO_OVERLAY);
+            return collector.getQuads();
+        });
+    }
+
+    @Override
+    public boolean isAmbientOcclusion() {
+        return originalModel.isAmbientOcclusion();
+    }
+
+    @Override
+    public boolean isGui3d() {
+        return originalModel.isGui3d();
+    }
+
+    @Override
+    public boolean isSideLit() {
+        return originalModel.isSideLit();
+    }
+
+    @Override
+    public boolean isBuiltInRenderer() {
+        return originalModel.isBuiltInRenderer();
+    }
+
+    @Override
+    public TextureAtlasSprite getParticleTexture() {
+        return originalModel.getParticleTexture();
+    }
+
+    @Override
+    public ItemCameraTransforms getItemCameraTransforms() {
+        return originalModel.getItemCameraTransforms();
+    }
+
+    @Override
+    public ItemOverrideList getOverrides() {
+        return originalModel.getOverrides();
+    }
+
+    /**
+     * Captures the vertices emitted by {@link net.minecraft.client.renderer.model.ModelRenderer} (which always
+     * emits complete vertices via {@link IVertexBuilder#addVertex}) and converts each group of four into a
+     * baked quad, remapping texture coords into the atlas sprite.
+     */
+    private static class QuadCollector implements IVertexBuilder {
+        private final TextureAtlasSprite sprite;
+        private final List<BakedQuad> quads = new ArrayList<>();
+        private final float[][] vertices = new float[4][];
+        private int vertexCount = 0;
+
+        QuadCollector(TextureAtlasSprite sprite) {
+            this.sprite = sprite;
+        }
+
+        List<BakedQuad> getQuads() {
+            return ImmutableList.copyOf(quads);
+        }
+
+        @Override
+        public void addVertex(float x, float y, float z, float red, float green, float blue, float alpha, float texU, float texV, int overlayUV, int lightmapUV, float normalX, float normalY, float normalZ) {
+            vertices[vertexCount++] = new float[] { x, y, z, red, green, blue, alpha, texU, texV, normalX, normalY, normalZ };
+            if (vertexCount == 4) {
+                quads.add(buildQuad());
+                vertexCount = 0;
+            }
+        }
+
+        private BakedQuad buildQuad() {
+            float[] n = vertices[0];
+            BakedQuadBuilder builder = new BakedQuadBuilder(sprite);
+            builder.setQuadOrientation(Direction.getFacingFromVector(n[9], n[10], n[11]));
+            ImmutableList<VertexFormatElement> elements = builder.getVertexFormat().getElements().asList();
+            for (float[] v : vertices) {
+                for (int e = 0; e < elements.size(); e++) {
+                    switch (elements.get(e).getUsage()) {
+                        case POSITION:
+                            builder.put(e, v[0], v[1], v[2]);
+                            break;
+                        case COLOR:
+                            builder.put(e, v[3], v[4], v[5], v[6]);
+                            break;
+                        case UV:
+                            if (elements.get(e).getIndex() == 0) {
+                                builder.put(e, sprite.getInterpolatedU(v[7] * 16), sprite.getInterpolatedV(v[8] * 16));
+                            } else {
+                                builder.put(e);
+                            }
+                            break;
+                        case NORMAL:
+                            builder.put(e, v[9], v[10], v[11]);
+                            break;
+                        default:
+                            builder.put(e);
+                            break;
+                    }
+                }
+            }
+            return builder.build();
+        }
+
+        @Override
+        public IVertexBuilder pos(double x, double y, double z) {
+            return this;
+        }
+
+        @Override
+        public IVertexBuilder color(int red, int green, int blue, int alpha) {
+            return this;
+        }
+
+        @Override
+        public IVertexBuilder tex(float u, float v) {
+            return this;
+        }
+
+        @Override
+        public IVertexBuilder overlay(int u, int v) {
+            return this;
+        }
+
+        @Override
+        public IVertexBuilder lightmap(int u, int v) {
+            return this;
+        }
+
+        @Override
+        public IVertexBuilder normal(float x, float y, float z) {
+            return this;
+        }
+
+        @Override
+        public void endVertex() {
+        }
+    }
+}
@@ -10,7 +10,8 @@ import me.desht.pneumaticcraft.client.util.ClientUtils;
 import me.desht.pneumaticcraft.common.core.ModItems;
 import me.desht.pneumaticcraft.common.item.ItemCamoApplicator;
 import me.desht.pneumaticcraft.common.item.ItemGPSAreaTool;
-import me.desht.pneumaticcraft.common.tileentity.ICamouflageableTE;
+import me.desht.pneumaticcraft.common.util.GlobalTileEntityCacheManager;
+import me.desht.pneumaticcraft.common.util.GlobalTileEntityCacheManager.GlobalTileEntityCache;
 import me.desht.pneumaticcraft.common.util.PneumaticCraftUtils;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.renderer.IRenderTypeBuffer;
@@ -24,6 +25,8 @@ import net.minecraft.util.text.TextFormatting;
 import net.minecraft.world.World;
 import net.minecraftforge.client.event.RenderWorldLastEvent;
 import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.world.BlockEvent;
+import net.minecraftforge.event.world.ChunkEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 
 import java.util.*;
@@ -34,7 +37,7 @@ import static me.desht.pneumaticcraft.common.util.PneumaticCraftUtils.xlate;
 public enum AreaRenderManager {
     INSTANCE;
 
-    private static final int MAX_DISPLAYED_POS = 15000;
+    private static final int MAX_DISPLAYED_POS = 100000;
 
     private final Map<BlockPos, AreaRenderer> showHandlers = new HashMap<>();
     private World world;
@@ -42,6 +45,15 @@ public enum AreaRenderManager {
 
     private List<AreaRenderer> cachedPositionProviderShowers;
     private AreaRenderer camoPositionShower;
+    private Set<BlockPos> camoPositionCache = Collections.emptySet();
+    private int camoCacheVersion = -1;
+    private AreaRenderer droneDebugPosShower;
+    private final Set<BlockPos> droneDebugPosCache = new HashSet<>();
+    private AreaRenderer droneDebugAreaShower;
+    private int droneDebugAreaVersion = -1;
+    private AreaRenderer areaToolP1Shower;
+    private AreaRenderer areaToolP2Shower;
+    private BlockPos areaToolP1, areaToolP2;
     private BlockPos lastPlayerPos;
     private int lastItemHashCode = 0;
 
@@ -76,16 +88,38 @@ public enum AreaRenderManager {
         matrixStack.pop();
     }
 
+    @SubscribeEvent
+    public void onBlockChanged(BlockEvent.NeighborNotifyEvent event) {
+        if (event.getWorld().isRemote()) {
+            AreaRenderer.onBlockChanged(event.getPos());
+        }
+    }
+
+    @SubscribeEvent
+    public void onChunkLoad(ChunkEvent.Load event) {
+        if (event.getWorld() != null && event.getWorld().isRemote()) {
+            AreaRenderer.onChunkLoaded(event.getChunk().getPos());
+        }
+    }
+
     @SubscribeEvent
     public void tickEnd(TickEvent.ClientTickEvent event) {
         PlayerEntity player = ClientUtils.getClientPlayer();
         if (player != null) {
             if (player.world != world) {
                 world = player.world;
+                showHandlers.values().forEach(AreaRenderer::close);
                 showHandlers.clear();
             } else {
                 if (event.phase == TickEvent.Phase.END) {
-                    showHandlers.keySet().removeIf(pos -> PneumaticCraftUtils.distBetweenSq(pos, player.getPosition()) < 1024 && world.isAirBlock(pos));
+                    showHandlers.entrySet().removeIf(entry -> {
+                        BlockPos pos = entry.getKey();
+                        if (PneumaticCraftUtils.distBetweenSq(pos, player.getPosition()) < 1024 && world.isAirBlock(pos)) {
+                            entry.getValue().close();
+                            return true;
+                        }
+                        return false;
+                    });
                 }
             }
         }
@@ -97,8 +131,18 @@ public enum AreaRenderManager {
             // show the raw P1/P2 positions; the area is shown by getHeldPositionProvider()
             BlockPos p1 = ItemGPSAreaTool.getGPSLocation(player.getEntityWorld(), curItem, 0);
             BlockPos p2 = ItemGPSAreaTool.getGPSLocation(player.getEntityWorld(), curItem, 1);
-            new AreaRenderer(Collections.singleton(p1), 0x80FF6060, true).render(matrixStack, buffer);
-            new AreaRenderer(Collections.singleton(p2), 0x8060FF60, true).render(matrixStack, buffer);
+            if (!p1.equals(areaToolP1) || areaToolP1Shower == null) {
+                areaToolP1 = p1;
+                closeRenderer(areaToolP1Shower);
+                areaToolP1Shower = new AreaRenderer(Collections.singleton(p1), 0x80FF6060, true);
+            }
+            if (!p2.equals(areaToolP2) || areaToolP2Shower == null) {
+                areaToolP2 = p2;
+                closeRenderer(areaToolP2Shower);
+                areaToolP2Shower = new AreaRenderer(Collections.singleton(p2), 0x8060FF60, true);
+            }
+            areaToolP1Shower.render(matrixStack, buffer);
+            areaToolP2Shower.render(matrixStack, buffer);
         }
     }
 
@@ -109,9 +153,19 @@ public enum AreaRenderManager {
                 droneDebugger = ArmorUpgradeClientRegistry.getInstance().byClass(DroneDebugClientHandler.class);
             }
             Set<BlockPos> posSet = droneDebugger.getShowingPositions();
-            Set<BlockPos> areaSet = droneDebugger.getShownArea();
-            new AreaRenderer(posSet, 0x90FF0000, true).render(matrixStack, buffer);
-            new AreaRenderer(areaSet, 0x4040FFA0, true).render(matrixStack, buffer);
+            if (droneDebugPosShower == null || !posSet.equals(droneDebugPosCache)) {
+                droneDebugPosCache.clear();
+                droneDebugPosCache.addAll(posSet);
+                closeRenderer(droneDebugPosShower);
+                droneDebugPosShower = new AreaRenderer(new HashSet<>(droneDebugPosCache), 0x90FF0000, true);
+            }
+            if (droneDebugAreaShower == null || droneDebugger.getShownAreaVersion() != droneDebugAreaVersion) {
+                droneDebugAreaVersion = droneDebugger.getShownAreaVersion();
+                closeRenderer(droneDebugAreaShower);
+                droneDebugAreaShower = new AreaRenderer(new HashSet<>(droneDebugger.getShownArea()), 0x4040FFA0, true);
+            }
+            droneDebugPosShower.render(matrixStack, buffer);
+            droneDebugAreaShower.render(matrixStack, buffer);
         }
     }
 
@@ -151,6 +205,7 @@ public enum AreaRenderManager {
                         positionsForColor.add(posList.get(i));
                     }
                 }
+                if (cachedPositionProviderShowers != null) cachedPositionProviderShowers.forEach(AreaRenderer::close);
                 cachedPositionProviderShowers = new ArrayList<>(colorsToPositions.size());
                 colorsToPositions.int2ObjectEntrySet().forEach((entry) ->
                         cachedPositionProviderShowers.add(new AreaRenderer(entry.getValue(), entry.getIntKey(), positionProvider.disableDepthTest())));
@@ -164,13 +219,20 @@ public enum AreaRenderManager {
         if (!(player.getHeldItemMainhand().getItem() instanceof ItemCamoApplicator)) {
             return;
         }
-        if (lastPlayerPos == null || camoPositionShower == null || player.getDistanceSq(lastPlayerPos.getX(), lastPlayerPos.getY(), lastPlayerPos.getZ()) > 9) {
+        GlobalTileEntityCache<TileEntity> camoCache = GlobalTileEntityCacheManager.getInstance(player.world).getCamouflageableCache();
+        if (lastPlayerPos == null || camoPositionShower == null || camoCacheVersion != camoCache.getVersion()
+                || player.getDistanceSq(lastPlayerPos.getX(), lastPlayerPos.getY(), lastPlayerPos.getZ()) > 9) {
             lastPlayerPos = player.getPosition();
-            Set<BlockPos> s = Minecraft.getInstance().world.loadedTileEntityList.stream()
-                    .filter(te -> te instanceof ICamouflageableTE && te.getPos().distanceSq(lastPlayerPos) < 144)
+            camoCacheVersion = camoCache.getVersion();
+            Set<BlockPos> s = camoCache.getWithinRadius(player.world, lastPlayerPos, 12, te -> te.getPos().distanceSq(lastPlayerPos) < 144)
+                    .stream()
                     .map(TileEntity::getPos)
                     .collect(Collectors.toSet());
-            camoPositionShower = new AreaRenderer(s, 0x408080FF, 0.75f, true, true);
+            if (camoPositionShower == null || !s.equals(camoPositionCache)) {
+                camoPositionCache = s;
+                closeRenderer(camoPositionShower);
+                camoPositionShower = new AreaRenderer(s, 0x408080FF, 0.75f, true, true);
+            }
         }
         if (camoPositionShower != null) {
             camoPositionShower.render(matrixStack, buffer);
@@ -198,7 +260,12 @@ public enum AreaRenderManager {
     }
 
     public void removeHandlers(TileEntity te) {
-        showHandlers.remove(new BlockPos(te.getPos().getX(), te.getPos().getY(), te.getPos().getZ()));
+        closeRenderer(showHandlers.remove(new BlockPos(te.getPos().getX(), te.getPos().getY(), te.getPos().getZ())));
+    }
+
+    private static void closeRenderer(AreaRenderer renderer) {
+        // renderers hold a GPU vertex buffer, which must be released when no longer needed
+        if (renderer != null) renderer.close();
     }
 
     public void clearPosProviderCache() {
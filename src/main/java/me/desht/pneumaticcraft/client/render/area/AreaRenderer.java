@@ -2,28 +2,62 @@ package me.desht.pneumaticcraft.client.render.area;
 
 import com.mojang.blaze3d.matrix.MatrixStack;
 import com.mojang.blaze3d.vertex.IVertexBuilder;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
 import me.desht.pneumaticcraft.client.render.ModRenderTypes;
 import me.desht.pneumaticcraft.client.util.RenderUtils;
 import me.desht.pneumaticcraft.common.block.BlockPneumaticCraftCamo;
 import net.minecraft.block.BlockState;
 import net.minecraft.client.Minecraft;
+import net.minecraft.client.renderer.BufferBuilder;
 import net.minecraft.client.renderer.IRenderTypeBuffer;
 import net.minecraft.client.renderer.RenderType;
+import net.minecraft.client.renderer.vertex.DefaultVertexFormats;
+import net.minecraft.client.renderer.vertex.VertexBuffer;
+import net.minecraft.util.Direction;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
 import net.minecraft.util.math.shapes.ISelectionContext;
 import net.minecraft.util.math.shapes.VoxelShape;
 import net.minecraft.util.math.vector.Matrix4f;
 import net.minecraft.world.World;
+import org.lwjgl.opengl.GL11;
 
-import java.util.Set;
+import java.util.*;
+
+/**
+ * Renders a set of block positions as translucent boxes.  The geometry is built once into a vertex buffer and
+ * redrawn from there each frame.  If the rendered geometry depends on world block states, it's rebuilt when a block
+ * in the area changes or a chunk under the area loads (see {@link AreaRenderManager}); small areas are also rebuilt
+ * periodically, to catch anything those don't cover.  Large areas are drawn as full-size boxes, with faces between
+ * adjacent positions culled and the remaining faces greedily merged into larger quads.
+ */
+public class AreaRenderer implements AutoCloseable {
+    // how often (in ticks) to rebuild small areas whose geometry depends on block states in the world
+    private static final int REBUILD_INTERVAL = 20;
+    // minimum time (in ticks) between rebuilds for block changes, in case blocks in the area change constantly
+    private static final int MIN_REBUILD_INTERVAL = 5;
+    // areas with at least this many positions are drawn as merged full-size boxes, whatever the requested box size
+    private static final int MERGE_THRESHOLD = 512;
+    // shared by all area renderers, since geometry is only ever built on the render thread, and uploaded at once
+    private static final BufferBuilder BUFFER_BUILDER = new BufferBuilder(DefaultVertexFormats.POSITION_COLOR.getSize() * 24 * 64);
+    // built renderers whose geometry depends on the world, and so need to hear about block changes
+    private static final Set<AreaRenderer> WORLD_DEPENDENT = Collections.newSetFromMap(new IdentityHashMap<>());
 
-public class AreaRenderer {
     private final Set<BlockPos> showingPositions;
     private final int color;
     private final float size;
     private final boolean disableDepthTest;
     private final boolean drawShapes;
 
+    private VertexBuffer vertexBuffer;
+    private BlockPos origin = BlockPos.ZERO;
+    private long lastBuildTime;
+    private boolean dirty;
+    private int minChunkX, minChunkZ, maxChunkX, maxChunkZ;
+
     AreaRenderer(Set<BlockPos> area, int color, float size, boolean disableDepthTest, boolean drawShapes) {
         this.showingPositions = area;
         this.color = color;
@@ -37,106 +71,274 @@ public class AreaRenderer {
     }
 
     public void render(MatrixStack matrixStack, IRenderTypeBuffer buffer) {
-        RenderType type = ModRenderTypes.getBlockHilightFace(disableDepthTest);
-        render(matrixStack, buffer.getBuffer(type));
-        RenderUtils.finishBuffer(buffer, type);
+        World world = Minecraft.getInstance().world;
+        if (world == null) return;
+
+        long sinceBuild = world.getGameTime() - lastBuildTime;
+        if (vertexBuffer == null || dirty && sinceBuild >= MIN_REBUILD_INTERVAL
+                || dependsOnWorld() && showingPositions.size() < MERGE_THRESHOLD && sinceBuild >= REBUILD_INTERVAL) {
+            rebuild(world);
+        }
 
-        type = ModRenderTypes.getBlockHilightLine(disableDepthTest);
-        render(matrixStack, buffer.getBuffer(type));
-        RenderUtils.finishBuffer(buffer, type);
+        matrixStack.push();
+        matrixStack.translate(origin.getX(), origin.getY(), origin.getZ());
+        Matrix4f posMat = matrixStack.getLast().getMatrix();
+        draw(ModRenderTypes.getBlockHilightFace(disableDepthTest), posMat, GL11.GL_QUADS);
+        draw(ModRenderTypes.getBlockHilightLine(disableDepthTest), posMat, GL11.GL_LINES);
+        matrixStack.pop();
     }
 
-    private void render(MatrixStack matrixStack, IVertexBuilder builder) {
-        int[] cols = RenderUtils.decomposeColor(color);
-        for (BlockPos pos : showingPositions) {
-            matrixStack.push();
-            if (drawShapes) {
-                matrixStack.translate(pos.getX(), pos.getY(), pos.getZ());
-            } else {
-                double start = (1 - size) / 2.0;
-                matrixStack.translate(pos.getX() + start, pos.getY() + start, pos.getZ() + start);
+    @Override
+    public void close() {
+        WORLD_DEPENDENT.remove(this);
+        if (vertexBuffer != null) {
+            vertexBuffer.close();
+            vertexBuffer = null;
+        }
+    }
+
+    private boolean dependsOnWorld() {
+        return drawShapes || !disableDepthTest;
+    }
+
+    /**
+     * Called when a block changes in the client world.
+     *
+     * @param pos the block position
+     */
+    static void onBlockChanged(BlockPos pos) {
+        for (AreaRenderer renderer : WORLD_DEPENDENT) {
+            if (!renderer.dirty && renderer.showingPositions.contains(pos)) {
+                renderer.dirty = true;
             }
-            Matrix4f posMat = matrixStack.getLast().getMatrix();
-            addVertices(builder, posMat, pos, cols);
-            matrixStack.pop();
         }
     }
 
-    private void addVertices(IVertexBuilder wr, Matrix4f posMat, BlockPos pos, int[] cols) {
-        World world = Minecraft.getInstance().world;
-        BlockState state = world.getBlockState(pos);
-        if (!disableDepthTest && !state.getMaterial().isReplaceable()) return;
+    /**
+     * Called when a chunk loads in the client world.
+     *
+     * @param chunkPos the chunk position
+     */
+    static void onChunkLoaded(ChunkPos chunkPos) {
+        for (AreaRenderer renderer : WORLD_DEPENDENT) {
+            if (chunkPos.x >= renderer.minChunkX && chunkPos.x <= renderer.maxChunkX
+                    && chunkPos.z >= renderer.minChunkZ && chunkPos.z <= renderer.maxChunkZ) {
+                renderer.dirty = true;
+            }
+        }
+    }
+
+    private void draw(RenderType type, Matrix4f posMat, int mode) {
+        type.setupRenderState();
+        vertexBuffer.bindBuffer();
+        DefaultVertexFormats.POSITION_COLOR.setupBufferState(0L);
+        vertexBuffer.draw(posMat, mode);
+        VertexBuffer.unbindBuffer();
+        DefaultVertexFormats.POSITION_COLOR.clearBufferState();
+        type.clearRenderState();
+    }
+
+    private void rebuild(World world) {
+        lastBuildTime = world.getGameTime();
+        dirty = false;
+
+        List<BlockPos> toShow = new ArrayList<>(showingPositions.size());
+        minChunkX = minChunkZ = Integer.MAX_VALUE;
+        maxChunkX = maxChunkZ = Integer.MIN_VALUE;
+        for (BlockPos pos : showingPositions) {
+            if (pos != null) {
+                minChunkX = Math.min(minChunkX, pos.getX() >> 4);
+                minChunkZ = Math.min(minChunkZ, pos.getZ() >> 4);
+                maxChunkX = Math.max(maxChunkX, pos.getX() >> 4);
+                maxChunkZ = Math.max(maxChunkZ, pos.getZ() >> 4);
+                if (disableDepthTest || world.getBlockState(pos).getMaterial().isReplaceable()) {
+                    toShow.add(pos);
+                }
+            }
+        }
+        origin = toShow.isEmpty() ? BlockPos.ZERO : toShow.get(0);
+
+        int[] cols = RenderUtils.decomposeColor(color);
+        BufferBuilder bb = BUFFER_BUILDER;
+        bb.begin(GL11.GL_QUADS, DefaultVertexFormats.POSITION_COLOR);
         if (drawShapes) {
-            VoxelShape shape = state.getBlock() instanceof BlockPneumaticCraftCamo ?
-                    ((BlockPneumaticCraftCamo) state.getBlock()).getUncamouflagedShape(state, world, pos, ISelectionContext.dummy()) :
-                    state.getShape(world, pos, ISelectionContext.dummy());
-            shape.forEachBox((x1d, y1d, z1d, x2d, y2d, z2d) -> {
-                float x1 = (float) x1d;
-                float x2 = (float) x2d;
-                float y1 = (float) y1d;
-                float y2 = (float) y2d;
-                float z1 = (float) z1d;
-                float z2 = (float) z2d;
-                wr.pos(posMat, x1, y1, z1).color(cols[1], cols[2], cols[3], cols[0]).endVertex();
-                wr.pos(posMat, x1, y2, z1).color(cols[1], cols[2], cols[3], cols[0]).endVertex();
-                wr.pos(posMat, x2, y2, z1).color(cols[1], cols[2], cols[3], cols[0]).endVertex();
-                wr.pos(posMat, x2, y1, z1).color(cols[1], cols[2], cols[3], cols[0]).endVertex();
-
-                wr.pos(posMat, x2, y1, z2).color(cols[1], cols[2], cols[3], cols[0]).endVertex();
-                wr.pos(posMat, x2, y2, z2).color(cols[1], cols[2], cols[3], cols[0]).endVertex();
-                wr.pos(posMat, x1, y2, z2).color(cols[1], cols[2], cols[3], cols[0]).endVertex();
-                wr.pos(posMat, x1, y1, z2).color(cols[1], cols[2], cols[3], cols[0]).endVertex();
-
-                wr.pos(posMat, x1, y1, z1).color(cols[1], cols[2], cols[3], cols[0]).endVertex();
-                wr.pos(posMat, x1, y1, z2).color(cols[1], cols[2], cols[3], cols[0]).endVertex();
-                wr.pos(posMat, x1, y2, z2).color(cols[1], cols[2], cols[3], cols[0]).endVertex();
-                wr.pos(posMat, x1, y2, z1).color(cols[1], cols[2], cols[3], cols[0]).endVertex();
-
-                wr.pos(posMat, x2, y2, z1).color(cols[1], cols[2], cols[3], cols[0]).endVertex();
-                wr.pos(posMat, x2, y2, z2).color(cols[1], cols[2], cols[3], cols[0]).endVertex();
-                wr.pos(posMat, x2, y1, z2).color(cols[1], cols[2], cols[3], cols[0]).endVertex();
-                wr.pos(posMat, x2, y1, z1).color(cols[1], cols[2], cols[3], cols[0]).endVertex();
-
-                wr.pos(posMat, x1, y1, z1).color(cols[1], cols[2], cols[3], cols[0]).endVertex();
-                wr.pos(posMat, x2, y1, z1).color(cols[1], cols[2], cols[3], cols[0]).endVertex();
-                wr.pos(posMat, x2, y1, z2).color(cols[1], cols[2], cols[3], cols[0]).endVertex();
-                wr.pos(posMat, x1, y1, z2).color(cols[1], cols[2], cols[3], cols[0]).endVertex();
-
-                wr.pos(posMat, x1, y2, z2).color(cols[1], cols[2], cols[3], cols[0]).endVertex();
-                wr.pos(posMat, x2, y2, z2).color(cols[1], cols[2], cols[3], cols[0]).endVertex();
-                wr.pos(posMat, x2, y2, z1).color(cols[1], cols[2], cols[3], cols[0]).endVertex();
-                wr.pos(posMat, x1, y2, z1).color(cols[1], cols[2], cols[3], cols[0]).endVertex();
-            });
+            toShow.forEach(pos -> addShapeVertices(bb, world, pos, cols));
+        } else if (size >= 1f || toShow.size() >= MERGE_THRESHOLD) {
+            addMergedFaces(bb, toShow, cols);
         } else {
-            wr.pos(posMat, 0, 0, 0).color(cols[1], cols[2], cols[3], cols[0]).endVertex();
-            wr.pos(posMat, 0, size, 0).color(cols[1], cols[2], cols[3], cols[0]).endVertex();
-            wr.pos(posMat, size, size, 0).color(cols[1], cols[2], cols[3], cols[0]).endVertex();
-            wr.pos(posMat, size, 0, 0).color(cols[1], cols[2], cols[3], cols[0]).endVertex();
-
-            wr.pos(posMat, size, 0, size).color(cols[1], cols[2], cols[3], cols[0]).endVertex();
-            wr.pos(posMat, size, size, size).color(cols[1], cols[2], cols[3], cols[0]).endVertex();
-            wr.pos(posMat, 0, size, size).color(cols[1], cols[2], cols[3], cols[0]).endVertex();
-            wr.pos(posMat, 0, 0, size).color(cols[1], cols[2], cols[3], cols[0]).endVertex();
-
-            wr.pos(posMat, 0, 0, 0).color(cols[1], cols[2], cols[3], cols[0]).endVertex();
-            wr.pos(posMat, 0, 0, size).color(cols[1], cols[2], cols[3], cols[0]).endVertex();
-            wr.pos(posMat, 0, size, size).color(cols[1], cols[2], cols[3], cols[0]).endVertex();
-            wr.pos(posMat, 0, size, 0).color(cols[1], cols[2], cols[3], cols[0]).endVertex();
-
-            wr.pos(posMat, size, size, 0).color(cols[1], cols[2], cols[3], cols[0]).endVertex();
-            wr.pos(posMat, size, size, size).color(cols[1], cols[2], cols[3], cols[0]).endVertex();
-            wr.pos(posMat, size, 0, size).color(cols[1], cols[2], cols[3], cols[0]).endVertex();
-            wr.pos(posMat, size, 0, 0).color(cols[1], cols[2], cols[3], cols[0]).endVertex();
-
-            wr.pos(posMat, 0, 0, 0).color(cols[1], cols[2], cols[3], cols[0]).endVertex();
-            wr.pos(posMat, size, 0, 0).color(cols[1], cols[2], cols[3], cols[0]).endVertex();
-            wr.pos(posMat, size, 0, size).color(cols[1], cols[2], cols[3], cols[0]).endVertex();
-            wr.pos(posMat, 0, 0, size).color(cols[1], cols[2], cols[3], cols[0]).endVertex();
-
-            wr.pos(posMat, 0, size, size).color(cols[1], cols[2], cols[3], cols[0]).endVertex();
-            wr.pos(posMat, size, size, size).color(cols[1], cols[2], cols[3], cols[0]).endVertex();
-            wr.pos(posMat, size, size, 0).color(cols[1], cols[2], cols[3], cols[0]).endVertex();
-            wr.pos(posMat, 0, size, 0).color(cols[1], cols[2], cols[3], cols[0]).endVertex();
+            float start = (1 - size) / 2f;
+            for (BlockPos pos : toShow) {
+                float x = pos.getX() - origin.getX() + start;
+                float y = pos.getY() - origin.getY() + start;
+                float z = pos.getZ() - origin.getZ() + start;
+                addBox(bb, x, y, z, x + size, y + size, z + size, cols);
+            }
+        }
+        bb.finishDrawing();
+
+        if (vertexBuffer == null) {
+            vertexBuffer = new VertexBuffer(DefaultVertexFormats.POSITION_COLOR);
+        }
+        vertexBuffer.upload(bb);
+        if (dependsOnWorld()) WORLD_DEPENDENT.add(this);
+    }
+
+    private void addShapeVertices(IVertexBuilder wr, World world, BlockPos pos, int[] cols) {
+        BlockState state = world.getBlockState(pos);
+        VoxelShape shape = state.getBlock() instanceof BlockPneumaticCraftCamo ?
+                ((BlockPneumaticCraftCamo) state.getBlock()).getUncamouflagedShape(state, world, pos, ISelectionContext.dummy()) :
+                state.getShape(world, pos, ISelectionContext.dummy());
+        int dx = pos.getX() - origin.getX();
+        int dy = pos.getY() - origin.getY();
+        int dz = pos.getZ() - origin.getZ();
+        shape.forEachBox((x1, y1, z1, x2, y2, z2) ->
+                addBox(wr, (float) x1 + dx, (float) y1 + dy, (float) z1 + dz, (float) x2 + dx, (float) y2 + dy, (float) z2 + dz, cols));
+    }
+
+    /**
+     * Add only the exposed faces of the given full-block positions, greedily merging coplanar adjacent faces
+     * into larger quads.
+     */
+    private void addMergedFaces(IVertexBuilder wr, List<BlockPos> positions, int[] cols) {
+        LongSet posSet = new LongOpenHashSet(positions.size());
+        positions.forEach(pos -> posSet.add(pos.toLong()));
+
+        BlockPos.Mutable neighbour = new BlockPos.Mutable();
+        for (Direction dir : Direction.values()) {
+            // plane coordinate -> set of packed (u,v) face cells in that plane
+            Int2ObjectMap<LongSet> planes = new Int2ObjectOpenHashMap<>();
+            for (BlockPos pos : positions) {
+                neighbour.setPos(pos).move(dir);
+                if (!posSet.contains(neighbour.toLong())) {
+                    int[] puv = toPlane(dir.getAxis(), pos.getX() - origin.getX(), pos.getY() - origin.getY(), pos.getZ() - origin.getZ());
+                    LongSet cells = planes.get(puv[0]);
+                    if (cells == null) {
+                        cells = new LongOpenHashSet();
+                        planes.put(puv[0], cells);
+                    }
+                    cells.add(packUV(puv[1], puv[2]));
+                }
+            }
+            for (Int2ObjectMap.Entry<LongSet> entry : planes.int2ObjectEntrySet()) {
+                int plane = entry.getIntKey() + (dir.getAxisDirection() == Direction.AxisDirection.POSITIVE ? 1 : 0);
+                greedyMerge(entry.getValue(), (u1, v1, u2, v2) -> addFace(wr, dir, plane, u1, v1, u2, v2, cols));
+            }
         }
     }
+
+    private static int[] toPlane(Direction.Axis axis, int x, int y, int z) {
+        switch (axis) {
+            case X: return new int[] { x, y, z };
+            case Y: return new int[] { y, x, z };
+            default: return new int[] { z, x, y };
+        }
+    }
+
+    private static long packUV(int u, int v) {
+        return ((long) u << 32) | (v & 0xFFFFFFFFL);
+    }
+
+    private static int unpackU(long uv) {
+        return (int) (uv >> 32);
+    }
+
+    private static int unpackV(long uv) {
+        return (int) uv;
+    }
+
+    private static void greedyMerge(LongSet cells, RectConsumer consumer) {
+        long[] sorted = cells.toLongArray();
+        Arrays.sort(sorted);
+        LongSet visited = new LongOpenHashSet(cells.size());
+        for (long cell : sorted) {
+            if (visited.contains(cell)) continue;
+            int u = unpackU(cell);
+            int v = unpackV(cell);
+            // extend along v as far as possible...
+            int h = 1;
+            while (cells.contains(packUV(u, v + h)) && !visited.contains(packUV(u, v + h))) {
+                h++;
+            }
+            // ...then along u, while the whole column is available
+            int w = 1;
+            outer:
+            while (true) {
+                for (int dv = 0; dv < h; dv++) {
+                    long c = packUV(u + w, v + dv);
+                    if (!cells.contains(c) || visited.contains(c)) break outer;
+                }
+                w++;
+            }
+            for (int du = 0; du < w; du++) {
+                for (int dv = 0; dv < h; dv++) {
+                    visited.add(packUV(u + du, v + dv));
+                }
+            }
+            consumer.accept(u, v, u + w, v + h);
+        }
+    }
+
+    private void addFace(IVertexBuilder wr, Direction dir, int plane, int u1, int v1, int u2, int v2, int[] cols) {
+        switch (dir.getAxis()) {
+            case X: addFace(wr, dir, plane, u1, v1, plane, u2, v2, cols); break;
+            case Y: addFace(wr, dir, u1, plane, v1, u2, plane, v2, cols); break;
+            case Z: addFace(wr, dir, u1, v1, plane, u2, v2, plane, cols); break;
+        }
+    }
+
+    private void addBox(IVertexBuilder wr, float x1, float y1, float z1, float x2, float y2, float z2, int[] cols) {
+        for (Direction dir : Direction.values()) {
+            addFace(wr, dir, x1, y1, z1, x2, y2, z2, cols);
+        }
+    }
+
+    private void addFace(IVertexBuilder wr, Direction dir, float x1, float y1, float z1, float x2, float y2, float z2, int[] cols) {
+        switch (dir) {
+            case NORTH:
+                vertex(wr, x1, y1, z1, cols);
+                vertex(wr, x1, y2, z1, cols);
+                vertex(wr, x2, y2, z1, cols);
+                vertex(wr, x2, y1, z1, cols);
+                break;
+            case SOUTH:
+                vertex(wr, x2, y1, z2, cols);
+                vertex(wr, x2, y2, z2, cols);
+                vertex(wr, x1, y2, z2, cols);
+                vertex(wr, x1, y1, z2, cols);
+                break;
+            case WEST:
+                vertex(wr, x1, y1, z1, cols);
+                vertex(wr, x1, y1, z2, cols);
+                vertex(wr, x1, y2, z2, cols);
+                vertex(wr, x1, y2, z1, cols);
+                break;
+            case EAST:
+                vertex(wr, x2, y2, z1, cols);
+                vertex(wr, x2, y2, z2, cols);
+                vertex(wr, x2, y1, z2, cols);
+                vertex(wr, x2, y1, z1, cols);
+                break;
+            case DOWN:
+                vertex(wr, x1, y1, z1, cols);
+                vertex(wr, x2, y1, z1, cols);
+                vertex(wr, x2, y1, z2, cols);
+                vertex(wr, x1, y1, z2, cols);
+                break;
+            case UP:
+                vertex(wr, x1, y2, z2, cols);
+                vertex(wr, x2, y2, z2, cols);
+                vertex(wr, x2, y2, z1, cols);
+                vertex(wr, x1, y2, z1, cols);
+                break;
+        }
+    }
+
+    private static void vertex(IVertexBuilder wr, float x, float y, float z, int[] cols) {
+        wr.pos(x, y, z).color(cols[1], cols[2], cols[3], cols[0]).endVertex();
+    }
+
+    @FunctionalInterface
+    private interface RectConsumer {
+        void accept(int u1, int v1, int u2, int v2);
+    }
 }
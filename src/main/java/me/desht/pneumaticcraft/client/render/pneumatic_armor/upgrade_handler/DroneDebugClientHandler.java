@@ -16,6 +16,8 @@ import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.inventory.EquipmentSlotType;
 import net.minecraft.util.math.BlockPos;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Optional;
 import java.util.Set;
@@ -23,6 +25,7 @@ import java.util.Set;
 public class DroneDebugClientHandler extends IArmorUpgradeClientHandler.AbstractHandler {
     private final Set<BlockPos> shownPositions = new HashSet<>();
     private final Set<BlockPos> shownArea = new HashSet<>();
+    private int shownAreaVersion = 0;
 
     public DroneDebugClientHandler() {
         super(ArmorUpgradeRegistry.getInstance().droneDebugHandler);
@@ -33,7 +36,22 @@ public class DroneDebugClientHandler extends IArmorUpgradeClientHandler.Abstract
     }
 
     public Set<BlockPos> getShownArea() {
-        return shownArea;
+        return Collections.unmodifiableSet(shownArea);
+    }
+
+    public void setShownArea(Collection<BlockPos> area) {
+        shownArea.clear();
+        shownArea.addAll(area);
+        shownAreaVersion++;
+    }
+
+    /**
+     * Incremented whenever the shown area changes, so renderers know to rebuild any cached geometry.
+     *
+     * @return the shown area version
+     */
+    public int getShownAreaVersion() {
+        return shownAreaVersion;
     }
 
     @Override
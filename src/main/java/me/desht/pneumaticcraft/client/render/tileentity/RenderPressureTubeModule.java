@@ -6,6 +6,7 @@ import me.desht.pneumaticcraft.client.render.tube_module.TubeModuleRendererBase;
 import me.desht.pneumaticcraft.common.block.tubes.TubeModule;
 import me.desht.pneumaticcraft.common.item.ItemTubeModule;
 import me.desht.pneumaticcraft.common.tileentity.TileEntityPressureTube;
+import me.desht.pneumaticcraft.common.util.DirectionUtil;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.renderer.IRenderTypeBuffer;
 import net.minecraft.client.renderer.tileentity.TileEntityRenderer;
@@ -16,9 +17,7 @@ import net.minecraft.util.ResourceLocation;
 import net.minecraft.util.math.BlockRayTraceResult;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 public class RenderPressureTubeModule extends TileEntityRenderer<TileEntityPressureTube> {
 
@@ -42,11 +41,6 @@ public class RenderPressureTubeModule extends TileEntityRenderer<TileEntityPress
             holdingModule = Hand.OFF_HAND;
         }
 
-        List<TubeModule> modules = tile.tubeModules().collect(Collectors.toList());
-
-        if (modules.isEmpty() && holdingModule == null)
-            return;
-
         if (holdingModule != null && mc.objectMouseOver instanceof BlockRayTraceResult) {
             // "fake" module is for showing a preview of where the module would be placed
             BlockRayTraceResult brtr = (BlockRayTraceResult) mc.objectMouseOver;
@@ -60,8 +54,17 @@ public class RenderPressureTubeModule extends TileEntityRenderer<TileEntityPress
             }
         }
 
-        for (TubeModule m : modules) {
-            getModuleRenderer(m).renderModule(m, matrixStack, buffer, partialTicks, combinedLight, combinedOverlay);
+        for (Direction dir : DirectionUtil.VALUES) {
+            TubeModule m = tile.getModule(dir);
+            if (m != null) {
+                TubeModuleRendererBase<TubeModule> renderer = getModuleRenderer(m);
+                if (renderer.isStatic()) {
+                    // geometry is baked into the tube's block model; just the live extras here
+                    renderer.renderExtras(m, matrixStack, buffer, partialTicks, combinedLight, combinedOverlay);
+                } else {
+                    renderer.renderModule(m, matrixStack, buffer, partialTicks, combinedLight, combinedOverlay);
+                }
+            }
         }
     }
 
@@ -70,9 +73,4 @@ public class RenderPressureTubeModule extends TileEntityRenderer<TileEntityPress
         //noinspection unchecked
         return (TubeModuleRendererBase<T>) res;
     }
-
-    @Override
-    public boolean isGlobalRenderer(TileEntityPressureTube te) {
-        return te.tubeModules().findAny().isPresent();
-    }
 }
@@ -58,6 +58,11 @@ public class RenderAirGrateModule extends TubeModuleRendererBase<ModuleAirGrate>
         base3.rotateAngleX = -1.570796F;
     }
 
+    @Override
+    public boolean isStatic() {
+        return true;
+    }
+
     @Override
     protected ResourceLocation getTexture() {
         return Textures.MODEL_AIR_GRATE;
@@ -37,6 +37,11 @@ public class RenderChargingModule extends TubeModuleRendererBase<ModuleCharging>
         shape3.render(matrixStack, builder, combinedLight, combinedOverlay, r, g, b, a);
     }
 
+    @Override
+    public boolean isStatic() {
+        return true;
+    }
+
     @Override
     protected ResourceLocation getTexture() {
         return Textures.MODEL_CHARGING_MODULE;
@@ -60,6 +60,11 @@ public class RenderPressureGaugeModule extends TubeModuleRendererBase<ModulePres
         matrixStack.pop();
     }
 
+    @Override
+    public boolean isStatic() {
+        return true;
+    }
+
     @Override
     protected ResourceLocation getTexture() {
         return Textures.MODEL_GAUGE;
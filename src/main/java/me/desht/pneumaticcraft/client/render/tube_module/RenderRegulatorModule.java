@@ -32,6 +32,11 @@ public class RenderRegulatorModule extends TubeModuleRendererBase<ModuleRegulato
         valve.render(matrixStack, builder, combinedLight, combinedOverlay, r, g, b, a);
     }
 
+    @Override
+    public boolean isStatic() {
+        return true;
+    }
+
     @Override
     protected ResourceLocation getTexture() {
         return Textures.MODEL_REGULATOR_MODULE;
@@ -35,6 +35,11 @@ public class RenderSafetyValveModule extends TubeModuleRendererBase<ModuleSafety
         shape3.render(matrixStack, builder, combinedLight, combinedOverlay, r, g, b, a);
     }
 
+    @Override
+    public boolean isStatic() {
+        return true;
+    }
+
     @Override
     protected ResourceLocation getTexture() {
         return Textures.MODEL_SAFETY_VALVE;
@@ -18,6 +18,20 @@ public abstract class TubeModuleRendererBase<T extends TubeModule> {
     }
 
     public final void renderModule(T module, MatrixStack matrixStack, IRenderTypeBuffer buffer, float partialTicks, int combinedLight, int combinedOverlay) {
+        IVertexBuilder builder = module.isFake() ?
+                buffer.getBuffer(RenderType.getEntityTranslucent(getTexture())) :
+                buffer.getBuffer(RenderType.getEntityCutout(getTexture()));
+        renderGeometry(module, matrixStack, builder, partialTicks, combinedLight, combinedOverlay);
+
+        renderExtras(module, matrixStack, buffer, partialTicks, combinedLight, combinedOverlay);
+    }
+
+    /**
+     * Render the module's model geometry (but not any extras) into the given builder, in block-local coordinates
+     * relative to the matrix stack.  Used both for TER rendering, and for baking static modules into the tube's
+     * block model (see {@link #isStatic()}).
+     */
+    public final void renderGeometry(T module, MatrixStack matrixStack, IVertexBuilder builder, float partialTicks, int combinedLight, int combinedOverlay) {
         matrixStack.push();
 
         // transforms to get model orientation right
@@ -36,14 +50,25 @@ public abstract class TubeModuleRendererBase<T extends TubeModule> {
         }
         if (module.isFake()) a = 0.3f;
 
-        IVertexBuilder builder = module.isFake() ?
-                buffer.getBuffer(RenderType.getEntityTranslucent(getTexture())) :
-                buffer.getBuffer(RenderType.getEntityCutout(getTexture()));
         renderDynamic(module, matrixStack, builder, partialTicks, combinedLight, combinedOverlay, r, g, b, a);
 
         matrixStack.pop();
+    }
 
-        renderExtras(module, matrixStack, buffer, partialTicks, combinedLight, combinedOverlay);
+    /**
+     * Static modules have geometry which depends only on the module's direction and upgrade status.  Such geometry
+     * is baked into the pressure tube's block model, so it lives in the chunk mesh and isn't re-rendered every
+     * frame; only {@link #renderExtras(TubeModule, MatrixStack, IRenderTypeBuffer, float, int, int)} is done by
+     * the tile entity renderer.  Modules which animate, or change appearance with their state, must return false.
+     *
+     * @return true if this module's geometry can be baked
+     */
+    public boolean isStatic() {
+        return false;
+    }
+
+    public final ResourceLocation getModuleTexture() {
+        return getTexture();
     }
 
     protected abstract void renderDynamic(T module, MatrixStack matrixStack, IVertexBuilder builder, float partialTicks, int combinedLight, int combinedOverlay, float r, float g, float b, float a);
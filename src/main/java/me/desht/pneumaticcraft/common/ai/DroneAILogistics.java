@@ -3,6 +3,7 @@ package me.desht.pneumaticcraft.common.ai;
 import me.desht.pneumaticcraft.api.semiblock.ISemiBlock;
 import me.desht.pneumaticcraft.common.ai.LogisticsManager.LogisticsTask;
 import me.desht.pneumaticcraft.common.core.ModProgWidgets;
+import me.desht.pneumaticcraft.common.debug.TickProfiler;
 import me.desht.pneumaticcraft.common.entity.semiblock.EntityLogisticsFrame;
 import me.desht.pneumaticcraft.common.progwidgets.ILiquidExport;
 import me.desht.pneumaticcraft.common.progwidgets.ILiquidFiltered;
@@ -56,9 +57,14 @@ public class DroneAILogistics extends Goal {
 
     @Override
     public boolean shouldExecute() {
-        if (getLogisticsManager() == null) return false;
-        curTask = null;
-        return doLogistics();
+        long t = TickProfiler.start();
+        try {
+            if (getLogisticsManager() == null) return false;
+            curTask = null;
+            return doLogistics();
+        } finally {
+            TickProfiler.end(TickProfiler.Subsystem.LOGISTICS, drone, widget.getTypeID(), t);
+        }
     }
 
     private boolean doLogistics() {
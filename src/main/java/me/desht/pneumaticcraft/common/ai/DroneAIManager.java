@@ -3,6 +3,7 @@ package me.desht.pneumaticcraft.common.ai;
 import me.desht.pneumaticcraft.api.drone.SpecialVariableRetrievalEvent;
 import me.desht.pneumaticcraft.api.item.EnumUpgrade;
 import me.desht.pneumaticcraft.common.config.PNCConfig;
+import me.desht.pneumaticcraft.common.debug.TickProfiler;
 import me.desht.pneumaticcraft.common.item.ItemRegistry;
 import me.desht.pneumaticcraft.common.progwidgets.*;
 import me.desht.pneumaticcraft.common.variables.GlobalVariableManager;
@@ -56,6 +57,7 @@ public class DroneAIManager implements IVariableProvider {
 
     private Map<String, BlockPos> coordinateVariables = new HashMap<>();
     private Map<String, ItemStack> itemVariables = new HashMap<>();
+    private final Map<String, GlobalVariableManager.GlobalVariable> globalVariables = new HashMap<>();
     private final Stack<IProgWidget> jumpBackWidgets = new Stack<>();//Used to jump back to a for each widget.
 
     private static final int MAX_JUMP_STACK_SIZE = 100;
@@ -165,13 +167,23 @@ public class DroneAIManager implements IVariableProvider {
         return pos != null ? pos : BlockPos.ZERO;
     }
 
+    /**
+     * Get the handle for a global variable, caching it since programs tend to access the same variables every tick.
+     *
+     * @param varName the variable name, including the leading '#'
+     * @return the variable handle
+     */
+    private GlobalVariableManager.GlobalVariable getGlobalVariable(String varName) {
+        return globalVariables.computeIfAbsent(varName, k -> GlobalVariableManager.getInstance().getVariable(k.substring(1)));
+    }
+
     private BlockPos getCoordinateInternal(String varName) {
         if (varName.startsWith("$")) {
             SpecialVariableRetrievalEvent.CoordinateVariable.Drone event = new SpecialVariableRetrievalEvent.CoordinateVariable.Drone(drone, varName.substring(1));
             MinecraftForge.EVENT_BUS.post(event);
             return event.getCoordinate();
         } else if (varName.startsWith("#")) {
-            return GlobalVariableManager.getInstance().getPos(varName.substring(1));
+            return getGlobalVariable(varName).getPos();
         } else {
             return coordinateVariables.get(varName);
         }
@@ -179,7 +191,7 @@ public class DroneAIManager implements IVariableProvider {
 
     public void setCoordinate(String varName, BlockPos coord) {
         if (varName.startsWith("#")) {
-            GlobalVariableManager.getInstance().set(varName.substring(1), coord);
+            getGlobalVariable(varName).setPos(coord);
         } else if (!varName.startsWith("$")) {
             coordinateVariables.put(varName, coord);
             drone.onVariableChanged(varName, true);
@@ -199,7 +211,7 @@ public class DroneAIManager implements IVariableProvider {
             MinecraftForge.EVENT_BUS.post(event);
             item = event.getItem();
         } else if (varName.startsWith("#")) {
-            item = GlobalVariableManager.getInstance().getItem(varName.substring(1));
+            item = getGlobalVariable(varName).getItem();
         } else {
             item = itemVariables.getOrDefault(varName, ItemStack.EMPTY);
         }
@@ -208,7 +220,7 @@ public class DroneAIManager implements IVariableProvider {
 
     public void setItem(String varName, @Nonnull ItemStack item) {
         if (varName.startsWith("#")) {
-            GlobalVariableManager.getInstance().set(varName.substring(1), item);
+            getGlobalVariable(varName).setItem(item);
         } else if (!varName.startsWith("$")) {
             itemVariables.put(varName, item);
             drone.onVariableChanged(varName, false);
@@ -377,6 +389,13 @@ public class DroneAIManager implements IVariableProvider {
     public void onUpdateTasks() {
         if (PNCConfig.Common.Advanced.stopDroneAI) return;
 
+        long t = TickProfiler.start();
+        Object profileKey = curActiveWidget == null ? "idle" : curActiveWidget.getTypeID();
+        updateTasks();
+        TickProfiler.end(TickProfiler.Subsystem.DRONE_AI, drone, profileKey, t);
+    }
+
+    private void updateTasks() {
         pickupItemsIfMagnet();
 
         if (!drone.isAIOverridden()) {
@@ -3,17 +3,15 @@ package me.desht.pneumaticcraft.common.ai;
 import me.desht.pneumaticcraft.api.PNCCapabilities;
 import me.desht.pneumaticcraft.api.item.EnumUpgrade;
 import me.desht.pneumaticcraft.common.config.PNCConfig.Common.Advanced;
+import me.desht.pneumaticcraft.common.core.ModTileEntities;
 import me.desht.pneumaticcraft.common.entity.living.EntityDrone;
 import me.desht.pneumaticcraft.common.tileentity.TileEntityChargingStation;
 import me.desht.pneumaticcraft.common.tileentity.TileEntitySecurityStation;
 import me.desht.pneumaticcraft.common.util.GlobalTileEntityCacheManager;
-import me.desht.pneumaticcraft.common.util.PneumaticCraftUtils;
 import me.desht.pneumaticcraft.lib.PneumaticValues;
 import net.minecraft.entity.ai.goal.Goal;
-import net.minecraft.util.math.vector.Vector3d;
 
-import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Collections;
 import java.util.EnumSet;
 import java.util.List;
 
@@ -33,27 +31,14 @@ public class DroneGoToChargingStation extends Goal {
      */
     @Override
     public boolean shouldExecute() {
-        List<TileEntityChargingStation> validChargingStations = new ArrayList<>();
-        drone.getCapability(PNCCapabilities.AIR_HANDLER_CAPABILITY).ifPresent(h -> {
-            if (h.getPressure() < PneumaticValues.DRONE_LOW_PRESSURE) {
-                int maxDistSq = Advanced.maxDroneChargingStationSearchRange * Advanced.maxDroneChargingStationSearchRange;
-                for (TileEntityChargingStation station : GlobalTileEntityCacheManager.getInstance().chargingStations) {
-                    if (station.getWorld() == drone.world && drone.getDistanceSq(Vector3d.copyCentered(station.getPos())) <= maxDistSq) {
-                        if (DroneClaimManager.getInstance(drone.world).isClaimed(station.getPos())) {
-                            drone.getDebugger().addEntry("pneumaticcraft.gui.progWidget.chargingStation.debug.claimed", station.getPos());
-                        } else if (station.getPressure() <= PneumaticValues.DRONE_LOW_PRESSURE) {
-                            drone.getDebugger().addEntry("pneumaticcraft.gui.progWidget.chargingStation.debug.notEnoughPressure", station.getPos());
-                        } else if (station.getUpgrades(EnumUpgrade.DISPENSER) == 0) {
-                            drone.getDebugger().addEntry("pneumaticcraft.gui.progWidget.chargingStation.debug.noDispenserUpgrades", station.getPos());
-                        } else {
-                            validChargingStations.add(station);
-                        }
-                    }
-                }
-            }
-        });
-
-        validChargingStations.sort(Comparator.comparingDouble(te -> PneumaticCraftUtils.distBetweenSq(te.getPos(), drone.getPosX(), drone.getPosY(), drone.getPosZ())));
+        boolean lowPressure = drone.getCapability(PNCCapabilities.AIR_HANDLER_CAPABILITY)
+                .map(h -> h.getPressure() < PneumaticValues.DRONE_LOW_PRESSURE)
+                .orElse(false);
+        // only stations in the drone's own world and within search range are examined, nearest first
+        List<TileEntityChargingStation> validChargingStations = lowPressure ?
+                GlobalTileEntityCacheManager.getInstance(drone.world).getCache(ModTileEntities.CHARGING_STATION.get())
+                        .getNearest(drone.world, drone.getPosition(), Advanced.maxDroneChargingStationSearchRange, Integer.MAX_VALUE, this::isUsableStation) :
+                Collections.emptyList();
 
         for (TileEntityChargingStation station : validChargingStations) {
             if (TileEntitySecurityStation.isProtectedFromPlayer(drone.getFakePlayer(), station.getPos(), false)) {
@@ -72,6 +57,19 @@ public class DroneGoToChargingStation extends Goal {
         return false;
     }
 
+    private boolean isUsableStation(TileEntityChargingStation station) {
+        if (DroneClaimManager.getInstance(drone.world).isClaimed(station.getPos())) {
+            drone.getDebugger().addEntry("pneumaticcraft.gui.progWidget.chargingStation.debug.claimed", station.getPos());
+        } else if (station.getPressure() <= PneumaticValues.DRONE_LOW_PRESSURE) {
+            drone.getDebugger().addEntry("pneumaticcraft.gui.progWidget.chargingStation.debug.notEnoughPressure", station.getPos());
+        } else if (station.getUpgrades(EnumUpgrade.DISPENSER) == 0) {
+            drone.getDebugger().addEntry("pneumaticcraft.gui.progWidget.chargingStation.debug.noDispenserUpgrades", station.getPos());
+        } else {
+            return true;
+        }
+        return false;
+    }
+
     /**
      * Returns whether an in-progress EntityAIBase should continue executing
      */
@@ -176,7 +176,7 @@ public class EntityPathNavigateDrone extends FlyingPathNavigator implements IPat
                         if (stuckTicks++ > PNCConfig.Common.Advanced.stuckDroneTeleportTicks) {
                             Vector3d v = droneEntity.getDronePos();
                             droneEntity.getDebugger().addEntry("pneumaticcraft.gui.progWidget.general.debug.stuckBlock",
-                                    new BlockPos(Math.round(v.x), Math.round(v.y), Math.round(v.z)));
+                                    (int) Math.round(v.x), (int) Math.round(v.y), (int) Math.round(v.z));
                             teleportCounter = 0;
                             telPos = currentPath.getTarget();
                             stuckTicks = 0;
@@ -18,6 +18,7 @@ import me.desht.pneumaticcraft.common.tileentity.IComparatorSupport;
 import me.desht.pneumaticcraft.common.tileentity.IHeatExchangingTE;
 import me.desht.pneumaticcraft.common.tileentity.TileEntityBase;
 import me.desht.pneumaticcraft.common.tileentity.TileEntityPneumaticBase;
+import me.desht.pneumaticcraft.common.tileentity.TileEntityTickableBase;
 import me.desht.pneumaticcraft.common.util.DirectionUtil;
 import me.desht.pneumaticcraft.common.util.FluidUtils;
 import me.desht.pneumaticcraft.common.util.PneumaticCraftUtils;
@@ -300,6 +301,9 @@ public abstract class BlockPneumaticCraft extends Block implements IPneumaticWre
             if (te instanceof TileEntityBase) {
                 ((TileEntityBase) te).onNeighborTileUpdate(tilePos);
             }
+            if (te instanceof TileEntityTickableBase) {
+                ((TileEntityTickableBase) te).wakeFromSleep();
+            }
         }
     }
 
@@ -310,6 +314,9 @@ public abstract class BlockPneumaticCraft extends Block implements IPneumaticWre
             if (te instanceof TileEntityBase) {
                 ((TileEntityBase) te).onNeighborBlockUpdate(fromPos);
             }
+            if (te instanceof TileEntityTickableBase) {
+                ((TileEntityTickableBase) te).wakeFromSleep();
+            }
         }
     }
 
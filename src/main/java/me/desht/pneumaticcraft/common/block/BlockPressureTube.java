@@ -40,6 +40,7 @@ import net.minecraft.util.math.vector.Vector3d;
 import net.minecraft.world.IBlockReader;
 import net.minecraft.world.IWorld;
 import net.minecraft.world.World;
+import net.minecraftforge.client.model.data.ModelProperty;
 import org.apache.commons.lang3.tuple.Pair;
 
 import javax.annotation.Nonnull;
@@ -54,6 +55,11 @@ import static net.minecraft.state.properties.BlockStateProperties.WATERLOGGED;
 
 public class BlockPressureTube extends BlockPneumaticCraftCamo implements IWaterLoggable {
 
+    /**
+     * Tube modules, indexed by direction; passed to the model so static modules can be baked into the chunk mesh.
+     */
+    public static final ModelProperty<TubeModule[]> MODULES = new ModelProperty<>();
+
     private static final int TUBE_WIDTH = 2;
     public static final int CORE_MIN = 8 - TUBE_WIDTH;
     public static final int CORE_MAX = 8 + TUBE_WIDTH;
@@ -0,0 +1,57 @@
+package me.desht.pneumaticcraft.common.capabilities;
+
+import net.minecraft.nbt.CompoundNBT;
+import net.minecraft.nbt.INBT;
+import net.minecraft.util.Direction;
+import net.minecraftforge.common.capabilities.Capability;
+import net.minecraftforge.common.capabilities.CapabilityInject;
+import net.minecraftforge.common.capabilities.CapabilityManager;
+import net.minecraftforge.common.capabilities.ICapabilitySerializable;
+import net.minecraftforge.common.util.LazyOptional;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Per-chunk index of fluid deposits, as found by the Seismic Sensor.  Server-side only.
+ */
+public class CapabilityFluidDeposits {
+    @CapabilityInject(FluidDepositIndex.class)
+    public static final Capability<FluidDepositIndex> FLUID_DEPOSITS_CAPABILITY = null;
+
+    public static void register() {
+        CapabilityManager.INSTANCE.register(FluidDepositIndex.class, new Capability.IStorage<FluidDepositIndex>() {
+            @Nullable
+            @Override
+            public CompoundNBT writeNBT(Capability<FluidDepositIndex> capability, FluidDepositIndex instance, Direction side) {
+                return instance.serializeNBT();
+            }
+
+            @Override
+            public void readNBT(Capability<FluidDepositIndex> capability, FluidDepositIndex instance, Direction side, INBT nbt) {
+                if (nbt instanceof CompoundNBT) instance.deserializeNBT((CompoundNBT) nbt);
+            }
+        }, FluidDepositIndex::new);
+    }
+
+    public static class Provider implements ICapabilitySerializable<INBT> {
+        private final FluidDepositIndex impl = new FluidDepositIndex();
+        private final LazyOptional<FluidDepositIndex> l = LazyOptional.of(() -> impl);
+
+        @Nonnull
+        @Override
+        public <T> LazyOptional<T> getCapability(@Nonnull Capability<T> cap, Direction facing) {
+            return cap == FLUID_DEPOSITS_CAPABILITY ? l.cast() : LazyOptional.empty();
+        }
+
+        @Override
+        public INBT serializeNBT() {
+            return FLUID_DEPOSITS_CAPABILITY.getStorage().writeNBT(FLUID_DEPOSITS_CAPABILITY, this.impl, null);
+        }
+
+        @Override
+        public void deserializeNBT(INBT nbt) {
+            FLUID_DEPOSITS_CAPABILITY.getStorage().readNBT(FLUID_DEPOSITS_CAPABILITY, this.impl, null, nbt);
+        }
+    }
+}
@@ -0,0 +1,309 @@
+package me.desht.pneumaticcraft.common.capabilities;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import me.desht.pneumaticcraft.common.item.ItemSeismicSensor;
+import net.minecraft.block.BlockState;
+import net.minecraft.fluid.Fluid;
+import net.minecraft.fluid.Fluids;
+import net.minecraft.nbt.CompoundNBT;
+import net.minecraft.nbt.ListNBT;
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraftforge.common.util.Constants;
+import net.minecraftforge.common.util.INBTSerializable;
+import net.minecraftforge.registries.ForgeRegistries;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Index of the fluids of interest to the Seismic Sensor (see {@link ItemSeismicSensor#isFluidOfInterest(Fluid)})
+ * in one chunk, built the first time the chunk is surveyed.  The fluid blocks in each column are recorded as
+ * vertical runs, and runs which touch each other within the chunk are grouped into deposits, each of which caches
+ * its approximate size once measured.  Chunk sections whose palette holds no fluid of interest are skipped without
+ * looking at their blocks.
+ * <p>
+ * The index is discarded when a block changes in a section which holds (or now holds) a fluid of interest, or when
+ * the set of fluids of interest changes.  Most chunks are never surveyed, so nothing is allocated (or saved) for a
+ * chunk until its index is built.
+ */
+public class FluidDepositIndex implements INBTSerializable<CompoundNBT> {
+    private static final int SECTIONS = 16;
+
+    private boolean indexed;
+    private int fluidsKey;  // identifies the set of fluids of interest which the index was built for
+    private int sectionMask;  // bit N is set if section N holds any fluid of interest
+    // column (z * 16 + x) -> (top Y, bottom Y, deposit ID) triples for each run in the column, highest first;
+    // both null while not indexed
+    private Int2ObjectMap<int[]> runs;
+    private List<Deposit> deposits;
+
+    /**
+     * Find the first fluid of interest below the given position.
+     *
+     * @param chunk the chunk this index belongs to
+     * @param pos the position to search down from
+     * @return the deposit found and the position of its highest block below the given position, or null if none
+     */
+    @Nullable
+    public Survey findDepositBelow(Chunk chunk, BlockPos pos) {
+        if (!indexed || fluidsKey != ItemSeismicSensor.getFluidsOfInterestKey()) {
+            build(chunk);
+        }
+        Survey survey = lookup(pos);
+        if (survey != null && chunk.getFluidState(survey.getPos()).getFluid() != survey.getDeposit().getFluid()) {
+            // shouldn't happen, but a block change might have been missed
+            build(chunk);
+            survey = lookup(pos);
+        }
+        return survey;
+    }
+
+    /**
+     * Called when a block in this chunk has changed.
+     *
+     * @param pos the block position
+     * @param newState the block's new state
+     */
+    public void onBlockChanged(BlockPos pos, BlockState newState) {
+        if (indexed && ((sectionMask & (1 << (pos.getY() >> 4))) != 0
+                || ItemSeismicSensor.isFluidOfInterest(newState.getFluidState().getFluid()))) {
+            clear();
+        }
+    }
+
+    private void clear() {
+        indexed = false;
+        sectionMask = 0;
+        runs = null;
+        deposits = null;
+    }
+
+    @Nullable
+    private Survey lookup(BlockPos pos) {
+        if (runs == null) return null;
+        int[] colRuns = runs.get(columnIndex(pos.getX(), pos.getZ()));
+        if (colRuns != null) {
+            for (int i = 0; i < colRuns.length; i += 3) {
+                if (colRuns[i + 1] < pos.getY()) {
+                    BlockPos found = new BlockPos(pos.getX(), Math.min(colRuns[i], pos.getY() - 1), pos.getZ());
+                    return new Survey(deposits.get(colRuns[i + 2]), found);
+                }
+            }
+        }
+        return null;
+    }
+
+    private void build(Chunk chunk) {
+        clear();
+        runs = new Int2ObjectOpenHashMap<>();
+        deposits = new ArrayList<>();
+
+        ChunkSection[] sections = chunk.getSections();
+        for (int i = 0; i < Math.min(sections.length, SECTIONS); i++) {
+            if (!ChunkSection.isEmpty(sections[i])
+                    && sections[i].isValidPOIState(state -> ItemSeismicSensor.isFluidOfInterest(state.getFluidState().getFluid()))) {
+                sectionMask |= 1 << i;
+            }
+        }
+
+        if (sectionMask != 0) {
+            Builder builder = new Builder();
+            for (int z = 0; z < 16; z++) {
+                for (int x = 0; x < 16; x++) {
+                    Fluid runFluid = null;
+                    int top = 0;
+                    for (int i = SECTIONS - 1; i >= 0; i--) {
+                        if ((sectionMask & (1 << i)) == 0) {
+                            if (runFluid != null) {
+                                builder.addRun(x, z, top, (i + 1) << 4, runFluid);
+                                runFluid = null;
+                            }
+                            continue;
+                        }
+                        for (int dy = 15; dy >= 0; dy--) {
+                            Fluid fluid = sections[i].getFluidState(x, dy, z).getFluid();
+                            if (!ItemSeismicSensor.isFluidOfInterest(fluid)) fluid = null;
+                            if (fluid != runFluid) {
+                                int y = (i << 4) + dy;
+                                if (runFluid != null) builder.addRun(x, z, top, y + 1, runFluid);
+                                top = y;
+                                runFluid = fluid;
+                            }
+                        }
+                    }
+                    if (runFluid != null) builder.addRun(x, z, top, 0, runFluid);
+                }
+            }
+            builder.finish();
+        }
+
+        fluidsKey = ItemSeismicSensor.getFluidsOfInterestKey();
+        indexed = true;
+    }
+
+    private static int columnIndex(int x, int z) {
+        return (z & 15) << 4 | (x & 15);
+    }
+
+    @Override
+    public CompoundNBT serializeNBT() {
+        CompoundNBT tag = new CompoundNBT();
+        if (indexed) {
+            tag.putInt("FluidsKey", fluidsKey);
+            tag.putInt("Sections", sectionMask);
+            IntArrayList flat = new IntArrayList();
+            for (Int2ObjectMap.Entry<int[]> entry : runs.int2ObjectEntrySet()) {
+                flat.add(entry.getIntKey());
+                flat.add(entry.getValue().length);
+                flat.addElements(flat.size(), entry.getValue());
+            }
+            tag.putIntArray("Runs", flat.toIntArray());
+            ListNBT list = new ListNBT();
+            for (Deposit deposit : deposits) {
+                CompoundNBT t = new CompoundNBT();
+                t.putString("Fluid", deposit.fluid.getRegistryName().toString());
+                t.putInt("Size", deposit.size);
+                list.add(t);
+            }
+            tag.put("Deposits", list);
+        }
+        return tag;
+    }
+
+    @Override
+    public void deserializeNBT(CompoundNBT tag) {
+        clear();
+        if (!tag.contains("FluidsKey")) return;
+
+        ListNBT list = tag.getList("Deposits", Constants.NBT.TAG_COMPOUND);
+        List<Deposit> loadedDeposits = new ArrayList<>(list.size());
+        for (int i = 0; i < list.size(); i++) {
+            Fluid fluid = ForgeRegistries.FLUIDS.getValue(new ResourceLocation(list.getCompound(i).getString("Fluid")));
+            if (fluid == null || fluid == Fluids.EMPTY) {
+                // fluid has gone away; the index will be rebuilt when next needed
+                return;
+            }
+            loadedDeposits.add(new Deposit(fluid, list.getCompound(i).getInt("Size")));
+        }
+        deposits = loadedDeposits;
+        runs = new Int2ObjectOpenHashMap<>();
+        int[] flat = tag.getIntArray("Runs");
+        for (int i = 0; i + 1 < flat.length; i += 2 + flat[i + 1]) {
+            runs.put(flat[i], Arrays.copyOfRange(flat, i + 2, i + 2 + flat[i + 1]));
+        }
+        sectionMask = tag.getInt("Sections");
+        fluidsKey = tag.getInt("FluidsKey");
+        indexed = true;
+    }
+
+    /**
+     * Groups runs into deposits, using a union-find over the runs: runs of the same fluid in horizontally adjacent
+     * columns which overlap vertically are part of the same deposit.
+     */
+    private class Builder {
+        private final Int2ObjectMap<IntArrayList> colRuns = new Int2ObjectOpenHashMap<>();
+        private final List<Fluid> runFluids = new ArrayList<>();
+        private final IntArrayList parents = new IntArrayList();
+
+        void addRun(int x, int z, int top, int bottom, Fluid fluid) {
+            int id = runFluids.size();
+            runFluids.add(fluid);
+            parents.add(id);
+            colRuns.computeIfAbsent(columnIndex(x, z), k -> new IntArrayList()).addAll(IntArrayList.wrap(new int[] { top, bottom, id }));
+            // columns are visited in order of increasing x, then z, so these neighbours have already been added
+            if (x > 0) joinOverlapping(columnIndex(x - 1, z), top, bottom, id, fluid);
+            if (z > 0) joinOverlapping(columnIndex(x, z - 1), top, bottom, id, fluid);
+        }
+
+        private void joinOverlapping(int col, int top, int bottom, int id, Fluid fluid) {
+            IntArrayList list = colRuns.get(col);
+            if (list != null) {
+                for (int i = 0; i < list.size(); i += 3) {
+                    int other = list.getInt(i + 2);
+                    if (runFluids.get(other) == fluid && top >= list.getInt(i + 1) && list.getInt(i) >= bottom) {
+                        parents.set(find(other), find(id));
+                    }
+                }
+            }
+        }
+
+        private int find(int id) {
+            while (parents.getInt(id) != id) {
+                parents.set(id, parents.getInt(parents.getInt(id)));
+                id = parents.getInt(id);
+            }
+            return id;
+        }
+
+        void finish() {
+            int[] depositIds = new int[runFluids.size()];
+            Arrays.fill(depositIds, -1);
+            for (Int2ObjectMap.Entry<IntArrayList> entry : colRuns.int2ObjectEntrySet()) {
+                int[] triples = entry.getValue().toIntArray();
+                for (int i = 0; i < triples.length; i += 3) {
+                    int root = find(triples[i + 2]);
+                    if (depositIds[root] < 0) {
+                        depositIds[root] = deposits.size();
+                        deposits.add(new Deposit(runFluids.get(root), -1));
+                    }
+                    triples[i + 2] = depositIds[root];
+                }
+                runs.put(entry.getIntKey(), triples);
+            }
+        }
+    }
+
+    public static class Deposit {
+        private final Fluid fluid;
+        private int size;
+
+        private Deposit(Fluid fluid, int size) {
+            this.fluid = fluid;
+            this.size = size;
+        }
+
+        public Fluid getFluid() {
+            return fluid;
+        }
+
+        /**
+         * Get the approximate size of the deposit.  This is measured once by flood-filling from the deposit, which may
+         * cross into neighbouring chunks, but it's only discarded when this chunk's index is; so it can go stale if
+         * the part of the deposit in another chunk changes (e.g. is pumped out).
+         *
+         * @return the number of source blocks, or -1 if not yet measured
+         */
+        public int getSize() {
+            return size;
+        }
+
+        public void setSize(int size) {
+            this.size = size;
+        }
+    }
+
+    public static class Survey {
+        private final Deposit deposit;
+        private final BlockPos pos;
+
+        private Survey(Deposit deposit, BlockPos pos) {
+            this.deposit = deposit;
+            this.pos = pos;
+        }
+
+        public Deposit getDeposit() {
+            return deposit;
+        }
+
+        public BlockPos getPos() {
+            return pos;
+        }
+    }
+}
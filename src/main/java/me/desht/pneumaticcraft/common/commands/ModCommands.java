@@ -1,9 +1,16 @@
 package me.desht.pneumaticcraft.common.commands;
 
 import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
 import com.mojang.brigadier.arguments.StringArgumentType;
 import com.mojang.brigadier.context.CommandContext;
 import me.desht.pneumaticcraft.api.PneumaticRegistry;
+import me.desht.pneumaticcraft.api.semiblock.ISemiBlock;
+import me.desht.pneumaticcraft.common.debug.TickProfiler;
+import me.desht.pneumaticcraft.common.entity.semiblock.EntitySemiblockBase;
+import me.desht.pneumaticcraft.common.semiblock.SemiblockTracker;
+import me.desht.pneumaticcraft.common.tileentity.TickScheduler;
+import me.desht.pneumaticcraft.common.tileentity.TileEntityAbstractHopper;
 import me.desht.pneumaticcraft.common.util.GlobalPosHelper;
 import me.desht.pneumaticcraft.common.util.IOHelper;
 import me.desht.pneumaticcraft.common.util.PneumaticCraftUtils;
@@ -21,6 +28,7 @@ import net.minecraft.util.text.StringTextComponent;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static me.desht.pneumaticcraft.common.util.PneumaticCraftUtils.xlate;
 import static net.minecraft.command.Commands.argument;
@@ -48,6 +56,33 @@ public class ModCommands {
                 )
         );
 
+        dispatcher.register(Commands.literal("pneumaticcraft")
+                .requires(cs -> cs.hasPermissionLevel(2))
+                .then(Commands.literal("profile")
+                        .then(Commands.literal("start")
+                                .executes(ModCommands::profileStart)
+                        )
+                        .then(Commands.literal("stop")
+                                .executes(ModCommands::profileStop)
+                        )
+                        .then(Commands.literal("dump")
+                                .executes(ctx -> profileDump(ctx.getSource(), 10))
+                                .then(argument("count", IntegerArgumentType.integer(1, 100))
+                                        .executes(ctx -> profileDump(ctx.getSource(), IntegerArgumentType.getInteger(ctx, "count")))
+                                )
+                        )
+                )
+                .then(Commands.literal("scheduler")
+                        .executes(ModCommands::schedulerStats)
+                )
+                .then(Commands.literal("semiblocks")
+                        .executes(ModCommands::semiblockStats)
+                )
+                .then(Commands.literal("hoppers")
+                        .executes(ModCommands::hopperStats)
+                )
+        );
+
         dispatcher.register(Commands.literal("get_global_var")
                 .then(argument("varname", StringArgumentType.string())
                         .executes(c -> getGlobalVar(c, StringArgumentType.getString(c,"varname")))
@@ -103,6 +138,74 @@ public class ModCommands {
         return status;
     }
 
+    private static int hopperStats(CommandContext<CommandSource> ctx) {
+        ctx.getSource().sendFeedback(xlate("pneumaticcraft.command.hopperStats.output", TileEntityAbstractHopper.getSleepingHopperCount()), false);
+        return 1;
+    }
+
+    private static int schedulerStats(CommandContext<CommandSource> ctx) {
+        ctx.getSource().sendFeedback(xlate("pneumaticcraft.command.scheduler.output",
+                TickScheduler.getSleepingCount(), TickScheduler.getTotalSleeps(), TickScheduler.getTimedWakeups(),
+                TickScheduler.getEarlyWakeups(), TickScheduler.getSkippedTicks()), false);
+        return 1;
+    }
+
+    private static int semiblockStats(CommandContext<CommandSource> ctx) {
+        int active = 0, passive = 0;
+        for (ISemiBlock semiblock : SemiblockTracker.getInstance().getAllSemiblocks().collect(Collectors.toList())) {
+            if (semiblock instanceof EntitySemiblockBase && ((EntitySemiblockBase) semiblock).isPassive()) {
+                passive++;
+            } else {
+                active++;
+            }
+        }
+        ctx.getSource().sendFeedback(xlate("pneumaticcraft.command.semiblocks.output", active + passive, active, passive), false);
+        return 1;
+    }
+
+    private static int profileStart(CommandContext<CommandSource> ctx) {
+        TickProfiler.startProfiling();
+        ctx.getSource().sendFeedback(xlate("pneumaticcraft.command.profile.started"), true);
+        return 1;
+    }
+
+    private static int profileStop(CommandContext<CommandSource> ctx) {
+        TickProfiler.stopProfiling();
+        ctx.getSource().sendFeedback(xlate("pneumaticcraft.command.profile.stopped", TickProfiler.getTicks()), true);
+        return 1;
+    }
+
+    private static int profileDump(CommandSource source, int count) {
+        int ticks = TickProfiler.getTicks();
+        if (ticks == 0) {
+            source.sendErrorMessage(xlate("pneumaticcraft.command.profile.noData"));
+            return 0;
+        }
+
+        source.sendFeedback(xlate("pneumaticcraft.command.profile.header", ticks, TickProfiler.getElapsedMillis() / 1000), false);
+        source.sendFeedback(xlate("pneumaticcraft.command.profile.subsystems"), false);
+        for (TickProfiler.Counter counter : TickProfiler.getSubsystemTotals()) {
+            source.sendFeedback(xlate("pneumaticcraft.command.profile.subsystemLine",
+                    counter.getLabel(), msPerTick(counter, ticks), counter.getCalls()), false);
+        }
+        source.sendFeedback(xlate("pneumaticcraft.command.profile.types", count), false);
+        for (TickProfiler.Counter counter : TickProfiler.getTopTypes(count)) {
+            source.sendFeedback(xlate("pneumaticcraft.command.profile.typeLine",
+                    counter.getSubsystem().getName(), counter.getLabel(), msPerTick(counter, ticks), counter.getCalls()), false);
+        }
+        source.sendFeedback(xlate("pneumaticcraft.command.profile.positions", count), false);
+        for (TickProfiler.Counter counter : TickProfiler.getTopSources(count)) {
+            source.sendFeedback(xlate("pneumaticcraft.command.profile.positionLine",
+                    counter.getPos().getDimension().getLocation(), PneumaticCraftUtils.posToString(counter.getPos().getPos()),
+                    counter.getSubsystem().getName(), counter.getLabel(), msPerTick(counter, ticks)), false);
+        }
+        return 1;
+    }
+
+    private static String msPerTick(TickProfiler.Counter counter, int ticks) {
+        return String.format("%.3f", counter.getNanos() / 1_000_000.0 / ticks);
+    }
+
     private static int getGlobalVar(CommandContext<CommandSource> ctx, String varName) {
         CommandSource source = ctx.getSource();
         if (varName.startsWith("#")) varName = varName.substring(1);
@@ -10,6 +10,7 @@ import java.util.List;
 public class CommonConfig {
     public static class General {
         ForgeConfigSpec.BooleanValue droneDebuggerPathParticles;
+        ForgeConfigSpec.IntValue droneDebuggerHistorySize;
         ForgeConfigSpec.IntValue oilGenerationChance;
         ForgeConfigSpec.IntValue surfaceOilGenerationChance;
         ForgeConfigSpec.BooleanValue enableDungeonLoot;
@@ -40,11 +41,13 @@ public class CommonConfig {
         ForgeConfigSpec.IntValue pneumaticEngineEfficiency;
         ForgeConfigSpec.IntValue pneumaticGeneratorEfficiency;
         ForgeConfigSpec.IntValue pneumaticPumpEfficiency;
+        ForgeConfigSpec.IntValue programmerUndoDepth;
         ForgeConfigSpec.DoubleValue speedUpgradeSpeedMultiplier;
         ForgeConfigSpec.DoubleValue speedUpgradeUsageMultiplier;
         ForgeConfigSpec.ConfigValue<List<String>> seismicSensorFluids;
         ForgeConfigSpec.ConfigValue<List<String>> seismicSensorFluidTags;
         ForgeConfigSpec.ConfigValue<List<String>> disenchantingBlacklist;
+        ForgeConfigSpec.IntValue heatFrameMaxBatchSize;
     }
     public static class Armor {
         ForgeConfigSpec.IntValue jetBootsAirUsage;
@@ -71,6 +74,8 @@ public class CommonConfig {
         ForgeConfigSpec.BooleanValue dontUpdateInfiniteWaterSources;
         ForgeConfigSpec.IntValue maxDroneChargingStationSearchRange;
         ForgeConfigSpec.IntValue maxDroneTeleportRange;
+        ForgeConfigSpec.IntValue sentryTurretRaytracesPerTick;
+        ForgeConfigSpec.BooleanValue tickScheduler;
     }
     public static class Micromissiles {
         ForgeConfigSpec.DoubleValue baseExplosionDamage;
@@ -221,6 +226,10 @@ public class CommonConfig {
                 .comment("Show particle trail indicating the currently-debugged drone's planned path")
                 .translation("pneumaticcraft.config.common.general.drone_debugger_path_particles")
                 .define("drone_debugger_path_particles", true);
+        general.droneDebuggerHistorySize = builder
+                .comment("Number of recent debug messages each drone remembers, so they can be shown as soon as a player starts debugging it. Set to 0 to only record debug messages while a player is actually debugging the drone.")
+                .translation("pneumaticcraft.config.common.general.drone_debugger_history_size")
+                .defineInRange("drone_debugger_history_size", 32, 0, 1024);
         general.vacuumTrapBlacklist = builder
                 .comment("Blacklisted entity ID's, which the Vacuum Trap will not try to absorb. Note that players, tamed entities, boss entities, and PneumaticCraft drones may never be absorbed, regardless of config settings.")
                 .translation("pneumaticcraft.config.common.general.vacuum_trap_blacklist")
@@ -288,6 +297,10 @@ public class CommonConfig {
                 .comment("Changing this value will alter the hydraulic bar production of the Pneumatic Pump. The input, air, will stay the same")
                 .translation("pneumaticcraft.config.common.machine_properties.pneumatic_pump_efficiency")
                 .defineInRange("pneumatic_pump_efficiency", 40, 0, Integer.MAX_VALUE);
+        machines.programmerUndoDepth = builder
+                .comment("The number of edits which can be undone in the Programmer. Only the changed widgets are stored for each edit, and the undo history is not saved with the world.")
+                .translation("pneumaticcraft.config.common.machine_properties.programmer_undo_depth")
+                .defineInRange("programmer_undo_depth", 100, 1, 10000);
         machines.speedUpgradeSpeedMultiplier = builder
                 .comment("Speed multiplier per speed upgrade: speed mult = speedUpgradeSpeedMultiplier ^ num_of_speed_upgrades")
                 .translation("pneumaticcraft.config.common.machine_properties.speed_upgrade_speed_multiplier")
@@ -310,6 +323,10 @@ public class CommonConfig {
                 .comment("Blacklist items from being allowed in the Pressure Chamber disenchanting system. This is a starts-with string match, so you can match by mod, or individual item names as you need. Blacklisted by default are Quark Ancient Tomes, and all Tetra items; both can lead to enchantment duping as they have special enchantment mechanics.")
                 .translation("pneumaticcraft.config.common.machines.disenchanting_blacklist")
                 .define("disenchanting_blacklist", Lists.newArrayList("quark:ancient_tome", "tetra:"));
+        machines.heatFrameMaxBatchSize = builder
+                .comment("The maximum number of items a Heat Frame may cook or cool in one step. With values above 1, a frame which is much hotter (or colder) than it needs to be for full speed processes several items per step, one extra item for every 150 degrees beyond that point. Heat used per item is unchanged. The default of 1 gives the classic one-item-at-a-time behaviour.")
+                .translation("pneumaticcraft.config.common.machines.heat_frame_max_batch_size")
+                .defineInRange("heat_frame_max_batch_size", 1, 1, 64);
         builder.pop();
 
         builder.push("Pneumatic Armor");
@@ -376,6 +393,14 @@ public class CommonConfig {
                 .comment("If a Drone has found a path, but gets stuck on a block along that path, it will teleport to its destination after this many ticks of being stuck. Set this to 0 to disable teleporting, which will likely leave the drone waiting there forever (or until it runs out of air). Note that getting stuck on a block is usually the fault of the mod that added the block (especially if the block has a non-full-cube shape), but if you encounter this behaviour, please report it as a PneumaticCraft: Repressurized issue so it can be investigated.")
                 .translation("pneumaticcraft.config.common.advanced.stuck_drone_teleport_ticks")
                 .defineInRange("stuck_drone_teleport_ticks", 20, 0, Integer.MAX_VALUE);
+        advanced.sentryTurretRaytracesPerTick = builder
+                .comment("The maximum number of line-of-sight checks which all Sentry Turrets in a dimension may do per tick while looking for a new target. The checks are shared evenly between the turrets which are searching, and turrets which run out will continue their search where they left off on the next tick. Lower values reduce the server impact of large numbers of turrets, at the cost of slower target acquisition.")
+                .translation("pneumaticcraft.config.common.advanced.sentry_turret_raytraces_per_tick")
+                .defineInRange("sentry_turret_raytraces_per_tick", 32, 1, Integer.MAX_VALUE);
+        advanced.tickScheduler = builder
+                .comment("Allow idle machines to stop ticking until they have something to do (or a neighbour changes). Set to false to have all machines tick every tick, as vanilla does; only worth doing if you suspect a machine isn't waking up when it should.")
+                .translation("pneumaticcraft.config.common.advanced.tick_scheduler")
+                .define("tick_scheduler", true);
         builder.pop();
 
         builder.push("Micromissile Properties");
@@ -73,6 +73,7 @@ public class ConfigHelper {
         PNCConfig.Common.General.dronesRenderHeldItem = common.general.dronesRenderHeldItem.get();
         PNCConfig.Common.General.dronesCanImportXPOrbs = common.general.dronesCanImportXPOrbs.get();
         PNCConfig.Common.General.droneDebuggerPathParticles = common.general.droneDebuggerPathParticles.get();
+        PNCConfig.Common.General.droneDebuggerHistorySize = common.general.droneDebuggerHistorySize.get();
         PNCConfig.Common.General.vacuumTrapBlacklist = common.general.vacuumTrapBlacklist.get()
                 .stream().map(resourceName -> new ResourceLocation(resourceName.toLowerCase())).collect(Collectors.toSet());
 
@@ -91,6 +92,7 @@ public class ConfigHelper {
         PNCConfig.Common.Machines.pneumaticEngineEfficiency = common.machines.pneumaticEngineEfficiency.get();
         PNCConfig.Common.Machines.pneumaticGeneratorEfficiency = common.machines.pneumaticGeneratorEfficiency.get();
         PNCConfig.Common.Machines.pneumaticPumpEfficiency = common.machines.pneumaticPumpEfficiency.get();
+        PNCConfig.Common.Machines.programmerUndoDepth = common.machines.programmerUndoDepth.get();
         PNCConfig.Common.Machines.speedUpgradeSpeedMultiplier = common.machines.speedUpgradeSpeedMultiplier.get();
         PNCConfig.Common.Machines.speedUpgradeUsageMultiplier = common.machines.speedUpgradeUsageMultiplier.get();
         PNCConfig.Common.Machines.seismicSensorFluids = common.machines.seismicSensorFluids.get()
@@ -98,6 +100,7 @@ public class ConfigHelper {
         PNCConfig.Common.Machines.seismicSensorFluidTags = common.machines.seismicSensorFluidTags.get()
                 .stream().map(resourceName -> new ResourceLocation(resourceName.toLowerCase())).collect(Collectors.toSet());
         PNCConfig.Common.Machines.disenchantingBlacklist = common.machines.disenchantingBlacklist.get();
+        PNCConfig.Common.Machines.heatFrameMaxBatchSize = common.machines.heatFrameMaxBatchSize.get();
 
         PNCConfig.Common.Armor.jetBootsAirUsage = common.armor.jetBootsAirUsage.get();
         PNCConfig.Common.Armor.armorStartupTime = common.armor.armorStartupTime.get();
@@ -121,6 +124,8 @@ public class ConfigHelper {
         PNCConfig.Common.Advanced.stopDroneAI = common.advanced.stopDroneAI.get();
         PNCConfig.Common.Advanced.dontUpdateInfiniteWaterSources = common.advanced.dontUpdateInfiniteWaterSources.get();
         PNCConfig.Common.Advanced.stuckDroneTeleportTicks = common.advanced.stuckDroneTeleportTicks.get();
+        PNCConfig.Common.Advanced.sentryTurretRaytracesPerTick = common.advanced.sentryTurretRaytracesPerTick.get();
+        PNCConfig.Common.Advanced.tickScheduler = common.advanced.tickScheduler.get();
 
         PNCConfig.Common.Micromissiles.baseExplosionDamage = common.micromissiles.baseExplosionDamage.get();
         PNCConfig.Common.Micromissiles.damageTerrain = common.micromissiles.damageTerrain.get();
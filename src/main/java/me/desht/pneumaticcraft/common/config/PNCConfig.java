@@ -64,6 +64,7 @@ public class PNCConfig {
             public static Set<String> oilWorldGenCategoryBlacklist;
             public static int surfaceOilGenerationChance;
             public static boolean droneDebuggerPathParticles;
+            public static int droneDebuggerHistorySize;
         }
 
         public static class Machines {
@@ -82,11 +83,13 @@ public class PNCConfig {
             public static int pneumaticEngineEfficiency;
             public static int pneumaticGeneratorEfficiency;
             public static int pneumaticPumpEfficiency;
+            public static int programmerUndoDepth;
             public static double speedUpgradeSpeedMultiplier;
             public static double speedUpgradeUsageMultiplier;
             public static Set<ResourceLocation> seismicSensorFluids;
             public static Set<ResourceLocation> seismicSensorFluidTags;
             public static List<String> disenchantingBlacklist;
+            public static int heatFrameMaxBatchSize;
         }
 
         public static class Armor {
@@ -116,6 +119,8 @@ public class PNCConfig {
             public static int maxDroneChargingStationSearchRange;
             public static int stuckDroneTeleportTicks;
             public static int maxDroneTeleportRange;
+            public static int sentryTurretRaytracesPerTick;
+            public static boolean tickScheduler;
         }
 
         public static class Micromissiles {
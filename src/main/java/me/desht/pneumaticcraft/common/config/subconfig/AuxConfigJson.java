@@ -1,7 +1,8 @@
 package me.desht.pneumaticcraft.common.config.subconfig;
 
 import com.google.common.base.Charsets;
-import com.google.gson.*;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
 import me.desht.pneumaticcraft.lib.Log;
 import org.apache.commons.io.FileUtils;
 
@@ -45,23 +46,25 @@ public abstract class AuxConfigJson implements IAuxConfig {
     }
 
     public void writeToFile() throws IOException {
-        JsonObject root = new JsonObject();
-        writeToJson(root);
-        String jsonString = root.toString();
-
-        JsonParser parser = new JsonParser();
-        Gson gson = new GsonBuilder().setPrettyPrinting().create();
-
-        JsonElement el = parser.parse(jsonString);
-        FileUtils.write(file, gson.toJson(el), Charsets.UTF_8);
+        AuxConfigWriter.writeNow(file, takeSnapshot());
     }
 
+    /**
+     * Save the config soon, in the background.  The config's current state is captured now, so it's fine to keep
+     * modifying it after this call.
+     */
     public void tryWriteToFile() {
-        try {
-            writeToFile();
-        } catch (IOException e) {
-            Log.stacktrace("Failed to save config", e);
+        if (file == null) {
+            Log.warning("Can't save config " + getConfigFilename() + " before it's been loaded!");
+            return;
         }
+        AuxConfigWriter.queueWrite(file, takeSnapshot());
+    }
+
+    private JsonObject takeSnapshot() {
+        JsonObject root = new JsonObject();
+        writeToJson(root);
+        return root;
     }
 
     private void readFromFile() throws IOException {
@@ -0,0 +1,108 @@
+package me.desht.pneumaticcraft.common.config.subconfig;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import me.desht.pneumaticcraft.lib.Log;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes aux config files in the background.  Callers hand over a JSON snapshot of the config, taken on their own
+ * thread; repeated saves of the same file within a short window are coalesced into a single write of the latest
+ * snapshot.  Files are written to a temporary file first, then moved into place, so a crash mid-write can't leave
+ * a truncated config behind.
+ */
+public class AuxConfigWriter {
+    private static final long WRITE_DELAY_MS = 1000;
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    private static final Map<File, JsonObject> PENDING = new ConcurrentHashMap<>();
+    private static final Object WRITE_LOCK = new Object();
+    private static final ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "PneumaticCraft config writer");
+        t.setDaemon(true);
+        return t;
+    });
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(AuxConfigWriter::flush, "PneumaticCraft config flush"));
+    }
+
+    /**
+     * Queue a snapshot to be written to the given file soon.  If a write for the file is already queued, the
+     * snapshot replaces the queued one.
+     *
+     * @param file the file
+     * @param json the snapshot; must not be modified by the caller after this
+     */
+    static void queueWrite(File file, JsonObject json) {
+        if (PENDING.put(file, json) == null) {
+            EXECUTOR.schedule(() -> writePending(file), WRITE_DELAY_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Write a snapshot to the given file right now, on the calling thread, superseding any queued write.
+     *
+     * @param file the file
+     * @param json the snapshot
+     * @throws IOException if the file could not be written
+     */
+    static void writeNow(File file, JsonObject json) throws IOException {
+        synchronized (WRITE_LOCK) {
+            PENDING.remove(file);
+            write(file, json);
+        }
+    }
+
+    /**
+     * Write all queued snapshots immediately, on the calling thread.  Called when the server stops, and on JVM
+     * shutdown.
+     */
+    public static void flush() {
+        for (File file : new ArrayList<>(PENDING.keySet())) {
+            writePending(file);
+        }
+    }
+
+    private static void writePending(File file) {
+        // the lock ensures that a snapshot can't be overwritten by an older one which is being written concurrently
+        synchronized (WRITE_LOCK) {
+            JsonObject json = PENDING.remove(file);
+            if (json != null) {
+                try {
+                    write(file, json);
+                } catch (IOException e) {
+                    Log.stacktrace("Failed to save config " + file, e);
+                }
+            }
+        }
+    }
+
+    private static void write(File file, JsonObject json) throws IOException {
+        Path target = file.toPath();
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            GSON.toJson(json, writer);
+        }
+        try {
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -23,45 +23,97 @@ import net.minecraftforge.fml.common.Mod;
 
 import java.util.*;
 
+/**
+ * Records debug messages for a drone or Programmable Controller.  Server-side, messages are only recorded while
+ * players are debugging the drone, or into a small history ring buffer if enabled in config, and nothing at all is
+ * allocated otherwise; so callers can add entries freely without worrying about the cost.  Messages for debugging
+ * players are batched up and sent once per tick.  Client-side, the latest entry for each programming widget is kept
+ * for display.
+ */
 public class DroneDebugger {
     private final IDroneBase drone;
-    private final DroneDebugList debugList = new DroneDebugList();
+    private final Map<Integer, DroneDebugEntry> clientEntries = new HashMap<>();  // client-side: latest entry per widget
     private final Set<ServerPlayerEntity> debuggingPlayers = new HashSet<>();  // players who receive debug data
+    private final Map<Integer, DroneDebugEntry> pendingEntries = new LinkedHashMap<>();  // to be sent this tick
+
+    // server-side history ring buffer; message keys are string constants, so storing them allocates nothing
+    private String[] historyMessages = new String[0];
+    private int[] historyWidgets = new int[0];
+    private long[] historyPositions = new long[0];
+    private int historyHead;
+    private int historySize;
 
     public DroneDebugger(IDroneBase drone) {
         this.drone = drone;
     }
 
     public DroneDebugEntry getDebugEntry(int widgetID) {
-        return debugList.get(widgetID);
+        return clientEntries.get(widgetID);
+    }
+
+    /**
+     * Check if debug messages added right now would be recorded at all.  Callers only need to check this if building
+     * the message arguments is itself expensive.
+     *
+     * @return true if messages are being recorded
+     */
+    public boolean isActive() {
+        return !debuggingPlayers.isEmpty() || PNCConfig.Common.General.droneDebuggerHistorySize > 0;
     }
 
     public void addEntry(String message) {
-        addEntry(message, null);
+        addEntry(message, 0, 0, 0);
     }
 
     public void addEntry(String message, BlockPos pos) {
-        DroneDebugEntry entry = new DroneDebugEntry(message, getActiveWidgetIndex(), pos);
+        if (pos == null) {
+            addEntry(message, 0, 0, 0);
+        } else {
+            addEntry(message, pos.getX(), pos.getY(), pos.getZ());
+        }
+    }
 
-        // add the entry server-side
-        addEntry(entry);
+    public void addEntry(String message, int x, int y, int z) {
+        if (!isActive()) return;
 
-        // add the entry client-side
-        PacketSendDroneDebugEntry packet = new PacketSendDroneDebugEntry(entry, drone);
-        for (ServerPlayerEntity player : debuggingPlayers) {
-            NetworkHandler.sendToPlayer(packet, player);
+        int widgetId = getActiveWidgetIndex();
+        addToHistory(message, widgetId, BlockPos.pack(x, y, z));
+        if (!debuggingPlayers.isEmpty()) {
+            // client only displays the latest message for each widget, so only the latest one needs to be sent
+            pendingEntries.put(widgetId, new DroneDebugEntry(message, widgetId, new BlockPos(x, y, z)));
         }
     }
 
+    /**
+     * Called client-side when an entry is received from the server.
+     *
+     * @param entry the entry
+     */
     public void addEntry(DroneDebugEntry entry) {
-        debugList.addEntry(entry);
+        clientEntries.put(entry.getProgWidgetId(), entry);
+    }
+
+    /**
+     * Called every tick server-side to send any messages added this tick to debugging players, in a single packet.
+     */
+    public void sendPendingEntries() {
+        if (pendingEntries.isEmpty()) return;
+
+        if (!debuggingPlayers.isEmpty()) {
+            PacketSendDroneDebugEntry packet = new PacketSendDroneDebugEntry(new ArrayList<>(pendingEntries.values()), drone);
+            for (ServerPlayerEntity player : debuggingPlayers) {
+                NetworkHandler.sendToPlayer(packet, player);
+            }
+        }
+        pendingEntries.clear();
     }
 
     public void trackAsDebugged(ServerPlayerEntity player) {
         NetworkHandler.sendToPlayer(new PacketSyncDroneEntityProgWidgets(drone), player);
 
-        for (DroneDebugEntry entry : debugList.getAll()) {
-            NetworkHandler.sendToPlayer(new PacketSendDroneDebugEntry(entry, drone), player);
+        List<DroneDebugEntry> history = getHistory();
+        if (!history.isEmpty()) {
+            NetworkHandler.sendToPlayer(new PacketSendDroneDebugEntry(history, drone), player);
         }
 
         debuggingPlayers.add(player);
@@ -79,28 +131,33 @@ public class DroneDebugger {
         return drone.getActiveWidgetIndex();
     }
 
-    private class DroneDebugList {
-        private final Map<Integer, DroneDebugEntry> debugEntries = new HashMap<>();
-
-        private DroneDebugList() {
+    private void addToHistory(String message, int widgetId, long pos) {
+        int capacity = PNCConfig.Common.General.droneDebuggerHistorySize;
+        if (capacity != historyMessages.length) {
+            // config changed; just start over
+            historyMessages = new String[capacity];
+            historyWidgets = new int[capacity];
+            historyPositions = new long[capacity];
+            historyHead = historySize = 0;
         }
+        if (capacity == 0) return;
 
-        void addEntry(DroneDebugEntry entry) {
-            debugEntries.put(DroneDebugger.this.getActiveWidgetIndex(), entry);
-        }
-
-        public Collection<DroneDebugEntry> getAll() {
-            return debugEntries.values();
-        }
-
-        public DroneDebugEntry get(int widgetId) {
-            return debugEntries.get(widgetId);
-        }
+        historyMessages[historyHead] = message;
+        historyWidgets[historyHead] = widgetId;
+        historyPositions[historyHead] = pos;
+        historyHead = (historyHead + 1) % capacity;
+        historySize = Math.min(historySize + 1, capacity);
+    }
 
-        public DroneDebugEntry getCurrent() {
-            return debugEntries.get(DroneDebugger.this.getActiveWidgetIndex());
+    private List<DroneDebugEntry> getHistory() {
+        // oldest first, so that the newest message for each widget is the one the client ends up with
+        List<DroneDebugEntry> res = new ArrayList<>(historySize);
+        int capacity = historyMessages.length;
+        for (int i = 0; i < historySize; i++) {
+            int idx = (historyHead - historySize + i + capacity) % capacity;
+            res.add(new DroneDebugEntry(historyMessages[idx], historyWidgets[idx], BlockPos.fromLong(historyPositions[idx])));
         }
-
+        return res;
     }
 
     @Mod.EventBusSubscriber(modid = Names.MOD_ID)
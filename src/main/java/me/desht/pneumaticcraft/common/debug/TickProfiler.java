@@ -0,0 +1,265 @@
+package me.desht.pneumaticcraft.common.debug;
+
+import me.desht.pneumaticcraft.common.ai.IDroneBase;
+import me.desht.pneumaticcraft.common.util.GlobalPosHelper;
+import net.minecraft.entity.Entity;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.tileentity.TileEntityType;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.GlobalPos;
+import net.minecraft.util.math.vector.Vector3d;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Lightweight server-side profiler for PneumaticCraft's own tick work, controlled by the
+ * {@code /pneumaticcraft profile} command.  Time and call counts are recorded per subsystem, per tile entity type
+ * (or drone program widget), and per source: a tile entity position or a drone, for each subsystem.
+ * <p>
+ * When profiling is off, {@link #start()} returns 0 without reading the clock, and {@link #end} returns immediately,
+ * so instrumented code pays no more than a static field read.  Usage:
+ * <pre>
+ *     long t = TickProfiler.start();
+ *     ... work ...
+ *     TickProfiler.end(TickProfiler.Subsystem.AIR, this, t);
+ * </pre>
+ */
+public class TickProfiler {
+    public enum Subsystem {
+        AIR("air"),
+        HEAT("heat"),
+        SYNC("sync"),
+        DRONE_AI("drone_ai"),
+        LOGISTICS("logistics");
+
+        private final String name;
+
+        Subsystem(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    private static boolean enabled;
+    private static long startedAt;
+    private static int ticks;
+    private static final Map<Subsystem, Map<Object, Counter>> BY_TYPE = new EnumMap<>(Subsystem.class);
+    private static final Map<SourceKey, Counter> BY_SOURCE = new HashMap<>();
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Start timing a section of work.
+     *
+     * @return a timestamp to pass to {@code end()}, or 0 if profiling is off
+     */
+    public static long start() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * Finish timing some tile entity work.  Client-side work is ignored.
+     *
+     * @param subsystem the subsystem
+     * @param te the tile entity
+     * @param start the value returned by {@link #start()}
+     */
+    public static void end(Subsystem subsystem, TileEntity te, long start) {
+        if (start == 0L || te.getWorld() == null || te.getWorld().isRemote) return;
+
+        GlobalPos pos = GlobalPosHelper.makeGlobalPos(te.getWorld(), te.getPos());
+        long nanos = System.nanoTime() - start;
+        recordType(subsystem, te.getType(), nanos);
+        recordSource(subsystem, pos, te.getType(), pos, nanos);
+    }
+
+    /**
+     * Finish timing some drone work.  Client-side work is ignored.
+     *
+     * @param subsystem the subsystem
+     * @param drone the drone or Programmable Controller
+     * @param key what the drone was doing, typically the active program widget's type ID
+     * @param start the value returned by {@link #start()}
+     */
+    public static void end(Subsystem subsystem, IDroneBase drone, Object key, long start) {
+        if (start == 0L || drone.world().isRemote) return;
+
+        long nanos = System.nanoTime() - start;
+        recordType(subsystem, key, nanos);
+        if (drone instanceof TileEntity) {
+            // Programmable Controller
+            TileEntity te = (TileEntity) drone;
+            GlobalPos pos = GlobalPosHelper.makeGlobalPos(te.getWorld(), te.getPos());
+            recordSource(subsystem, pos, te.getType(), pos, nanos);
+        } else {
+            // a moving drone is tracked as a single source, at its most recent position
+            Vector3d v = drone.getDronePos();
+            GlobalPos pos = GlobalPosHelper.makeGlobalPos(drone.world(), new BlockPos(v));
+            Object id = drone instanceof Entity ? ((Entity) drone).getUniqueID() : drone;
+            recordSource(subsystem, id, drone, pos, nanos);
+        }
+    }
+
+    private static void recordType(Subsystem subsystem, Object key, long nanos) {
+        BY_TYPE.computeIfAbsent(subsystem, k -> new HashMap<>())
+                .computeIfAbsent(key, k -> new Counter(subsystem, k))
+                .add(nanos);
+    }
+
+    private static void recordSource(Subsystem subsystem, Object id, Object label, GlobalPos pos, long nanos) {
+        Counter counter = BY_SOURCE.computeIfAbsent(new SourceKey(id, subsystem), k -> new Counter(subsystem,
+                label instanceof IDroneBase ? ((IDroneBase) label).getDroneName().getString() : label));
+        counter.pos = pos;
+        counter.add(nanos);
+    }
+
+    /**
+     * Called at the end of every server tick.
+     */
+    public static void onServerTick() {
+        if (enabled) ticks++;
+    }
+
+    public static void startProfiling() {
+        BY_TYPE.clear();
+        BY_SOURCE.clear();
+        ticks = 0;
+        startedAt = System.nanoTime();
+        enabled = true;
+    }
+
+    public static void stopProfiling() {
+        enabled = false;
+    }
+
+    public static int getTicks() {
+        return ticks;
+    }
+
+    public static long getElapsedMillis() {
+        return startedAt == 0L ? 0L : (System.nanoTime() - startedAt) / 1_000_000L;
+    }
+
+    /**
+     * Get the total time recorded for each subsystem.
+     *
+     * @return subsystem totals, most expensive first
+     */
+    public static List<Counter> getSubsystemTotals() {
+        List<Counter> res = new ArrayList<>();
+        BY_TYPE.forEach((subsystem, counters) -> {
+            Counter total = new Counter(subsystem, subsystem.getName());
+            counters.values().forEach(total::add);
+            res.add(total);
+        });
+        res.sort(Comparator.comparingLong(Counter::getNanos).reversed());
+        return res;
+    }
+
+    /**
+     * Get the most expensive (subsystem, type) combinations.
+     *
+     * @param n max number of results
+     * @return the top N counters, most expensive first
+     */
+    public static List<Counter> getTopTypes(int n) {
+        return BY_TYPE.values().stream()
+                .flatMap(m -> m.values().stream())
+                .sorted(Comparator.comparingLong(Counter::getNanos).reversed())
+                .limit(n)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Get the most expensive (source, subsystem) combinations, where a source is a tile entity or a drone.
+     *
+     * @param n max number of results
+     * @return the top N counters, most expensive first; each has a position (see {@link Counter#getPos()})
+     */
+    public static List<Counter> getTopSources(int n) {
+        return BY_SOURCE.values().stream()
+                .sorted(Comparator.comparingLong(Counter::getNanos).reversed())
+                .limit(n)
+                .collect(Collectors.toList());
+    }
+
+    private static class SourceKey {
+        private final Object id;  // a GlobalPos for tile entities, or a drone's UUID
+        private final Subsystem subsystem;
+
+        private SourceKey(Object id, Subsystem subsystem) {
+            this.id = id;
+            this.subsystem = subsystem;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof SourceKey)) return false;
+            SourceKey that = (SourceKey) o;
+            return id.equals(that.id) && subsystem == that.subsystem;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * id.hashCode() + subsystem.hashCode();
+        }
+    }
+
+    public static class Counter {
+        private final Subsystem subsystem;
+        private final Object key;
+        private GlobalPos pos;
+        private long nanos;
+        private int calls;
+
+        private Counter(Subsystem subsystem, Object key) {
+            this.subsystem = subsystem;
+            this.key = key;
+        }
+
+        private void add(long nanos) {
+            this.nanos += nanos;
+            this.calls++;
+        }
+
+        private void add(Counter other) {
+            this.nanos += other.nanos;
+            this.calls += other.calls;
+        }
+
+        public Subsystem getSubsystem() {
+            return subsystem;
+        }
+
+        public String getLabel() {
+            if (key instanceof TileEntityType) {
+                return Objects.toString(((TileEntityType<?>) key).getRegistryName());
+            }
+            return key.toString();
+        }
+
+        /**
+         * Get the position of a source counter; for a drone, this is where it was last seen.
+         *
+         * @return the position, or null if this isn't a source counter
+         */
+        public GlobalPos getPos() {
+            return pos;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        public int getCalls() {
+            return calls;
+        }
+    }
+}
@@ -428,6 +428,7 @@ public class EntityDrone extends EntityDroneBase implements
             if (world.getGameTime() % 20 == 0) {
                 debugger.updateDebuggingPlayers();
             }
+            debugger.sendPendingEntries();
 
             FakePlayer fp = getFakePlayer();
             fp.setPosition(getPosX(), getPosY(), getPosZ());
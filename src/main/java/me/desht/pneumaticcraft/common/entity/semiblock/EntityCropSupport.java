@@ -24,6 +24,11 @@ public class EntityCropSupport extends EntitySemiblockBase {
         return BOUNDS;
     }
 
+    @Override
+    protected boolean hasServerTickWork() {
+        return true;
+    }
+
     @Override
     public void tick() {
         super.tick();
@@ -1,11 +1,14 @@
 package me.desht.pneumaticcraft.common.entity.semiblock;
 
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
 import me.desht.pneumaticcraft.api.PNCCapabilities;
 import me.desht.pneumaticcraft.api.PneumaticRegistry;
 import me.desht.pneumaticcraft.api.crafting.ingredient.FluidIngredient;
 import me.desht.pneumaticcraft.api.crafting.recipe.HeatFrameCoolingRecipe;
 import me.desht.pneumaticcraft.api.heat.IHeatExchangerLogic;
 import me.desht.pneumaticcraft.client.util.ClientUtils;
+import me.desht.pneumaticcraft.common.config.PNCConfig;
 import me.desht.pneumaticcraft.common.heat.HeatUtil;
 import me.desht.pneumaticcraft.common.heat.SyncedTemperature;
 import me.desht.pneumaticcraft.common.recipes.PneumaticCraftRecipeType;
@@ -15,7 +18,9 @@ import me.desht.pneumaticcraft.common.util.PneumaticCraftUtils;
 import net.minecraft.entity.EntityType;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.inventory.Inventory;
+import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
+import net.minecraft.item.crafting.IRecipe;
 import net.minecraft.item.crafting.IRecipeType;
 import net.minecraft.nbt.CompoundNBT;
 import net.minecraft.network.datasync.DataParameter;
@@ -23,6 +28,7 @@ import net.minecraft.network.datasync.DataSerializers;
 import net.minecraft.network.datasync.EntityDataManager;
 import net.minecraft.particles.ParticleTypes;
 import net.minecraft.util.Direction;
+import net.minecraft.util.math.MathHelper;
 import net.minecraft.util.text.ITextComponent;
 import net.minecraft.util.text.TextFormatting;
 import net.minecraft.world.World;
@@ -37,6 +43,9 @@ import net.minecraftforge.items.ItemHandlerHelper;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class EntityHeatFrame extends EntitySemiblockBase {
     private static final DataParameter<Byte> STATUS = EntityDataManager.createKey(EntityHeatFrame.class, DataSerializers.BYTE);
@@ -48,10 +57,19 @@ public class EntityHeatFrame extends EntitySemiblockBase {
     private static final byte COOKING = 1;
     private static final byte COOLING = 2;
 
+    private static final int RESCAN_INTERVAL = 20;
+
+    // smelting results & cooling recipes by item, for stacks with no NBT; shared by all heat frames
+    private static final Map<Item, ItemStack> SMELTING_RESULTS = new ConcurrentHashMap<>();
+    private static final Map<Item, Optional<HeatFrameCoolingRecipe>> COOLING_RECIPES = new ConcurrentHashMap<>();
+
     private final IHeatExchangerLogic logic = PneumaticRegistry.getInstance().getHeatRegistry().makeHeatExchangerLogic();
 
     private final LazyOptional<IHeatExchangerLogic> heatCap;
-    private int lastValidSlot; // cache the current cooking slot for performance boost
+    private final IntList slotIndex = new IntArrayList();  // slots which held cookable/coolable items at the last scan
+    private byte indexedMode = IDLE;
+    private int rescanCooldown;
+    private int batchSize = 1;
     private int cookingProgress;
 
     private int coolingProgress;
@@ -106,6 +124,11 @@ public class EntityHeatFrame extends EntitySemiblockBase {
         return getDataManager().get(TEMPERATURE);
     }
 
+    @Override
+    protected boolean hasServerTickWork() {
+        return true;
+    }
+
     @Override
     public void tick() {
         super.tick();
@@ -115,6 +138,7 @@ public class EntityHeatFrame extends EntitySemiblockBase {
         }
 
         if (!getWorld().isRemote) {
+            if (rescanCooldown > 0) rescanCooldown--;
             byte newStatus = IDLE;
             if (logic.getTemperature() > MIN_COOKING_TEMP) {
                 newStatus = doCooking();
@@ -153,20 +177,17 @@ public class EntityHeatFrame extends EntitySemiblockBase {
         if (cookingProgress < 100) {
             int progress = Math.max(0, ((int) logic.getTemperature() - 343) / 30);
             progress = Math.min(5, progress);
+            batchSize = getBatchSize((int) logic.getTemperature() - 493);
             logic.addHeat(-progress);
             cookingProgress += progress;
             newStatus = COOKING;
         }
         if (cookingProgress >= 100) {
             IOHelper.getInventoryForTE(getCachedTileEntity()).ifPresent(handler -> {
-                if (!tryCookSlot(handler, lastValidSlot)) {
-                    for (int i = 0; i < handler.getSlots(); i++) {
-                        if (tryCookSlot(handler, i)) {
-                            cookingProgress -= 100;
-                            break;
-                        }
-                    }
-                } else {
+                int processed = processSlots(handler, batchSize, COOKING);
+                if (processed > 0) {
+                    // progress paid for the first item; any others in the batch are paid for now
+                    logic.addHeat(-(processed - 1) * 100);
                     cookingProgress -= 100;
                 }
             });
@@ -175,23 +196,14 @@ public class EntityHeatFrame extends EntitySemiblockBase {
     }
 
     private boolean tryCookSlot(IItemHandler handler, int slot) {
-        ItemStack stack = handler.getStackInSlot(slot);
-        if (!stack.isEmpty()) {
-            Inventory inv = new Inventory(1);
-            inv.setInventorySlotContents(0, stack);
-            return world.getRecipeManager().getRecipe(IRecipeType.SMELTING, inv, this.world).map(recipe -> {
-                ItemStack result = recipe.getRecipeOutput().copy();
-                if (!result.isEmpty()) {
-                    ItemStack remainder = ItemHandlerHelper.insertItem(handler, result, true);
-                    if (remainder.isEmpty()) {
-                        handler.extractItem(slot, 1, false);
-                        ItemHandlerHelper.insertItem(handler, result, false);
-                        lastValidSlot = slot;
-                        return true;
-                    }
-                }
-                return false;
-            }).orElse(false);
+        ItemStack result = getSmeltingResult(handler.getStackInSlot(slot));
+        if (!result.isEmpty()) {
+            ItemStack remainder = ItemHandlerHelper.insertItem(handler, result.copy(), true);
+            if (remainder.isEmpty()) {
+                handler.extractItem(slot, 1, false);
+                ItemHandlerHelper.insertItem(handler, result.copy(), false);
+                return true;
+            }
         }
         return false;
     }
@@ -201,20 +213,17 @@ public class EntityHeatFrame extends EntitySemiblockBase {
         if (coolingProgress < 100) {
             int progress = Math.max(0, ((int) logic.getTemperature() - 243) / 30);
             progress = 6 - Math.min(5, progress);
+            batchSize = getBatchSize(273 - (int) logic.getTemperature());
             logic.addHeat(progress);
             coolingProgress += progress;
             newStatus = COOLING;
         }
         if (coolingProgress >= 100) {
             IOHelper.getInventoryForTE(getCachedTileEntity()).ifPresent(handler -> {
-                if (!tryCoolSlot(handler, lastValidSlot)) {
-                    for (int i = 0; i < handler.getSlots(); i++) {
-                        if (tryCoolSlot(handler, i)) {
-                            coolingProgress -= 100;
-                            break;
-                        }
-                    }
-                } else {
+                int processed = processSlots(handler, batchSize, COOLING);
+                if (processed > 0) {
+                    // progress paid for the first item; any others in the batch are paid for now
+                    logic.addHeat((processed - 1) * 100);
                     coolingProgress -= 100;
                 }
             });
@@ -226,7 +235,7 @@ public class EntityHeatFrame extends EntitySemiblockBase {
         ItemStack stack = handler.getStackInSlot(slot);
         if (stack.isEmpty()) return false;
 
-        HeatFrameCoolingRecipe recipe = PneumaticCraftRecipeType.HEAT_FRAME_COOLING.findFirst(world, r -> r.matches(stack));
+        HeatFrameCoolingRecipe recipe = getCoolingRecipe(stack);
 
         if (recipe != null) {
             boolean extractedOK;
@@ -248,7 +257,6 @@ public class EntityHeatFrame extends EntitySemiblockBase {
             if (extractedOK) {
                 ItemStack result = ItemHandlerHelper.copyStackWithSize(recipe.getOutput(), recipe.calculateOutputQuantity(logic.getTemperature()));
                 ItemHandlerHelper.insertItem(handler, result, false);
-                lastValidSlot = slot;
                 return true;
             }
             return extractedOK;
@@ -256,6 +264,93 @@ public class EntityHeatFrame extends EntitySemiblockBase {
         return false;
     }
 
+    /**
+     * Get the number of items to process in one step, given how far beyond the full-speed temperature this frame is.
+     *
+     * @param excessTemp degrees beyond the full-speed temperature (hotter for cooking, colder for cooling)
+     * @return the batch size, always at least 1
+     */
+    private static int getBatchSize(int excessTemp) {
+        return MathHelper.clamp(1 + excessTemp / 150, 1, PNCConfig.Common.Machines.heatFrameMaxBatchSize);
+    }
+
+    /**
+     * Cook or cool up to the given number of items in the attached inventory.  Slots known to hold processable items
+     * are tried first; the whole inventory is only rescanned when none of those are left, and no more than once a
+     * second while there's nothing to do.
+     *
+     * @param handler the attached inventory
+     * @param count max number of items to process
+     * @param mode COOKING or COOLING
+     * @return the number of items actually processed
+     */
+    private int processSlots(IItemHandler handler, int count, byte mode) {
+        if (indexedMode != mode) {
+            slotIndex.clear();
+            indexedMode = mode;
+            rescanCooldown = 0;
+        }
+
+        int processed = 0;
+        boolean rescanned = false;
+        while (processed < count) {
+            if (slotIndex.isEmpty()) {
+                if (rescanned || rescanCooldown > 0) break;
+                for (int i = 0; i < handler.getSlots(); i++) {
+                    ItemStack stack = handler.getStackInSlot(i);
+                    if (mode == COOKING ? !getSmeltingResult(stack).isEmpty() : getCoolingRecipe(stack) != null) {
+                        slotIndex.add(i);
+                    }
+                }
+                rescanned = true;
+            } else {
+                int slot = slotIndex.getInt(0);
+                if (slot < handler.getSlots() && (mode == COOKING ? tryCookSlot(handler, slot) : tryCoolSlot(handler, slot))) {
+                    processed++;
+                } else {
+                    slotIndex.removeInt(0);
+                }
+            }
+        }
+        if (processed == 0) rescanCooldown = RESCAN_INTERVAL;
+        return processed;
+    }
+
+    private ItemStack getSmeltingResult(ItemStack stack) {
+        if (stack.isEmpty()) return ItemStack.EMPTY;
+        // stacks with NBT might match NBT-sensitive recipes, so they can't be cached by item
+        return stack.hasTag() ?
+                findSmeltingResult(stack) :
+                SMELTING_RESULTS.computeIfAbsent(stack.getItem(), k -> findSmeltingResult(stack));
+    }
+
+    private ItemStack findSmeltingResult(ItemStack stack) {
+        Inventory inv = new Inventory(1);
+        inv.setInventorySlotContents(0, stack);
+        return world.getRecipeManager().getRecipe(IRecipeType.SMELTING, inv, world)
+                .map(IRecipe::getRecipeOutput)
+                .orElse(ItemStack.EMPTY);
+    }
+
+    private HeatFrameCoolingRecipe getCoolingRecipe(ItemStack stack) {
+        if (stack.isEmpty()) return null;
+        return stack.hasTag() ?
+                findCoolingRecipe(stack) :
+                COOLING_RECIPES.computeIfAbsent(stack.getItem(), k -> Optional.ofNullable(findCoolingRecipe(stack))).orElse(null);
+    }
+
+    private HeatFrameCoolingRecipe findCoolingRecipe(ItemStack stack) {
+        return PneumaticCraftRecipeType.HEAT_FRAME_COOLING.findFirst(world, r -> r.matches(stack));
+    }
+
+    /**
+     * Called on recipe reload.
+     */
+    public static void clearCachedRecipes() {
+        SMELTING_RESULTS.clear();
+        COOLING_RECIPES.clear();
+    }
+
     @Override
     protected void readAdditional(CompoundNBT tag) {
         super.readAdditional(tag);
@@ -233,6 +233,12 @@ public abstract class EntityLogisticsFrame extends EntitySemiblockBase implement
         this.matchModId = matchModId;
     }
 
+    @Override
+    protected boolean hasServerTickWork() {
+        // incoming stacks & fluids need to be aged out
+        return !incomingStacks.isEmpty() || !incomingFluid.isEmpty();
+    }
+
     @Override
     public void tick() {
         super.tick();
@@ -270,6 +276,7 @@ public abstract class EntityLogisticsFrame extends EntitySemiblockBase implement
 
     public void informIncomingStack(ItemStack stack) {
         incomingStacks.put(stack, 0);
+        updateTickingState();
     }
 
     public void clearIncomingStack(ItemStack stack) {
@@ -278,6 +285,7 @@ public abstract class EntityLogisticsFrame extends EntitySemiblockBase implement
 
     public void informIncomingStack(FluidStack stack) {
         incomingFluid.put(stack, 0);
+        updateTickingState();
     }
 
     public void clearIncomingStack(FluidStack stack) {
@@ -111,6 +111,11 @@ public class EntityLogisticsRequester extends EntityLogisticsFrame implements IS
         return false;
     }
 
+    @Override
+    protected boolean hasServerTickWork() {
+        return super.hasServerTickWork() || AE2Integration.isAvailable();
+    }
+
     @Override
     public void tick() {
         super.tick();
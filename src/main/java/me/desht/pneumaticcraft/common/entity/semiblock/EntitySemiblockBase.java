@@ -103,6 +103,20 @@ public abstract class EntitySemiblockBase extends Entity implements ISemiBlock,
             this.setDamageTaken(this.getDamageTaken() - 1.0F);
         }
 
+        checkBlock();
+
+        updateTickingState();
+    }
+
+    /**
+     * Called by {@link SemiblockTracker} when the block at this semiblock's position changes.  This is how semiblocks
+     * which aren't being ticked notice that they're no longer valid.
+     */
+    public void onBlockChanged() {
+        checkBlock();
+    }
+
+    private void checkBlock() {
         if (!world.isRemote && isAlive() && !canStay()) {
             remove();
         }
@@ -115,6 +129,37 @@ public abstract class EntitySemiblockBase extends Entity implements ISemiBlock,
         }
     }
 
+    /**
+     * Check if this semiblock has any server-side work to do every tick.  Semiblocks which don't are passive: they
+     * aren't ticked on the server at all, and rely on block change notifications to check they're still valid.
+     * Subclasses which return false here, but sometimes have work to do, must call {@link #updateTickingState()}
+     * when that changes.
+     *
+     * @return true if this semiblock needs to tick on the server
+     */
+    protected boolean hasServerTickWork() {
+        return false;
+    }
+
+    /**
+     * Start or stop server-side ticking of this semiblock, according to whether it currently has anything to do.
+     */
+    protected final void updateTickingState() {
+        if (world != null && !world.isRemote) {
+            boolean tick = ticksExisted < 2 || getTimeSinceHit() > 0 || getDamageTaken() > 0 || hasServerTickWork();
+            if (tick != canUpdate()) canUpdate(tick);
+        }
+    }
+
+    /**
+     * Check if this semiblock is passive, i.e. not currently being ticked on the server.
+     *
+     * @return true if passive
+     */
+    public boolean isPassive() {
+        return !canUpdate();
+    }
+
     @Override
     public ActionResultType applyPlayerInteraction(PlayerEntity player, Vector3d hitVec, Hand hand) {
         Vector3d eye = player.getEyePosition(0f);
@@ -300,6 +345,9 @@ public abstract class EntitySemiblockBase extends Entity implements ISemiBlock,
         super.onAddedToWorld();
 
         if (!world.isRemote) {
+            // Forge saves the CanUpdate flag, so a semiblock saved while passive would load passive, and never get
+            // the first ticks which set it up; it'll go passive again once those are done
+            canUpdate(true);
             Direction dir = this instanceof IDirectionalSemiblock ? ((IDirectionalSemiblock) this).getSide() : null;
             if (SemiblockTracker.getInstance().putSemiblock(world, blockPos, this)) {
                 MinecraftForge.EVENT_BUS.post(new SemiblockEvent.PlaceEvent(world, blockPos, this));
@@ -366,6 +414,9 @@ public abstract class EntitySemiblockBase extends Entity implements ISemiBlock,
             if (isCreative || this.getDamageTaken() > MAX_HEALTH) {
                 shouldDropItem = !isCreative;
                 remove();
+            } else {
+                // needs to tick while the damage wears off
+                updateTickingState();
             }
         }
         return true;
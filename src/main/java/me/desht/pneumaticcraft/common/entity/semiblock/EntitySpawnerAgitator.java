@@ -18,6 +18,11 @@ public class EntitySpawnerAgitator extends EntitySemiblockBase {
         return getBlockState().getBlock() == Blocks.SPAWNER;
     }
 
+    @Override
+    protected boolean hasServerTickWork() {
+        return true;
+    }
+
     @Override
     public void tick() {
         super.tick();
@@ -50,6 +50,11 @@ public class EntityTransferGadget extends EntitySemiblockBase implements IDirect
         getDataManager().register(SIDE, Direction.UP.getIndex());
     }
 
+    @Override
+    protected boolean hasServerTickWork() {
+        return true;
+    }
+
     @Override
     public void tick() {
         super.tick();
@@ -7,8 +7,6 @@ import me.desht.pneumaticcraft.common.config.subconfig.AmadronPlayerOffers;
 import me.desht.pneumaticcraft.common.entity.living.EntityAmadrone;
 import me.desht.pneumaticcraft.common.entity.living.EntityAmadrone.AmadronAction;
 import me.desht.pneumaticcraft.common.item.ItemAmadronTablet;
-import me.desht.pneumaticcraft.common.network.NetworkHandler;
-import me.desht.pneumaticcraft.common.network.PacketAmadronStockUpdate;
 import me.desht.pneumaticcraft.common.recipes.amadron.AmadronOffer;
 import me.desht.pneumaticcraft.common.recipes.amadron.AmadronOfferManager;
 import me.desht.pneumaticcraft.common.recipes.amadron.AmadronPlayerOffer;
@@ -61,7 +59,7 @@ public class EventHandlerAmadron {
             // restore stock to previous level (we reduced stock in ContainerAmadron#retrieveOrderItems())
             offer.addStock(drone.getOfferTimes());
             if (offer instanceof AmadronPlayerOffer) AmadronPlayerOffers.save();
-            NetworkHandler.sendNonLocal(new PacketAmadronStockUpdate(offer.getId(), offer.getStock()));
+            AmadronOfferManager.getInstance().queueStockUpdate(offer);
         }
     }
 
@@ -85,7 +83,7 @@ public class EventHandlerAmadron {
             } else if (drone.getAmadronAction() == AmadronAction.RESTOCKING) {
                 // Drone is restocking Amadron - add stock
                 playerOffer.addStock(drone.getOfferTimes());
-                NetworkHandler.sendNonLocal(new PacketAmadronStockUpdate(playerOffer.getId(), playerOffer.getStock()));
+                AmadronOfferManager.getInstance().queueStockUpdate(playerOffer);
                 playerOffer.notifyRestock();
             }
             AmadronPlayerOffers.save();
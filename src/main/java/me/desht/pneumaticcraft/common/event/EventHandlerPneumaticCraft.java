@@ -10,6 +10,7 @@ import me.desht.pneumaticcraft.common.advancements.AdvancementTriggers;
 import me.desht.pneumaticcraft.common.ai.EntityAINoAIWhenRidingDrone;
 import me.desht.pneumaticcraft.common.ai.IDroneBase;
 import me.desht.pneumaticcraft.common.block.tubes.ModuleNetworkManager;
+import me.desht.pneumaticcraft.common.capabilities.CapabilityFluidDeposits;
 import me.desht.pneumaticcraft.common.capabilities.CapabilityHacking;
 import me.desht.pneumaticcraft.common.config.PNCConfig;
 import me.desht.pneumaticcraft.common.core.ModItems;
@@ -47,6 +48,7 @@ import net.minecraft.util.SoundEvents;
 import net.minecraft.util.math.BlockRayTraceResult;
 import net.minecraft.util.math.RayTraceResult;
 import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.event.AttachCapabilitiesEvent;
 import net.minecraftforge.event.LootTableLoadEvent;
@@ -60,6 +62,7 @@ import net.minecraftforge.event.entity.living.LivingEquipmentChangeEvent;
 import net.minecraftforge.event.entity.player.FillBucketEvent;
 import net.minecraftforge.event.entity.player.PlayerInteractEvent;
 import net.minecraftforge.event.furnace.FurnaceFuelBurnTimeEvent;
+import net.minecraftforge.event.world.BlockEvent;
 import net.minecraftforge.event.world.ExplosionEvent;
 import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.eventbus.api.EventPriority;
@@ -141,6 +144,22 @@ public class EventHandlerPneumaticCraft {
         event.addCapability(RL("hacking"), new CapabilityHacking.Provider());
     }
 
+    @SubscribeEvent
+    public void onChunkCapabilities(AttachCapabilitiesEvent<Chunk> event) {
+        if (!event.getObject().getWorld().isRemote) {
+            event.addCapability(RL("fluid_deposits"), new CapabilityFluidDeposits.Provider());
+        }
+    }
+
+    @SubscribeEvent
+    public void onBlockChanged(BlockEvent.NeighborNotifyEvent event) {
+        if (event.getWorld() instanceof World && !event.getWorld().isRemote()) {
+            Chunk chunk = ((World) event.getWorld()).getChunkAt(event.getPos());
+            chunk.getCapability(CapabilityFluidDeposits.FLUID_DEPOSITS_CAPABILITY)
+                    .ifPresent(index -> index.onBlockChanged(event.getPos(), event.getState()));
+        }
+    }
+
     @SubscribeEvent(priority = EventPriority.LOWEST)
     public void onEnderTeleport(EnderTeleportEvent event) {
         Entity e = event.getEntity();
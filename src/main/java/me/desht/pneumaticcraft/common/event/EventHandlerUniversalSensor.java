@@ -1,6 +1,6 @@
 package me.desht.pneumaticcraft.common.event;
 
-import me.desht.pneumaticcraft.common.tileentity.TileEntityUniversalSensor;
+import me.desht.pneumaticcraft.common.core.ModTileEntities;
 import me.desht.pneumaticcraft.common.util.GlobalTileEntityCacheManager;
 import net.minecraft.world.World;
 import net.minecraftforge.event.entity.player.AttackEntityEvent;
@@ -27,9 +27,8 @@ public class EventHandlerUniversalSensor {
 
     private void sendEventToSensors(World world, Event event) {
         if (!world.isRemote) {
-            for (TileEntityUniversalSensor sensor : GlobalTileEntityCacheManager.getInstance().universalSensors) {
-                sensor.onEvent(event);
-            }
+            GlobalTileEntityCacheManager.getInstance(world).getCache(ModTileEntities.UNIVERSAL_SENSOR.get()).stream(world)
+                    .forEach(sensor -> sensor.onEvent(event));
         }
     }
 }
@@ -2,6 +2,7 @@ package me.desht.pneumaticcraft.common.event;
 
 import me.desht.pneumaticcraft.common.ai.DroneClaimManager;
 import me.desht.pneumaticcraft.common.config.PNCConfig;
+import me.desht.pneumaticcraft.common.debug.TickProfiler;
 import me.desht.pneumaticcraft.common.network.NetworkHandler;
 import me.desht.pneumaticcraft.common.network.PacketServerTickTime;
 import me.desht.pneumaticcraft.common.recipes.amadron.AmadronOfferManager;
@@ -39,6 +40,8 @@ public class TickHandlerPneumaticCraft {
             if (ticks % 600 == 0) {
                 AmadronOfferManager.getInstance().tryRestockPlayerOffers();
             }
+            AmadronOfferManager.getInstance().flushStockUpdates();
+            TickProfiler.onServerTick();
         }
     }
 }
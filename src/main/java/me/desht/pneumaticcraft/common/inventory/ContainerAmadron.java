@@ -358,7 +358,7 @@ public class ContainerAmadron extends ContainerPneumaticBase<TileEntityBase> {
         if (!isAmadronRestock && (offer instanceof AmadronPlayerOffer || offer.getMaxStock() >= 0)) {
             offer.addStock(-times);
             if (offer instanceof AmadronPlayerOffer) AmadronPlayerOffers.save();
-            NetworkHandler.sendNonLocal(new PacketAmadronStockUpdate(offer.getId(), offer.getStock()));
+            AmadronOfferManager.getInstance().queueStockUpdate(offer);
         }
     }
 
@@ -4,6 +4,7 @@ import me.desht.pneumaticcraft.common.network.*;
 import me.desht.pneumaticcraft.common.pneumatic_armor.ArmorUpgradeRegistry;
 import me.desht.pneumaticcraft.common.tileentity.IGUIButtonSensitive;
 import me.desht.pneumaticcraft.common.tileentity.TileEntityBase;
+import me.desht.pneumaticcraft.common.tileentity.TileEntityTickableBase;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.entity.player.PlayerInventory;
 import net.minecraft.entity.player.ServerPlayerEntity;
@@ -342,6 +343,9 @@ public class ContainerPneumaticBase<T extends TileEntityBase> extends Container
     public void handleGUIButtonPress(String tag, boolean shiftHeld, ServerPlayerEntity player) {
         if (te != null) {
             te.handleGUIButtonPress(tag, shiftHeld, player);
+            if (te instanceof TileEntityTickableBase) {
+                ((TileEntityTickableBase) te).wakeFromSleep();
+            }
         }
     }
 }
@@ -3,7 +3,7 @@ package me.desht.pneumaticcraft.common.inventory;
 import me.desht.pneumaticcraft.common.core.ModContainers;
 import me.desht.pneumaticcraft.common.core.ModItems;
 import me.desht.pneumaticcraft.common.network.NetworkHandler;
-import me.desht.pneumaticcraft.common.network.PacketSetGlobalVariable;
+import me.desht.pneumaticcraft.common.network.PacketSyncGlobalVariables;
 import me.desht.pneumaticcraft.common.tileentity.TileEntityBase;
 import me.desht.pneumaticcraft.common.variables.GlobalVariableManager;
 import me.desht.pneumaticcraft.common.variables.TextVariableParser;
@@ -20,14 +20,14 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraftforge.common.util.Constants;
 
 import javax.annotation.Nonnull;
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
+import java.util.*;
+import java.util.function.Consumer;
 
 public class ContainerRemote extends ContainerPneumaticBase<TileEntityBase> {
     private final List<String> syncedVars;
-    private final BlockPos[] lastValues;
+    private List<GlobalVariableManager.GlobalVariable> subscribedVars;  // server-side only
+    private final Set<GlobalVariableManager.GlobalVariable> changedVars = new HashSet<>();
+    private final Consumer<GlobalVariableManager.GlobalVariable> variableListener = changedVars::add;
     private final Hand hand;
     public String[] variables = new String[0];
 
@@ -36,7 +36,6 @@ public class ContainerRemote extends ContainerPneumaticBase<TileEntityBase> {
 
         this.hand = hand;
         syncedVars = new ArrayList<>(getRelevantVariableNames(playerInventory.player.getHeldItem(hand)));
-        lastValues = new BlockPos[syncedVars.size()];
     }
 
     private ContainerRemote(ContainerType<ContainerRemote> type, int windowId, PlayerInventory playerInventory, PacketBuffer buffer) {
@@ -76,18 +75,38 @@ public class ContainerRemote extends ContainerPneumaticBase<TileEntityBase> {
     public void detectAndSendChanges() {
         super.detectAndSendChanges();
 
-        for (int i = 0; i < lastValues.length; i++) {
-            String varName = syncedVars.get(i);
-            if (varName.startsWith("#")) varName = varName.substring(1);
-            BlockPos newValue = GlobalVariableManager.getInstance().getPos(varName);
-            if (!newValue.equals(lastValues[i])) {
-                lastValues[i] = newValue;
-                for (Object o : listeners) {
-                    if (o instanceof ServerPlayerEntity)
-                        NetworkHandler.sendToPlayer(new PacketSetGlobalVariable(varName, newValue), (ServerPlayerEntity) o);
-                }
+        if (subscribedVars == null) {
+            // server-side, first tick: send everything, then only send changes as we're notified of them
+            subscribedVars = new ArrayList<>();
+            for (String varName : syncedVars) {
+                if (varName.startsWith("#")) varName = varName.substring(1);
+                GlobalVariableManager.GlobalVariable var = GlobalVariableManager.getInstance().getVariable(varName);
+                var.addListener(variableListener);
+                subscribedVars.add(var);
+                changedVars.add(var);
             }
         }
+
+        if (!changedVars.isEmpty()) {
+            Map<String, BlockPos> values = new HashMap<>();
+            changedVars.forEach(var -> values.put(var.getName(), var.getPos()));
+            changedVars.clear();
+            PacketSyncGlobalVariables packet = new PacketSyncGlobalVariables(values);
+            for (Object o : listeners) {
+                if (o instanceof ServerPlayerEntity)
+                    NetworkHandler.sendToPlayer(packet, (ServerPlayerEntity) o);
+            }
+        }
+    }
+
+    @Override
+    public void onContainerClosed(PlayerEntity player) {
+        super.onContainerClosed(player);
+
+        if (subscribedVars != null) {
+            subscribedVars.forEach(var -> var.removeListener(variableListener));
+            subscribedVars = null;
+        }
     }
 
     @Override
@@ -4,6 +4,7 @@ import me.desht.pneumaticcraft.api.item.IPositionProvider;
 import me.desht.pneumaticcraft.common.core.ModItems;
 import me.desht.pneumaticcraft.common.core.ModSounds;
 import me.desht.pneumaticcraft.common.inventory.ContainerAmadron;
+import me.desht.pneumaticcraft.common.recipes.amadron.AmadronOfferManager;
 import me.desht.pneumaticcraft.common.util.DirectionUtil;
 import me.desht.pneumaticcraft.common.util.GlobalPosHelper;
 import me.desht.pneumaticcraft.common.util.IOHelper;
@@ -179,6 +180,8 @@ public class ItemAmadronTablet extends ItemPressurizable implements IPositionPro
     }
 
     public static void openGui(PlayerEntity playerIn, Hand handIn) {
+        // bring the player's offer list up to date first; the client container copies it when opened
+        AmadronOfferManager.getInstance().syncOffersTo((ServerPlayerEntity) playerIn);
         NetworkHooks.openGui((ServerPlayerEntity) playerIn, new INamedContainerProvider() {
             @Override
             public ITextComponent getDisplayName() {
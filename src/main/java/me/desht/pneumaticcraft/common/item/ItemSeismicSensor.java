@@ -1,9 +1,11 @@
 package me.desht.pneumaticcraft.common.item;
 
 import com.google.common.collect.Sets;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import me.desht.pneumaticcraft.common.capabilities.FluidDepositIndex;
 import me.desht.pneumaticcraft.common.config.PNCConfig;
 import me.desht.pneumaticcraft.common.core.ModItems;
-import me.desht.pneumaticcraft.common.util.PneumaticCraftUtils;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.fluid.Fluid;
 import net.minecraft.fluid.FluidState;
@@ -14,6 +16,7 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.text.TextFormatting;
 import net.minecraft.util.text.TranslationTextComponent;
 import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
 import net.minecraftforge.registries.ForgeRegistries;
 
 import java.util.ArrayDeque;
@@ -21,10 +24,13 @@ import java.util.Deque;
 import java.util.HashSet;
 import java.util.Set;
 
+import static me.desht.pneumaticcraft.common.capabilities.CapabilityFluidDeposits.FLUID_DEPOSITS_CAPABILITY;
+
 public class ItemSeismicSensor extends Item {
     private static final int MAX_SEARCH = 500;
 
-    private static final Set<ResourceLocation> fluidsOfInterest = new HashSet<>();
+    private static final Set<Fluid> fluidsOfInterest = new HashSet<>();
+    private static int fluidsOfInterestKey;
     private static boolean needRecache = true;  // recache on first startup & when tags are reloaded
 
     public ItemSeismicSensor() {
@@ -36,47 +42,70 @@ public class ItemSeismicSensor extends Item {
         World world = ctx.getWorld();
         PlayerEntity player = ctx.getPlayer();
         if (!world.isRemote && player != null) {
-            BlockPos.Mutable searchPos = ctx.getPos().toMutable();
-            while (searchPos.getY() > PneumaticCraftUtils.getMinHeight(world)) {
-                searchPos.move(Direction.DOWN);
-                Fluid fluid = findFluid(world, searchPos);
-                if (fluid != null) {
-                    Set<BlockPos> fluidPositions = findLake(world, searchPos.toImmutable(), fluid);
-                    int count = Math.max(1, fluidPositions.size() / 10 * 10);
-                    player.sendStatusMessage(new TranslationTextComponent(
-                            "pneumaticcraft.message.seismicSensor.foundOilDetails",
-                            new TranslationTextComponent(fluid.getAttributes().getTranslationKey()),
-                            TextFormatting.GREEN.toString() + (ctx.getPos().getY() - searchPos.getY()),
-                            TextFormatting.GREEN.toString() + count),
-                            false);
-                    world.playSound(null, ctx.getPos(), SoundEvents.BLOCK_NOTE_BLOCK_CHIME, SoundCategory.PLAYERS, 1f, 1f);
-                    return ActionResultType.SUCCESS;
+            Chunk chunk = world.getChunkAt(ctx.getPos());
+            FluidDepositIndex.Survey survey = chunk.getCapability(FLUID_DEPOSITS_CAPABILITY)
+                    .map(index -> index.findDepositBelow(chunk, ctx.getPos()))
+                    .orElse(null);
+            if (survey != null) {
+                FluidDepositIndex.Deposit deposit = survey.getDeposit();
+                if (deposit.getSize() < 0) {
+                    deposit.setSize(findLake(world, survey.getPos(), deposit.getFluid()));
                 }
+                chunk.markDirty();
+                int count = Math.max(1, deposit.getSize() / 10 * 10);
+                player.sendStatusMessage(new TranslationTextComponent(
+                        "pneumaticcraft.message.seismicSensor.foundOilDetails",
+                        new TranslationTextComponent(deposit.getFluid().getAttributes().getTranslationKey()),
+                        TextFormatting.GREEN.toString() + (ctx.getPos().getY() - survey.getPos().getY()),
+                        TextFormatting.GREEN.toString() + count),
+                        false);
+                world.playSound(null, ctx.getPos(), SoundEvents.BLOCK_NOTE_BLOCK_CHIME, SoundCategory.PLAYERS, 1f, 1f);
+                return ActionResultType.SUCCESS;
             }
             player.sendStatusMessage(new TranslationTextComponent("pneumaticcraft.message.seismicSensor.noOilFound"), false);
         }
         return ActionResultType.SUCCESS; // we don't want to use the item.
     }
 
-    private Fluid findFluid(World world, BlockPos pos) {
+    /**
+     * Check if the Seismic Sensor is interested in the given fluid, i.e. it matches the configured fluids or fluid tags.
+     *
+     * @param fluid the fluid
+     * @return true if the fluid is of interest
+     */
+    public static boolean isFluidOfInterest(Fluid fluid) {
+        cacheFluidsOfInterest();
+        return fluidsOfInterest.contains(fluid);
+    }
+
+    /**
+     * Get a key identifying the current set of fluids of interest, which changes when that set changes.
+     *
+     * @return the key
+     */
+    public static int getFluidsOfInterestKey() {
+        cacheFluidsOfInterest();
+        return fluidsOfInterestKey;
+    }
+
+    private static void cacheFluidsOfInterest() {
         if (needRecache) {
             fluidsOfInterest.clear();
+            int key = 0;
             for (Fluid f : ForgeRegistries.FLUIDS.getValues()) {
-                if (!Sets.intersection(f.getTags(), PNCConfig.Common.Machines.seismicSensorFluidTags).isEmpty()) {
-                    fluidsOfInterest.add(f.getRegistryName());
-                } else if (PNCConfig.Common.Machines.seismicSensorFluids.contains(f.getRegistryName())) {
-                    fluidsOfInterest.add(f.getRegistryName());
+                if (!Sets.intersection(f.getTags(), PNCConfig.Common.Machines.seismicSensorFluidTags).isEmpty()
+                        || PNCConfig.Common.Machines.seismicSensorFluids.contains(f.getRegistryName())) {
+                    fluidsOfInterest.add(f);
+                    key += f.getRegistryName().hashCode();
                 }
             }
+            fluidsOfInterestKey = key;
             needRecache = false;
         }
-
-        FluidState state = world.getFluidState(pos);
-        return fluidsOfInterest.contains(state.getFluid().getRegistryName()) ? state.getFluid() : null;
     }
 
-    private Set<BlockPos> findLake(World world, BlockPos searchPos, Fluid fluid) {
-        Set<BlockPos> fluidPositions = new HashSet<>();
+    private int findLake(World world, BlockPos searchPos, Fluid fluid) {
+        LongSet fluidPositions = new LongOpenHashSet();
         Deque<BlockPos> pendingPositions = new ArrayDeque<>();
         pendingPositions.add(searchPos);
         while (!pendingPositions.isEmpty() && fluidPositions.size() < MAX_SEARCH) {
@@ -85,13 +114,13 @@ public class ItemSeismicSensor extends Item {
                 if (d != Direction.UP) {
                     BlockPos newPos = checkingPos.offset(d);
                     FluidState state = world.getFluidState(newPos);
-                    if (state.getFluid() == fluid && state.isSource() && fluidPositions.add(newPos)) {
+                    if (state.getFluid() == fluid && state.isSource() && fluidPositions.add(newPos.toLong())) {
                         pendingPositions.add(newPos);
                     }
                 }
             }
         }
-        return fluidPositions;
+        return fluidPositions.size();
     }
 
     public static void clearCachedFluids() {
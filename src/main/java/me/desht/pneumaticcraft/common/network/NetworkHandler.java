@@ -100,12 +100,14 @@ public class NetworkHandler {
 				PacketUpdateRemoteLayout::toBytes, PacketUpdateRemoteLayout::new, PacketUpdateRemoteLayout::handle, PLAY_TO_SERVER);
 		registerMessage(PacketSetGlobalVariable.class,
 				PacketSetGlobalVariable::toBytes, PacketSetGlobalVariable::new, PacketSetGlobalVariable::handle);
+		registerMessage(PacketSyncGlobalVariables.class,
+				PacketSyncGlobalVariables::toBytes, PacketSyncGlobalVariables::new, PacketSyncGlobalVariables::handle, PLAY_TO_CLIENT);
 		registerMessage(PacketServerTickTime.class,
 				PacketServerTickTime::toBytes, PacketServerTickTime::new, PacketServerTickTime::handle, PLAY_TO_CLIENT);
 		registerMessage(PacketUpdatePressureBlock.class,
 				PacketUpdatePressureBlock::toBytes, PacketUpdatePressureBlock::new, PacketUpdatePressureBlock::handle, PLAY_TO_CLIENT);
 		registerMessage(PacketSyncAmadronOffers.class,
-				PacketSyncAmadronOffers::toBytes, PacketSyncAmadronOffers::new, PacketSyncAmadronOffers::handle, PLAY_TO_CLIENT);
+				PacketSyncAmadronOffers::toBytes, PacketSyncAmadronOffers::new, PacketSyncAmadronOffers::handle);
 		registerMessage(PacketAmadronOrderUpdate.class,
 				PacketAmadronOrderUpdate::toBytes, PacketAmadronOrderUpdate::new, PacketAmadronOrderUpdate::handle, PLAY_TO_SERVER);
 		registerMessage(PacketAmadronStockUpdate.class,
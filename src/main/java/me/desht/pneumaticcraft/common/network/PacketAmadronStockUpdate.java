@@ -5,35 +5,42 @@ import net.minecraft.network.PacketBuffer;
 import net.minecraft.util.ResourceLocation;
 import net.minecraftforge.fml.network.NetworkEvent;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.function.Supplier;
 
 /**
  * Received on: CLIENT
- * Sent by server when an order is purchased by someone, to update remaining stock levels as seen on clients.
+ * Sent by server to players who have an Amadron Tablet open, to update remaining stock levels of any offers which
+ * were purchased by someone in the last tick.
  */
 public class PacketAmadronStockUpdate {
-    private final ResourceLocation id;
-    private final int stock;
+    private final Map<ResourceLocation, Integer> stock;
 
-    public PacketAmadronStockUpdate(ResourceLocation id, int stock) {
-        this.id = id;
+    public PacketAmadronStockUpdate(Map<ResourceLocation, Integer> stock) {
         this.stock = stock;
     }
 
     public PacketAmadronStockUpdate(PacketBuffer buffer) {
-        this.id = buffer.readResourceLocation();
-        this.stock = buffer.readVarInt();
+        this.stock = new HashMap<>();
+        int n = buffer.readVarInt();
+        for (int i = 0; i < n; i++) {
+            stock.put(buffer.readResourceLocation(), buffer.readVarInt());
+        }
     }
 
     public void toBytes(PacketBuffer buf) {
-        buf.writeResourceLocation(id);
-        buf.writeVarInt(stock);
+        buf.writeVarInt(stock.size());
+        stock.forEach((id, amount) -> {
+            buf.writeResourceLocation(id);
+            buf.writeVarInt(amount);
+        });
     }
 
     public void handle(Supplier<NetworkEvent.Context> ctx) {
         ctx.get().enqueueWork(() -> {
             if (ctx.get().getSender() == null) {
-                AmadronOfferManager.getInstance().updateStock(id, stock);
+                stock.forEach((id, amount) -> AmadronOfferManager.getInstance().updateStock(id, amount));
             }
         });
         ctx.get().setPacketHandled(true);
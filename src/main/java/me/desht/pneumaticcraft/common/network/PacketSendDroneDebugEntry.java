@@ -5,30 +5,38 @@ import me.desht.pneumaticcraft.common.debug.DroneDebugEntry;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.network.PacketBuffer;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Received on: CLIENT
- * Sent by server to add a debug message to a debugged drone.
+ * Sent by server to add one or more debug messages to a debugged drone; messages added in the same tick are batched.
  */
 public class PacketSendDroneDebugEntry extends PacketDroneDebugBase {
-    private final DroneDebugEntry entry;
+    private final List<DroneDebugEntry> entries;
 
-    public PacketSendDroneDebugEntry(DroneDebugEntry entry, IDroneBase drone) {
+    public PacketSendDroneDebugEntry(List<DroneDebugEntry> entries, IDroneBase drone) {
         super(drone);
-        this.entry = entry;
+        this.entries = entries;
     }
 
     public PacketSendDroneDebugEntry(PacketBuffer buffer) {
         super(buffer);
-        entry = new DroneDebugEntry(buffer);
+        int n = buffer.readVarInt();
+        entries = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            entries.add(new DroneDebugEntry(buffer));
+        }
     }
 
     public void toBytes(PacketBuffer buf) {
         super.toBytes(buf);
-        entry.toBytes(buf);
+        buf.writeVarInt(entries.size());
+        entries.forEach(entry -> entry.toBytes(buf));
     }
 
     @Override
     void handle(PlayerEntity player, IDroneBase drone) {
-        drone.getDebugger().addEntry(entry);
+        entries.forEach(entry -> drone.getDebugger().addEntry(entry));
     }
 }
@@ -4,52 +4,120 @@ import me.desht.pneumaticcraft.common.recipes.amadron.AmadronOffer;
 import me.desht.pneumaticcraft.common.recipes.amadron.AmadronOfferManager;
 import me.desht.pneumaticcraft.common.recipes.amadron.AmadronPlayerOffer;
 import net.minecraft.network.PacketBuffer;
+import net.minecraft.util.ResourceLocation;
 import net.minecraftforge.fml.network.NetworkEvent;
 
-import java.util.ArrayList;
-import java.util.Collection;
+import java.util.*;
 import java.util.function.Supplier;
 
 /**
- * Received on: CLIENT
- * Sent by server to sync up current Amadron offer list when the offer list changes (due to a shuffle or reload),
- * or when a player logs in
+ * Received on: BOTH
+ * Sent by server to sync up the Amadron offer list when a player opens an Amadron Tablet: either the complete list,
+ * or just the offers which have changed since the version the player last received, along with current stock levels.
+ * Also sent by server (without any offers) to let clients know the offer list has changed.
+ * Sent by client (with its current offer version) to request a complete resync if a received change list doesn't
+ * match the client's offer version.
  */
 public class PacketSyncAmadronOffers {
-    private final Collection<AmadronOffer> activeOffers;
-    private final boolean notifyPlayer;
+    private enum Mode { FULL, DELTA, NOTIFY, REQUEST_FULL }
 
-    public PacketSyncAmadronOffers(boolean notifyPlayer) {
-        this.notifyPlayer = notifyPlayer;
-        this.activeOffers = AmadronOfferManager.getInstance().getActiveOffers();
+    private final Mode mode;
+    private final int fromVersion;
+    private final int toVersion;
+    private final Collection<ResourceLocation> removed;
+    private final Collection<AmadronOffer> offers;
+    private final Map<ResourceLocation, Integer> stock;
+
+    private PacketSyncAmadronOffers(Mode mode, int fromVersion, int toVersion, Collection<ResourceLocation> removed, Collection<AmadronOffer> offers, Map<ResourceLocation, Integer> stock) {
+        this.mode = mode;
+        this.fromVersion = fromVersion;
+        this.toVersion = toVersion;
+        this.removed = removed;
+        this.offers = offers;
+        this.stock = stock;
+    }
+
+    public static PacketSyncAmadronOffers fullSync(int version, Collection<AmadronOffer> offers, Map<ResourceLocation, Integer> stock) {
+        return new PacketSyncAmadronOffers(Mode.FULL, -1, version, Collections.emptyList(), offers, stock);
+    }
+
+    public static PacketSyncAmadronOffers deltaSync(int fromVersion, int toVersion, Collection<ResourceLocation> removed, Collection<AmadronOffer> changed, Map<ResourceLocation, Integer> stock) {
+        return new PacketSyncAmadronOffers(Mode.DELTA, fromVersion, toVersion, removed, changed, stock);
+    }
+
+    public static PacketSyncAmadronOffers notifyChanged() {
+        return new PacketSyncAmadronOffers(Mode.NOTIFY, -1, -1, Collections.emptyList(), Collections.emptyList(), Collections.emptyMap());
+    }
+
+    public static PacketSyncAmadronOffers requestFullSync(int clientVersion) {
+        return new PacketSyncAmadronOffers(Mode.REQUEST_FULL, clientVersion, -1, Collections.emptyList(), Collections.emptyList(), Collections.emptyMap());
     }
 
     public PacketSyncAmadronOffers(PacketBuffer buf) {
-        this.notifyPlayer = buf.readBoolean();
-        this.activeOffers = new ArrayList<>();
+        this.mode = buf.readEnumValue(Mode.class);
+        this.fromVersion = buf.readVarInt();
+        this.toVersion = buf.readVarInt();
+        this.removed = new ArrayList<>();
+        int removedCount = buf.readVarInt();
+        for (int i = 0; i < removedCount; i++) {
+            removed.add(buf.readResourceLocation());
+        }
+        this.offers = new ArrayList<>();
         int offerCount = buf.readVarInt();
         for (int i = 0; i < offerCount; i++) {
             if (buf.readBoolean()) {
-                activeOffers.add(AmadronPlayerOffer.playerOfferFromBuf(buf.readResourceLocation(), buf));
+                offers.add(AmadronPlayerOffer.playerOfferFromBuf(buf.readResourceLocation(), buf));
             } else {
-                activeOffers.add(AmadronOffer.offerFromBuf(buf.readResourceLocation(), buf));
+                offers.add(AmadronOffer.offerFromBuf(buf.readResourceLocation(), buf));
             }
         }
+        this.stock = new HashMap<>();
+        int stockCount = buf.readVarInt();
+        for (int i = 0; i < stockCount; i++) {
+            stock.put(buf.readResourceLocation(), buf.readVarInt());
+        }
     }
 
     public void toBytes(PacketBuffer buf) {
-        buf.writeBoolean(notifyPlayer);
-        buf.writeVarInt(activeOffers.size());
-        for (AmadronOffer offer : activeOffers) {
+        buf.writeEnumValue(mode);
+        buf.writeVarInt(fromVersion);
+        buf.writeVarInt(toVersion);
+        buf.writeVarInt(removed.size());
+        removed.forEach(buf::writeResourceLocation);
+        buf.writeVarInt(offers.size());
+        for (AmadronOffer offer : offers) {
             buf.writeBoolean(offer instanceof AmadronPlayerOffer);
             buf.writeResourceLocation(offer.getId());
             offer.write(buf);
         }
+        buf.writeVarInt(stock.size());
+        stock.forEach((id, amount) -> {
+            buf.writeResourceLocation(id);
+            buf.writeVarInt(amount);
+        });
     }
 
     public void handle(Supplier<NetworkEvent.Context> ctx) {
-        ctx.get().enqueueWork(() -> AmadronOfferManager.getInstance().syncOffers(activeOffers, notifyPlayer));
+        ctx.get().enqueueWork(() -> {
+            AmadronOfferManager manager = AmadronOfferManager.getInstance();
+            if (ctx.get().getSender() != null) {
+                if (mode == Mode.REQUEST_FULL) manager.requestFullSync(ctx.get().getSender(), fromVersion);
+                return;
+            }
+            switch (mode) {
+                case FULL:
+                    manager.applyFullSync(toVersion, offers, stock);
+                    break;
+                case DELTA:
+                    if (!manager.applyDeltaSync(fromVersion, toVersion, removed, offers, stock)) {
+                        NetworkHandler.sendToServer(requestFullSync(manager.getClientOfferVersion()));
+                    }
+                    break;
+                case NOTIFY:
+                    manager.notifyOffersChanged();
+                    break;
+            }
+        });
         ctx.get().setPacketHandled(true);
     }
-
 }
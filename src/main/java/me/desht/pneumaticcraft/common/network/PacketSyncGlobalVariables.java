@@ -0,0 +1,52 @@
+package me.desht.pneumaticcraft.common.network;
+
+import me.desht.pneumaticcraft.client.gui.GuiRemote;
+import me.desht.pneumaticcraft.client.render.area.AreaRenderManager;
+import me.desht.pneumaticcraft.common.variables.GlobalVariableManager;
+import net.minecraft.network.PacketBuffer;
+import net.minecraft.util.math.BlockPos;
+import net.minecraftforge.fml.network.NetworkEvent;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Received on: CLIENT
+ * Sent by server to players with a Remote open, with the values of all displayed global variables which changed in
+ * the last tick.
+ */
+public class PacketSyncGlobalVariables {
+    private final Map<String, BlockPos> values;
+
+    public PacketSyncGlobalVariables(Map<String, BlockPos> values) {
+        this.values = values;
+    }
+
+    public PacketSyncGlobalVariables(PacketBuffer buf) {
+        values = new HashMap<>();
+        int n = buf.readVarInt();
+        for (int i = 0; i < n; i++) {
+            values.put(buf.readString(GlobalVariableManager.MAX_VARIABLE_LEN), buf.readBlockPos());
+        }
+    }
+
+    public void toBytes(PacketBuffer buf) {
+        buf.writeVarInt(values.size());
+        values.forEach((varName, pos) -> {
+            buf.writeString(varName, GlobalVariableManager.MAX_VARIABLE_LEN);
+            buf.writeBlockPos(pos);
+        });
+    }
+
+    public void handle(Supplier<NetworkEvent.Context> ctx) {
+        ctx.get().enqueueWork(() -> {
+            values.forEach((varName, pos) -> {
+                GlobalVariableManager.getInstance().set(varName, pos);
+                GuiRemote.maybeHandleVariableChange(varName);
+            });
+            AreaRenderManager.getInstance().clearPosProviderCache();
+        });
+        ctx.get().setPacketHandled(true);
+    }
+}
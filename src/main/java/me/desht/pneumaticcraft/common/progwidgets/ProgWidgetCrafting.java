@@ -13,10 +13,12 @@ import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.inventory.CraftingInventory;
 import net.minecraft.inventory.container.Container;
 import net.minecraft.item.DyeColor;
+import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.item.crafting.ICraftingRecipe;
 import net.minecraft.item.crafting.IRecipe;
 import net.minecraft.item.crafting.IRecipeType;
+import net.minecraft.item.crafting.RecipeManager;
 import net.minecraft.nbt.CompoundNBT;
 import net.minecraft.network.PacketBuffer;
 import net.minecraft.util.Hand;
@@ -31,15 +33,19 @@ import net.minecraftforge.items.ItemHandlerHelper;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
+import java.util.Objects;
 
 import static me.desht.pneumaticcraft.common.util.PneumaticCraftUtils.xlate;
 
 public class ProgWidgetCrafting extends ProgWidget implements ICraftingWidget, ICountWidget, ISidedWidget {
     private static final boolean[] NO_SIDES = new boolean[6];
 
+    // bumped when recipes are reloaded, invalidating every widget's cached recipe
+    private static volatile int recipeGeneration;
+
     private boolean useCount;
     private int count;
+    private final RecipeCache recipeCache = new RecipeCache();
 
     public ProgWidgetCrafting() {
         super(ModProgWidgets.CRAFTING.get());
@@ -117,15 +123,22 @@ public class ProgWidgetCrafting extends ProgWidget implements ICraftingWidget, I
 
     public ItemStack getRecipeResult(World world) {
         CraftingInventory grid = getCraftingGrid();
-        Optional<ICraftingRecipe> recipe = world.getRecipeManager().getRecipe(IRecipeType.CRAFTING, grid, world);
-        return recipe.map(r -> r.getCraftingResult(grid)).orElse(ItemStack.EMPTY);
+        ICraftingRecipe recipe = recipeCache.getRecipe(world, grid);
+        return recipe == null ? ItemStack.EMPTY : recipe.getCraftingResult(grid);
     }
 
     private static IRecipe<CraftingInventory> getRecipe(World world, ICraftingWidget widget) {
         CraftingInventory grid = widget.getCraftingGrid();
+        if (widget instanceof ProgWidgetCrafting) {
+            return ((ProgWidgetCrafting) widget).recipeCache.getRecipe(world, grid);
+        }
         return world.getRecipeManager().getRecipe(IRecipeType.CRAFTING, grid, world).orElse(null);
     }
 
+    public static void clearCachedRecipes() {
+        recipeGeneration++;
+    }
+
     @Override
     public Goal getWidgetAI(IDroneBase drone, IProgWidget widget) {
         return new DroneAICrafting(drone, (ICraftingWidget) widget);
@@ -140,6 +153,42 @@ public class ProgWidgetCrafting extends ProgWidget implements ICraftingWidget, I
         return NO_SIDES;
     }
 
+    /**
+     * Remembers the crafting recipe last found for a widget's grid, so that a drone crafting in a loop, or the
+     * Programmer GUI rendering the widget, doesn't need to search every crafting recipe each time.  The cached
+     * recipe is reused while the grid holds the same items (and NBT), and the recipe still matches the grid.
+     */
+    private static class RecipeCache {
+        private final Item[] items = new Item[9];
+        private final CompoundNBT[] tags = new CompoundNBT[9];
+        private RecipeManager recipeManager;
+        private int generation = -1;
+        private ICraftingRecipe recipe;
+
+        ICraftingRecipe getRecipe(World world, CraftingInventory grid) {
+            if (generation != recipeGeneration || recipeManager != world.getRecipeManager()
+                    || !gridMatches(grid) || recipe != null && !recipe.matches(grid, world)) {
+                recipeManager = world.getRecipeManager();
+                generation = recipeGeneration;
+                recipe = recipeManager.getRecipe(IRecipeType.CRAFTING, grid, world).orElse(null);
+                for (int i = 0; i < items.length; i++) {
+                    ItemStack stack = grid.getStackInSlot(i);
+                    items[i] = stack.getItem();
+                    tags[i] = stack.getTag() == null ? null : stack.getTag().copy();
+                }
+            }
+            return recipe;
+        }
+
+        private boolean gridMatches(CraftingInventory grid) {
+            for (int i = 0; i < items.length; i++) {
+                ItemStack stack = grid.getStackInSlot(i);
+                if (stack.getItem() != items[i] || !Objects.equals(stack.getTag(), tags[i])) return false;
+            }
+            return true;
+        }
+    }
+
     public static class DroneAICrafting extends Goal {
         private final ICraftingWidget widget;
         private final IDroneBase drone;
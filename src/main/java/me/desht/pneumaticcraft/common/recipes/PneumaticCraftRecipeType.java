@@ -4,11 +4,13 @@ import me.desht.pneumaticcraft.api.crafting.PneumaticCraftRecipeTypes;
 import me.desht.pneumaticcraft.api.crafting.recipe.AssemblyRecipe;
 import me.desht.pneumaticcraft.api.crafting.recipe.PneumaticCraftRecipe;
 import me.desht.pneumaticcraft.client.util.ClientUtils;
+import me.desht.pneumaticcraft.common.entity.semiblock.EntityHeatFrame;
 import me.desht.pneumaticcraft.common.fluid.FuelRegistry;
 import me.desht.pneumaticcraft.common.heat.BlockHeatProperties;
 import me.desht.pneumaticcraft.common.item.ItemSeismicSensor;
 import me.desht.pneumaticcraft.common.network.NetworkHandler;
 import me.desht.pneumaticcraft.common.network.PacketClearRecipeCache;
+import me.desht.pneumaticcraft.common.progwidgets.ProgWidgetCrafting;
 import me.desht.pneumaticcraft.common.recipes.amadron.AmadronOffer;
 import me.desht.pneumaticcraft.common.recipes.amadron.AmadronOfferManager;
 import me.desht.pneumaticcraft.common.recipes.machine.*;
@@ -101,12 +103,14 @@ public class PneumaticCraftRecipeType<T extends PneumaticCraftRecipe> implements
         types.forEach(type -> type.cachedRecipes.clear());
 
         HeatFrameCoolingRecipeImpl.cacheMaxThresholdTemp(Collections.emptyList());  // clear the cached temp
+        EntityHeatFrame.clearCachedRecipes();
         TileEntityFluidMixer.clearCachedFluids();
         TileEntityPressureChamberInterface.clearCachedItems();
         TileEntityThermopneumaticProcessingPlant.clearCachedItemsAndFluids();
         AmadronOfferManager.getInstance().rebuildRequired();
         FuelRegistry.getInstance().clearCachedFuelFluids();
         ItemSeismicSensor.clearCachedFluids();
+        ProgWidgetCrafting.clearCachedRecipes();
         BlockHeatProperties.getInstance().clear();
     }
 
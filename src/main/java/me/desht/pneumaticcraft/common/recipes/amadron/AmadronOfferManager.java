@@ -8,6 +8,7 @@ import me.desht.pneumaticcraft.common.entity.living.EntityAmadrone;
 import me.desht.pneumaticcraft.common.inventory.ContainerAmadron;
 import me.desht.pneumaticcraft.common.item.ItemAmadronTablet;
 import me.desht.pneumaticcraft.common.network.NetworkHandler;
+import me.desht.pneumaticcraft.common.network.PacketAmadronStockUpdate;
 import me.desht.pneumaticcraft.common.network.PacketSyncAmadronOffers;
 import me.desht.pneumaticcraft.common.recipes.PneumaticCraftRecipeType;
 import me.desht.pneumaticcraft.common.util.IOHelper;
@@ -55,6 +56,24 @@ public enum AmadronOfferManager {
     // rebuild offers?  true initially and after a /reload
     private boolean rebuildRequired = true;
 
+    // Active offers are kept in a canonical order, so that clients (which may only receive changes) and the server
+    // agree on the index of each offer
+    private static final Comparator<AmadronOffer> OFFER_ORDER = Comparator.comparingInt(AmadronOfferManager::getOfferCategory)
+            .thenComparing(AmadronOffer::getId);
+    // number of recent active offer changes to remember, for syncing just the changes to clients
+    private static final int MAX_CHANGESETS = 16;
+    // minimum time (in ticks) between full resyncs requested by any one client
+    private static final int FULL_SYNC_REQUEST_COOLDOWN = 10;
+    // server-side: current version of the active offer list, and the version each player last received
+    private int offerVersion = 0;
+    private final Deque<OfferChangeset> changesets = new ArrayDeque<>();
+    private final Map<UUID, Integer> syncedVersions = new HashMap<>();
+    private final Map<UUID, Long> lastFullSyncRequests = new HashMap<>();
+    // server-side: offers whose stock changed this tick
+    private final Set<ResourceLocation> pendingStockUpdates = new HashSet<>();
+    // client-side: version of the offer list we last received
+    private int clientOfferVersion = -1;
+
     public static AmadronOfferManager getInstance() {
         return INSTANCE;
     }
@@ -77,21 +96,25 @@ public enum AmadronOfferManager {
         if (hasSimilarPlayerOffer(offer)) return false;
         if (offer.input.isEmpty() || offer.output.isEmpty()) return false;
 
+        Map<ResourceLocation, AmadronOffer> prevOffers = new HashMap<>(activeOffers);
         getPlayerOffers().put(offer.getId(), offer);
         addOffer(activeOffers, offer);
         addOffer(allOffers, offer);
         addOffer(allOffers, offer.getReversedOffer());
-        NetworkHandler.sendNonLocal(new PacketSyncAmadronOffers(true));
+        onActiveOffersChanged(prevOffers);
+        NetworkHandler.sendNonLocal(PacketSyncAmadronOffers.notifyChanged());
         saveAll();
         return true;
     }
 
     public boolean removePlayerOffer(AmadronPlayerOffer offer) {
         if (getPlayerOffers().remove(offer.getId()) != null) {
+            Map<ResourceLocation, AmadronOffer> prevOffers = new HashMap<>(activeOffers);
             activeOffers.remove(offer.getId());
             allOffers.remove(offer.getId());
             allOffers.remove(AmadronPlayerOffer.getReversedId(offer.getId()));
-            NetworkHandler.sendNonLocal(new PacketSyncAmadronOffers(true));
+            onActiveOffersChanged(prevOffers);
+            NetworkHandler.sendNonLocal(PacketSyncAmadronOffers.notifyChanged());
             saveAll();
             return true;
         } else {
@@ -113,16 +136,197 @@ public enum AmadronOfferManager {
     }
 
     /**
-     * Called client-side (from PacketSyncAmadronOffers) to sync up the active offer list.
+     * Called server-side when a player opens an Amadron tablet, to bring their copy of the active offer list up to
+     * date. Only the offers changed since the player's last sync are sent, if possible, along with current stock
+     * levels.
+     *
+     * @param player the player
+     */
+    public void syncOffersTo(ServerPlayerEntity player) {
+        if (player.server.isServerOwner(player.getGameProfile())) return;  // local player shares our offer list
+
+        Integer knownVersion = syncedVersions.get(player.getUniqueID());
+        PacketSyncAmadronOffers packet = knownVersion == null ? null : makeDeltaSync(knownVersion);
+        if (packet == null) {
+            packet = PacketSyncAmadronOffers.fullSync(offerVersion, activeOffers.values(), getStockLevels(activeOffers.keySet()));
+        }
+        syncedVersions.put(player.getUniqueID(), offerVersion);
+        NetworkHandler.sendToPlayer(packet, player);
+    }
+
+    /**
+     * Called server-side (from PacketSyncAmadronOffers) when a client couldn't apply a change list.  Requests from a
+     * client which is already up to date, or which asked very recently, are ignored.  If the player has a tablet
+     * open, it's reopened, since its offer list was copied from the client's stale list.
+     *
+     * @param player the player
+     * @param clientVersion the offer list version the client currently has
+     */
+    public void requestFullSync(ServerPlayerEntity player, int clientVersion) {
+        UUID id = player.getUniqueID();
+        if (clientVersion == offerVersion && Objects.equals(syncedVersions.get(id), offerVersion)) return;
+        long now = player.getServerWorld().getGameTime();
+        Long lastRequest = lastFullSyncRequests.get(id);
+        if (lastRequest != null && now - lastRequest < FULL_SYNC_REQUEST_COOLDOWN) return;
+        lastFullSyncRequests.put(id, now);
+
+        syncedVersions.remove(id);
+        if (player.openContainer instanceof ContainerAmadron) {
+            ItemAmadronTablet.openGui(player, ((ContainerAmadron) player.openContainer).getHand());
+        } else {
+            syncOffersTo(player);
+        }
+    }
+
+    private PacketSyncAmadronOffers makeDeltaSync(int knownVersion) {
+        if (knownVersion > offerVersion) return null;
+        if (knownVersion < offerVersion && (changesets.isEmpty() || changesets.peekFirst().version > knownVersion + 1)) {
+            return null;  // too old, we no longer have all the changes since then
+        }
+        Set<ResourceLocation> changed = new HashSet<>();
+        Set<ResourceLocation> removed = new HashSet<>();
+        for (OfferChangeset changeset : changesets) {
+            if (changeset.version > knownVersion) {
+                changeset.removed.forEach(id -> { changed.remove(id); removed.add(id); });
+                changeset.changed.forEach(id -> { removed.remove(id); changed.add(id); });
+            }
+        }
+        List<AmadronOffer> changedOffers = new ArrayList<>();
+        for (ResourceLocation id : changed) {
+            AmadronOffer offer = activeOffers.get(id);
+            if (offer != null) changedOffers.add(offer);
+        }
+        return PacketSyncAmadronOffers.deltaSync(knownVersion, offerVersion, removed, changedOffers, getStockLevels(activeOffers.keySet()));
+    }
+
+    private void onActiveOffersChanged(Map<ResourceLocation, AmadronOffer> prevOffers) {
+        List<AmadronOffer> sorted = new ArrayList<>(activeOffers.values());
+        sorted.sort(OFFER_ORDER);
+        activeOffers.clear();
+        sorted.forEach(offer -> addOffer(activeOffers, offer));
+
+        OfferChangeset changeset = new OfferChangeset(++offerVersion);
+        activeOffers.forEach((id, offer) -> {
+            if (prevOffers.get(id) != offer) changeset.changed.add(id);
+        });
+        prevOffers.keySet().forEach(id -> {
+            if (!activeOffers.containsKey(id)) changeset.removed.add(id);
+        });
+        changesets.addLast(changeset);
+        while (changesets.size() > MAX_CHANGESETS) {
+            changesets.removeFirst();
+        }
+    }
+
+    private Map<ResourceLocation, Integer> getStockLevels(Collection<ResourceLocation> ids) {
+        Map<ResourceLocation, Integer> res = new HashMap<>();
+        for (ResourceLocation id : ids) {
+            AmadronOffer offer = activeOffers.get(id);
+            if (offer != null && hasLimitedStock(offer)) res.put(id, offer.getStock());
+        }
+        return res;
+    }
+
+    private static boolean hasLimitedStock(AmadronOffer offer) {
+        return offer instanceof AmadronPlayerOffer || offer.getMaxStock() >= 0;
+    }
+
+    private static int getOfferCategory(AmadronOffer offer) {
+        if (offer instanceof AmadronPlayerOffer) {
+            return 2;
+        } else {
+            return offer.isStaticOffer() ? 0 : 1;
+        }
+    }
+
+    /**
+     * Called server-side when an offer's stock level has changed; clients viewing Amadron will be sent the new stock
+     * level at the end of the tick, along with any other stock changes.
+     *
+     * @param offer the offer
+     */
+    public void queueStockUpdate(AmadronOffer offer) {
+        pendingStockUpdates.add(offer.getId());
+    }
+
+    /**
+     * Called server-side at the end of every tick. Players who don't have an Amadron tablet open don't need stock
+     * updates; they'll get current stock levels when they next open one.
+     */
+    public void flushStockUpdates() {
+        if (pendingStockUpdates.isEmpty()) return;
+
+        Map<ResourceLocation, Integer> stock = getStockLevels(pendingStockUpdates);
+        pendingStockUpdates.clear();
+        MinecraftServer server = ServerLifecycleHooks.getCurrentServer();
+        if (server != null && !stock.isEmpty()) {
+            PacketAmadronStockUpdate packet = new PacketAmadronStockUpdate(stock);
+            for (ServerPlayerEntity player : server.getPlayerList().getPlayers()) {
+                if (player.openContainer instanceof ContainerAmadron) {
+                    NetworkHandler.sendNonLocal(player, packet);
+                }
+            }
+        }
+    }
+
+    /**
+     * Called client-side (from PacketSyncAmadronOffers) to replace the active offer list.
+     *
+     * @param version the server's offer list version
      * @param newOffers the new offers
-     * @param notifyPlayer
+     * @param stock current stock levels
      */
-    public void syncOffers(Collection<AmadronOffer> newOffers, boolean notifyPlayer) {
+    public void applyFullSync(int version, Collection<AmadronOffer> newOffers, Map<ResourceLocation, Integer> stock) {
         activeOffers.clear();
         newOffers.forEach(offer -> addOffer(activeOffers, offer));
+        stock.forEach(this::updateStock);
+        clientOfferVersion = version;
 
         Log.debug("Received " + activeOffers.size() + " active Amadron offers from server");
-        if (notifyPlayer && PNCConfig.Client.notifyAmadronOfferUpdates) {
+    }
+
+    /**
+     * Get the version of the offer list which the client last received.  Client-side only.
+     *
+     * @return the client's offer list version, or -1 if it has never received one
+     */
+    public int getClientOfferVersion() {
+        return clientOfferVersion;
+    }
+
+    /**
+     * Called client-side (from PacketSyncAmadronOffers) to apply the changes made to the server's active offer list.
+     *
+     * @param fromVersion the offer list version the changes are based on
+     * @param toVersion the offer list version after the changes
+     * @param removed ids of removed offers
+     * @param changed new or changed offers
+     * @param stock current stock levels
+     * @return true if the changes were applied, false if our offer list isn't at the expected version
+     */
+    public boolean applyDeltaSync(int fromVersion, int toVersion, Collection<ResourceLocation> removed, Collection<AmadronOffer> changed, Map<ResourceLocation, Integer> stock) {
+        if (fromVersion != clientOfferVersion) return false;
+
+        removed.forEach(activeOffers::remove);
+        changed.forEach(offer -> addOffer(activeOffers, offer));
+        if (!removed.isEmpty() || !changed.isEmpty()) {
+            List<AmadronOffer> sorted = new ArrayList<>(activeOffers.values());
+            sorted.sort(OFFER_ORDER);
+            activeOffers.clear();
+            sorted.forEach(offer -> addOffer(activeOffers, offer));
+        }
+        stock.forEach(this::updateStock);
+        clientOfferVersion = toVersion;
+
+        Log.debug("Received " + changed.size() + " changed & " + removed.size() + " removed Amadron offers from server");
+        return true;
+    }
+
+    /**
+     * Called client-side (from PacketSyncAmadronOffers) when the server's offer list has changed.
+     */
+    public void notifyOffersChanged() {
+        if (PNCConfig.Client.notifyAmadronOfferUpdates) {
             maybeNotifyPlayerOfUpdates(ClientUtils.getClientPlayer());
         }
     }
@@ -150,7 +354,7 @@ public enum AmadronOfferManager {
     }
 
     /**
-     * Called client-side (from PacketAmadronUpdateStock) to update stock levels of an offer that someone just purchased.
+     * Called client-side (from PacketAmadronStockUpdate) to update stock levels of an offer that someone just purchased.
      * @param id offer ID, must be in the active offers list
      * @param stock new stock level
      */
@@ -216,6 +420,7 @@ public enum AmadronOfferManager {
      * Called on a resource reload (including startup) and periodically to shuffle new periodic offers in
      */
     public void compileActiveOffersList() {
+        Map<ResourceLocation, AmadronOffer> prevOffers = new HashMap<>(activeOffers);
         activeOffers.clear();
         allOffers.clear();
 
@@ -249,17 +454,25 @@ public enum AmadronOfferManager {
         }
 
         // finally, player->player trades
-        addPlayerOffers();
+        addPlayerOffersToActive();
 
         activeOffers.values().forEach(AmadronOffer::resetStock);
+        onActiveOffersChanged(prevOffers);
 
-        // send active list to all clients (but not the local player for an integrated server)
-        NetworkHandler.sendNonLocal(new PacketSyncAmadronOffers(true));
+        // let clients know (but not the local player for an integrated server); the offers themselves are
+        // sync'd when a player next opens an Amadron tablet
+        NetworkHandler.sendNonLocal(PacketSyncAmadronOffers.notifyChanged());
         maybeNotifyLocalPlayerOfUpdates();
-        Log.debug(activeOffers.size() + " active Amadron offers to sync to clients");
+        Log.debug(activeOffers.size() + " active Amadron offers, version " + offerVersion);
     }
 
     public void addPlayerOffers() {
+        Map<ResourceLocation, AmadronOffer> prevOffers = new HashMap<>(activeOffers);
+        addPlayerOffersToActive();
+        onActiveOffersChanged(prevOffers);
+    }
+
+    private void addPlayerOffersToActive() {
         getPlayerOffers().forEach((id, playerOffer) -> {
             addOffer(activeOffers, playerOffer);
             addOffer(allOffers, playerOffer);
@@ -369,11 +582,31 @@ public enum AmadronOfferManager {
     }
 
 
+    /**
+     * The active offers which were added, changed or removed to get to a given offer list version.
+     */
+    private static class OfferChangeset {
+        private final int version;
+        private final Set<ResourceLocation> changed = new HashSet<>();
+        private final Set<ResourceLocation> removed = new HashSet<>();
+
+        private OfferChangeset(int version) {
+            this.version = version;
+        }
+    }
+
     @Mod.EventBusSubscriber(modid = Names.MOD_ID)
     public static class EventListener {
         @SubscribeEvent
         public static void serverLogin(PlayerEvent.PlayerLoggedInEvent evt) {
-            NetworkHandler.sendNonLocal((ServerPlayerEntity) evt.getPlayer(), new PacketSyncAmadronOffers(false));
+            // player's client may have offers from some other server; make sure they get a full sync
+            AmadronOfferManager.getInstance().syncedVersions.remove(evt.getPlayer().getUniqueID());
+        }
+
+        @SubscribeEvent
+        public static void serverLogout(PlayerEvent.PlayerLoggedOutEvent evt) {
+            AmadronOfferManager.getInstance().syncedVersions.remove(evt.getPlayer().getUniqueID());
+            AmadronOfferManager.getInstance().lastFullSyncRequests.remove(evt.getPlayer().getUniqueID());
         }
     }
 }
@@ -2,12 +2,14 @@ package me.desht.pneumaticcraft.common.semiblock;
 
 import me.desht.pneumaticcraft.api.semiblock.IDirectionalSemiblock;
 import me.desht.pneumaticcraft.api.semiblock.ISemiBlock;
+import me.desht.pneumaticcraft.common.entity.semiblock.EntitySemiblockBase;
 import me.desht.pneumaticcraft.lib.Names;
 import net.minecraft.util.Direction;
 import net.minecraft.util.ResourceLocation;
 import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
+import net.minecraftforge.event.world.BlockEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.event.server.FMLServerStoppingEvent;
@@ -18,6 +20,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
@@ -43,6 +46,21 @@ public enum SemiblockTracker {
         }
     }
 
+    @SubscribeEvent
+    public static void onBlockChanged(BlockEvent.NeighborNotifyEvent event) {
+        // passive semiblocks don't tick, so this is how they find out the block they're on has changed
+        if (event.getWorld() instanceof World && !event.getWorld().isRemote()) {
+            Map<BlockPos, SemiblockCollection> map = semiblockMap.get(getInstance().getKey((World) event.getWorld()));
+            SemiblockCollection sc = map == null ? null : map.get(event.getPos());
+            if (sc != null) {
+                sc.getAll().filter(s -> s instanceof EntitySemiblockBase)
+                        .map(s -> (EntitySemiblockBase) s)
+                        .collect(Collectors.toList())
+                        .forEach(EntitySemiblockBase::onBlockChanged);
+            }
+        }
+    }
+
     /**
      * Retrieve the semiblock entity at the given world/pos
      * @param world the world
@@ -139,6 +157,16 @@ public enum SemiblockTracker {
                 .flatMap(e -> e.getValue().getAll());
     }
 
+    /**
+     * Retrieve all known semiblocks, in all dimensions.
+     * @return a stream of all semiblocks
+     */
+    public Stream<ISemiBlock> getAllSemiblocks() {
+        return semiblockMap.values().stream()
+                .flatMap(map -> map.values().stream())
+                .flatMap(SemiblockCollection::getAll);
+    }
+
     private ResourceLocation getKey(World world) {
         return world.getDimensionKey().getLocation();
     }
@@ -0,0 +1,319 @@
+package me.desht.pneumaticcraft.common.tileentity;
+
+import it.unimi.dsi.fastutil.longs.*;
+import me.desht.pneumaticcraft.common.core.ModBlocks;
+import me.desht.pneumaticcraft.common.util.DirectionUtil;
+import me.desht.pneumaticcraft.common.util.PneumaticCraftUtils;
+import me.desht.pneumaticcraft.lib.Names;
+import net.minecraft.block.Block;
+import net.minecraft.util.Direction;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.IWorld;
+import net.minecraft.world.World;
+import net.minecraftforge.event.world.BlockEvent;
+import net.minecraftforge.event.world.ChunkEvent;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import java.util.*;
+
+/**
+ * Server-side, per-dimension tracker of electrostatic grids: connected groups of iron bars and Electrostatic
+ * Compressors.  A grid is found by flood fill the first time it's needed, and then kept until a block change
+ * touches it, so lightning strikes don't need to re-scan the whole grid.
+ * <p>
+ * Placing a bar next to a single grid (and no other grid blocks) just adds it to that grid.  Any other change to
+ * a grid (removing a block, or joining two grids or loose bars together) discards the grid, and it's found again
+ * when next needed.
+ * <p>
+ * Grids never load chunks: finding a grid stops at unloaded positions, and the grid is found again once the chunk
+ * it stopped at has loaded.  Grids with compressors are kept while some of their chunks are unloaded, so that the
+ * compressors left behind don't re-scan the grid; grids with no compressors left (e.g. found for lightning strikes)
+ * are discarded when any of their chunks unload.
+ */
+@Mod.EventBusSubscriber(modid = Names.MOD_ID)
+public class ElectrostaticGridTracker {
+    static final int MAX_GRID_SIZE = 500;
+
+    private static final Map<IWorld, ElectrostaticGridTracker> INSTANCES = new HashMap<>();
+
+    private final World world;
+    private final Long2ObjectMap<Grid> grids = new Long2ObjectOpenHashMap<>();
+    // chunk -> grids with positions in that chunk
+    private final Long2ObjectMap<Set<Grid>> gridsByChunk = new Long2ObjectOpenHashMap<>();
+    // chunk -> grids which couldn't be fully found because that chunk wasn't loaded
+    private final Long2ObjectMap<Set<Grid>> gridsAwaitingChunk = new Long2ObjectOpenHashMap<>();
+
+    private ElectrostaticGridTracker(World world) {
+        this.world = world;
+    }
+
+    static ElectrostaticGridTracker forWorld(World world) {
+        return INSTANCES.computeIfAbsent(world, k -> new ElectrostaticGridTracker(world));
+    }
+
+    @SubscribeEvent
+    public static void onWorldUnload(WorldEvent.Unload event) {
+        INSTANCES.remove(event.getWorld());
+    }
+
+    @SubscribeEvent
+    public static void onChunkUnload(ChunkEvent.Unload event) {
+        if (!event.getWorld().isRemote()) {
+            ElectrostaticGridTracker tracker = INSTANCES.get(event.getWorld());
+            if (tracker != null) tracker.onChunkUnload(event.getChunk().getPos());
+        }
+    }
+
+    @SubscribeEvent
+    public static void onChunkLoad(ChunkEvent.Load event) {
+        if (!event.getWorld().isRemote()) {
+            ElectrostaticGridTracker tracker = INSTANCES.get(event.getWorld());
+            if (tracker != null) tracker.onChunkLoad(event.getChunk().getPos());
+        }
+    }
+
+    @SubscribeEvent
+    public static void onBlockChanged(BlockEvent.NeighborNotifyEvent event) {
+        if (!event.getWorld().isRemote()) {
+            ElectrostaticGridTracker tracker = INSTANCES.get(event.getWorld());
+            if (tracker != null) tracker.onBlockChanged(event.getPos());
+        }
+    }
+
+    /**
+     * Get the grid containing the given position, finding it if necessary.
+     *
+     * @param pos a position, which should hold an iron bar or Electrostatic Compressor
+     * @return the grid
+     */
+    Grid getGrid(BlockPos pos) {
+        Grid grid = grids.get(pos.toLong());
+        return grid == null ? findGrid(pos) : grid;
+    }
+
+    /**
+     * Make sure the given compressor is part of a grid and will be told about changes to it; call on the compressor's
+     * first tick, and after it's been told its grid has changed.
+     *
+     * @param compressor the compressor
+     */
+    void join(TileEntityElectrostaticCompressor compressor) {
+        getGrid(compressor.getPos()).compressors.add(compressor);
+    }
+
+    /**
+     * Called when a compressor's chunk is unloading.  Its grid is kept for any other compressors in it, unless there
+     * are none, in which case nothing would be using it.
+     *
+     * @param compressor the compressor
+     */
+    void onCompressorUnloaded(TileEntityElectrostaticCompressor compressor) {
+        Grid grid = grids.get(compressor.getPos().toLong());
+        if (grid != null && grid.compressors.remove(compressor) && grid.compressors.isEmpty()) {
+            invalidate(grid);
+        }
+    }
+
+    /**
+     * Discard any grid containing the given position.
+     *
+     * @param pos the position
+     */
+    void invalidate(BlockPos pos) {
+        Grid grid = grids.get(pos.toLong());
+        if (grid != null) invalidate(grid);
+    }
+
+    private void onBlockChanged(BlockPos pos) {
+        Block block = world.getBlockState(pos).getBlock();
+        Grid grid = grids.get(pos.toLong());
+        if (grid != null) {
+            // neighbour notifications also happen when nothing has changed, e.g. a compressor's redstone output
+            // changing, so only discard the grid if a grid block was removed or a compressor added or removed
+            if (!isGridBlock(block) || compressorChanged(grid, pos, block)) {
+                invalidate(grid);
+            }
+        } else if (isGridBlock(block)) {
+            Grid adjacent = null;
+            boolean joining = false;
+            for (Direction d : DirectionUtil.VALUES) {
+                Grid neighbour = grids.get(pos.offset(d).toLong());
+                if (neighbour != null && neighbour != adjacent) {
+                    if (adjacent != null) joining = true;
+                    adjacent = neighbour;
+                }
+            }
+            if (adjacent != null) {
+                if (joining || block == ModBlocks.ELECTROSTATIC_COMPRESSOR.get() || touchesLooseGridBlock(pos, adjacent)) {
+                    for (Direction d : DirectionUtil.VALUES) {
+                        invalidate(pos.offset(d));
+                    }
+                } else if (adjacent.size() < MAX_GRID_SIZE) {
+                    addPosition(adjacent, pos);
+                    adjacent.compressors.forEach(TileEntityElectrostaticCompressor::onGridChanged);
+                }
+            }
+        }
+    }
+
+    /**
+     * Check if the given position has a grid block neighbour which isn't in the given grid, e.g. a bar which
+     * hasn't been part of any grid so far; a new bar there joins it to the grid, so the grid must be found again.
+     * Unloaded neighbours aren't checked; the grid will be found again when they load.
+     */
+    private boolean touchesLooseGridBlock(BlockPos pos, Grid grid) {
+        for (Direction d : DirectionUtil.VALUES) {
+            BlockPos neighbourPos = pos.offset(d);
+            if (!grid.contains(neighbourPos)) {
+                if (!world.isBlockLoaded(neighbourPos)) {
+                    awaitChunk(grid, neighbourPos);
+                } else if (isGridBlock(world.getBlockState(neighbourPos).getBlock())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void onChunkUnload(ChunkPos chunkPos) {
+        Set<Grid> inChunk = gridsByChunk.get(chunkPos.asLong());
+        if (inChunk != null) {
+            // copy, since invalidating a grid removes it from the index
+            for (Grid grid : new ArrayList<>(inChunk)) {
+                if (grid.compressors.isEmpty()) invalidate(grid);
+            }
+        }
+    }
+
+    private void onChunkLoad(ChunkPos chunkPos) {
+        Set<Grid> awaiting = gridsAwaitingChunk.remove(chunkPos.asLong());
+        if (awaiting != null) {
+            // these grids may extend into the chunk; find them again, now that it can be scanned
+            new ArrayList<>(awaiting).forEach(this::invalidate);
+        }
+    }
+
+    private boolean compressorChanged(Grid grid, BlockPos pos, Block block) {
+        TileEntityElectrostaticCompressor te = block == ModBlocks.ELECTROSTATIC_COMPRESSOR.get() ?
+                PneumaticCraftUtils.getTileEntityAt(world, pos, TileEntityElectrostaticCompressor.class).orElse(null) : null;
+        for (TileEntityElectrostaticCompressor compressor : grid.compressors) {
+            if (compressor != te && compressor.getPos().equals(pos)) return true;
+        }
+        return te != null && !grid.compressors.contains(te);
+    }
+
+    private void invalidate(Grid grid) {
+        for (LongIterator iter = grid.positions.iterator(); iter.hasNext(); ) {
+            grids.remove(iter.nextLong());
+        }
+        unindex(gridsByChunk, grid.chunks, grid);
+        unindex(gridsAwaitingChunk, grid.awaitedChunks, grid);
+        grid.compressors.forEach(TileEntityElectrostaticCompressor::onGridChanged);
+    }
+
+    private Grid findGrid(BlockPos pos) {
+        Grid grid = new Grid();
+        Deque<BlockPos> pendingPos = new ArrayDeque<>(Collections.singleton(pos));
+        addToGrid(grid, pos);
+
+        while (!pendingPos.isEmpty()) {
+            BlockPos checkingPos = pendingPos.pop();
+            for (Direction d : DirectionUtil.VALUES) {
+                BlockPos newPos = checkingPos.offset(d);
+                // positions already in another grid are left alone; that can only happen if that grid is oversized
+                if (grid.size() < MAX_GRID_SIZE && !grid.contains(newPos) && !grids.containsKey(newPos.toLong())) {
+                    if (!world.isBlockLoaded(newPos)) {
+                        awaitChunk(grid, newPos);
+                    } else if (isGridBlock(world.getBlockState(newPos).getBlock())) {
+                        addToGrid(grid, newPos);
+                        pendingPos.push(newPos);
+                    }
+                }
+            }
+        }
+        return grid;
+    }
+
+    private void addToGrid(Grid grid, BlockPos pos) {
+        addPosition(grid, pos);
+        PneumaticCraftUtils.getTileEntityAt(world, pos, TileEntityElectrostaticCompressor.class)
+                .ifPresent(grid.compressors::add);
+    }
+
+    private void addPosition(Grid grid, BlockPos pos) {
+        grid.add(pos);
+        grids.put(pos.toLong(), grid);
+        long chunk = ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4);
+        if (grid.chunks.add(chunk)) {
+            gridsByChunk.computeIfAbsent(chunk, k -> new HashSet<>()).add(grid);
+        }
+    }
+
+    private void awaitChunk(Grid grid, BlockPos pos) {
+        long chunk = ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4);
+        if (grid.awaitedChunks.add(chunk)) {
+            gridsAwaitingChunk.computeIfAbsent(chunk, k -> new HashSet<>()).add(grid);
+        }
+    }
+
+    private static void unindex(Long2ObjectMap<Set<Grid>> index, LongSet chunks, Grid grid) {
+        for (LongIterator iter = chunks.iterator(); iter.hasNext(); ) {
+            long chunk = iter.nextLong();
+            Set<Grid> set = index.get(chunk);
+            if (set != null && set.remove(grid) && set.isEmpty()) {
+                index.remove(chunk);
+            }
+        }
+    }
+
+    private static boolean isGridBlock(Block block) {
+        return TileEntityElectrostaticCompressor.isValidGridBlock(block) || block == ModBlocks.ELECTROSTATIC_COMPRESSOR.get();
+    }
+
+    /**
+     * A connected group of iron bars and compressors.
+     */
+    static class Grid {
+        private final LongSet positions = new LongOpenHashSet();
+        private final LongSet chunks = new LongOpenHashSet();
+        private final LongSet awaitedChunks = new LongOpenHashSet();
+        private final Set<TileEntityElectrostaticCompressor> compressors = new HashSet<>();
+        private int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, minZ = Integer.MAX_VALUE;
+        private int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE, maxZ = Integer.MIN_VALUE;
+
+        private void add(BlockPos pos) {
+            positions.add(pos.toLong());
+            minX = Math.min(minX, pos.getX());
+            minY = Math.min(minY, pos.getY());
+            minZ = Math.min(minZ, pos.getZ());
+            maxX = Math.max(maxX, pos.getX());
+            maxY = Math.max(maxY, pos.getY());
+            maxZ = Math.max(maxZ, pos.getZ());
+        }
+
+        boolean contains(BlockPos pos) {
+            return positions.contains(pos.toLong());
+        }
+
+        int size() {
+            return positions.size();
+        }
+
+        Collection<TileEntityElectrostaticCompressor> getCompressors() {
+            return compressors;
+        }
+
+        /**
+         * Get a box enclosing the grid, and anything standing on top of it.
+         *
+         * @return a bounding box
+         */
+        AxisAlignedBB getBounds() {
+            return new AxisAlignedBB(minX, minY, minZ, maxX + 1, maxY + 2, maxZ + 1);
+        }
+    }
+}
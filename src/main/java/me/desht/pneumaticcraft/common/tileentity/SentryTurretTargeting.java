@@ -0,0 +1,177 @@
+package me.desht.pneumaticcraft.common.tileentity;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import me.desht.pneumaticcraft.common.config.PNCConfig;
+import me.desht.pneumaticcraft.common.util.EntityDistanceComparator;
+import me.desht.pneumaticcraft.lib.Names;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.IWorld;
+import net.minecraft.world.World;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Target acquisition shared by all Sentry Turrets in a world.  Living entities are scanned once per region (a 32x32x32
+ * block cube) per scan interval, no matter how many turrets cover that region, and the line-of-sight raytraces which
+ * turrets need to check potential targets are capped per tick.
+ * <p>
+ * The raytrace budget is shared out evenly between the turrets which were searching on the previous tick, and each
+ * turret keeps its place in its list of candidates (see {@link Search}), so a turret with many hidden candidates
+ * neither starves the others nor restarts its search from the nearest candidate every tick.
+ */
+@Mod.EventBusSubscriber(modid = Names.MOD_ID)
+public class SentryTurretTargeting {
+    static final int SCAN_INTERVAL = 16;
+    private static final int REGION_SHIFT = 5;
+
+    private static final Map<IWorld, SentryTurretTargeting> INSTANCES = new HashMap<>();
+
+    private final World world;
+    private final Long2ObjectMap<List<LivingEntity>> regionScans = new Long2ObjectOpenHashMap<>();
+    private long scanInterval = -1;
+    private long raytraceTick = -1;
+    private int raytracesLeft;
+    private int searchers;  // turrets which have used raytraces this tick
+    private int lastSearchers = 1;  // ... and on the previous tick
+
+    private SentryTurretTargeting(World world) {
+        this.world = world;
+    }
+
+    static SentryTurretTargeting forWorld(World world) {
+        return INSTANCES.computeIfAbsent(world, k -> new SentryTurretTargeting(world));
+    }
+
+    @SubscribeEvent
+    public static void onWorldUnload(WorldEvent.Unload event) {
+        INSTANCES.remove(event.getWorld());
+    }
+
+    /**
+     * Find the nearest entity within range of a turret which passes both checks.  A new search is started if the
+     * turret has none in progress: the cheap check (range, entity filter...) is run on every entity in range, and
+     * the resulting candidates are sorted by distance.  The visibility check is then run on candidates in order until
+     * a target is found, each check using up one raytrace from this tick's budget; if the turret's share of the
+     * budget runs out first, the search is left in progress, to be continued on the next call.
+     *
+     * @param search the turret's search state
+     * @param pos the turret's position
+     * @param range the turret's range
+     * @param cheapCheck a quick check for potential targets
+     * @param visibilityCheck a check which needs a raytrace
+     * @return the target, or null if none was found; if {@link Search#isInProgress()} is true afterwards, the search
+     *         was incomplete and should be continued next tick
+     */
+    LivingEntity findTarget(Search search, BlockPos pos, double range, Predicate<LivingEntity> cheapCheck, Predicate<LivingEntity> visibilityCheck) {
+        if (!search.isInProgress()) {
+            search.start(getCandidates(pos, range, cheapCheck));
+            if (!search.isInProgress()) return null;
+        }
+
+        long now = world.getGameTime();
+        if (now != raytraceTick) {
+            lastSearchers = now == raytraceTick + 1 ? Math.max(1, searchers) : 1;
+            searchers = 0;
+            raytraceTick = now;
+            raytracesLeft = PNCConfig.Common.Advanced.sentryTurretRaytracesPerTick;
+        }
+        searchers++;
+        int share = Math.max(1, PNCConfig.Common.Advanced.sentryTurretRaytracesPerTick / lastSearchers);
+
+        while (search.isInProgress()) {
+            LivingEntity entity = search.candidates.get(search.cursor);
+            // entities may have died or moved away since the search started; checking that again is cheap
+            if (entity.isAlive() && cheapCheck.test(entity)) {
+                if (share <= 0 || raytracesLeft <= 0) return null;
+                share--;
+                raytracesLeft--;
+                if (visibilityCheck.test(entity)) {
+                    search.clear();
+                    return entity;
+                }
+            }
+            search.cursor++;
+        }
+        search.clear();
+        return null;
+    }
+
+    private List<LivingEntity> getCandidates(BlockPos pos, double range, Predicate<LivingEntity> cheapCheck) {
+        long interval = world.getGameTime() / SCAN_INTERVAL;
+        if (interval != scanInterval) {
+            regionScans.clear();
+            scanInterval = interval;
+        }
+
+        int rx0 = MathHelper.floor(pos.getX() - range) >> REGION_SHIFT;
+        int rx1 = MathHelper.floor(pos.getX() + range) >> REGION_SHIFT;
+        int ry0 = MathHelper.floor(Math.max(0, pos.getY() - range)) >> REGION_SHIFT;
+        int ry1 = MathHelper.floor(Math.min(world.getHeight() - 1, pos.getY() + range)) >> REGION_SHIFT;
+        int rz0 = MathHelper.floor(pos.getZ() - range) >> REGION_SHIFT;
+        int rz1 = MathHelper.floor(pos.getZ() + range) >> REGION_SHIFT;
+
+        List<LivingEntity> candidates = new ArrayList<>();
+        for (int rx = rx0; rx <= rx1; rx++) {
+            for (int ry = ry0; ry <= ry1; ry++) {
+                for (int rz = rz0; rz <= rz1; rz++) {
+                    for (LivingEntity entity : getRegion(rx, ry, rz)) {
+                        if (entity.isAlive() && cheapCheck.test(entity)) {
+                            candidates.add(entity);
+                        }
+                    }
+                }
+            }
+        }
+        candidates.sort(new EntityDistanceComparator(pos));
+        return candidates;
+    }
+
+    private List<LivingEntity> getRegion(int rx, int ry, int rz) {
+        long key = BlockPos.pack(rx, ry, rz);
+        List<LivingEntity> res = regionScans.get(key);
+        if (res == null) {
+            AxisAlignedBB aabb = new AxisAlignedBB(rx << REGION_SHIFT, ry << REGION_SHIFT, rz << REGION_SHIFT,
+                    (rx + 1) << REGION_SHIFT, (ry + 1) << REGION_SHIFT, (rz + 1) << REGION_SHIFT);
+            // each entity belongs only to the region containing its position, so it's never seen twice
+            res = world.getEntitiesWithinAABB(LivingEntity.class, aabb, e -> regionKey(e) == key);
+            regionScans.put(key, res);
+        }
+        return res;
+    }
+
+    private static long regionKey(LivingEntity entity) {
+        return BlockPos.pack(MathHelper.floor(entity.getPosX()) >> REGION_SHIFT,
+                MathHelper.floor(entity.getPosY()) >> REGION_SHIFT,
+                MathHelper.floor(entity.getPosZ()) >> REGION_SHIFT);
+    }
+
+    /**
+     * One turret's search for a target: its candidates, nearest first, and how far through them it has got.
+     */
+    static class Search {
+        private List<LivingEntity> candidates = Collections.emptyList();
+        private int cursor;
+
+        boolean isInProgress() {
+            return cursor < candidates.size();
+        }
+
+        private void start(List<LivingEntity> candidates) {
+            this.candidates = candidates;
+            cursor = 0;
+        }
+
+        private void clear() {
+            candidates = Collections.emptyList();
+            cursor = 0;
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package me.desht.pneumaticcraft.common.tileentity;
+
+import me.desht.pneumaticcraft.common.config.PNCConfig;
+import me.desht.pneumaticcraft.lib.Names;
+import net.minecraft.tileentity.ITickableTileEntity;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.world.IWorld;
+import net.minecraft.world.World;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.LogicalSide;
+import net.minecraftforge.fml.common.Mod;
+
+import java.util.*;
+
+/**
+ * Per-dimension scheduler for tile entities which have nothing to do for a while; see
+ * {@link TileEntityTickableBase#sleepFor(int)}.  A sleeping tile entity isn't ticked at all, and a two-level timer
+ * wheel wakes it when its wake-up time arrives (or sooner, if {@link TileEntityTickableBase#wakeFromSleep()} is
+ * called).
+ * <p>
+ * The first time a tile entity sleeps, it's replaced in the world's list of tickable tile entities by a
+ * {@link TickProxy}, which passes ticks on to it while it's awake.  That's done at the end of the world tick, in one
+ * pass over the list for all tile entities sleeping for the first time on that tick; after that, going to sleep and
+ * waking up never touch the list, and the tile entity keeps its place in the world's tick order.
+ */
+@Mod.EventBusSubscriber(modid = Names.MOD_ID)
+public class TickScheduler {
+    private static final int INNER_BITS = 8;
+    private static final int INNER_SIZE = 1 << INNER_BITS;  // one slot per tick
+    private static final int OUTER_BITS = 6;
+    private static final int OUTER_SIZE = 1 << OUTER_BITS;  // one slot per INNER_SIZE ticks
+    private static final long WHEEL_SPAN = (long) INNER_SIZE * OUTER_SIZE;
+
+    private static final Map<IWorld, TickScheduler> INSTANCES = new HashMap<>();
+
+    private static int sleepingCount;
+    private static long totalSleeps;
+    private static long timedWakeups;
+    private static long earlyWakeups;
+    private static long skippedTicks;
+
+    private final World world;
+    private final List<List<TileEntityTickableBase>> inner = new ArrayList<>(INNER_SIZE);
+    private final List<List<TileEntityTickableBase>> outer = new ArrayList<>(OUTER_SIZE);
+    private final List<TileEntityTickableBase> overflow = new ArrayList<>();
+    private final Set<TileEntityTickableBase> goingToSleep = Collections.newSetFromMap(new IdentityHashMap<>());
+    private long cursor;  // the latest tick the wheel has been advanced to
+    private int sleeping;
+
+    private TickScheduler(World world) {
+        this.world = world;
+        for (int i = 0; i < INNER_SIZE; i++) inner.add(new ArrayList<>());
+        for (int i = 0; i < OUTER_SIZE; i++) outer.add(new ArrayList<>());
+        this.cursor = world.getGameTime();
+    }
+
+    static TickScheduler forWorld(World world) {
+        return INSTANCES.computeIfAbsent(world, k -> new TickScheduler(world));
+    }
+
+    @SubscribeEvent
+    public static void onWorldTick(TickEvent.WorldTickEvent event) {
+        if (event.side != LogicalSide.SERVER) return;
+
+        TickScheduler scheduler = INSTANCES.get(event.world);
+        if (scheduler != null) {
+            if (event.phase == TickEvent.Phase.START) {
+                scheduler.onTickStart();
+            } else {
+                scheduler.onTickEnd();
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public static void onWorldUnload(WorldEvent.Unload event) {
+        TickScheduler scheduler = INSTANCES.remove(event.getWorld());
+        if (scheduler != null) sleepingCount -= scheduler.sleeping;
+    }
+
+    void requestSleep(TileEntityTickableBase te, long wakeTime) {
+        if (wakeTime <= world.getGameTime() + 1) return;
+
+        te.wakeTime = wakeTime;
+        if (te.proxied) {
+            sleep(te);
+        } else {
+            // not yet ticked through a proxy; it'll be swapped for one at the end of the tick
+            goingToSleep.add(te);
+        }
+    }
+
+    void requestWake(TileEntityTickableBase te) {
+        if (goingToSleep.remove(te)) {
+            te.wakeTime = -1;
+        } else if (te.dormant) {
+            wake(te);
+            earlyWakeups++;
+        }
+    }
+
+    private void onTickStart() {
+        // the world's game time is incremented before tile entities tick
+        long next = world.getGameTime() + 1;
+        if (!PNCConfig.Common.Advanced.tickScheduler) {
+            if (sleeping > 0) wakeAll();
+            cursor = next;
+        } else {
+            while (cursor < next) {
+                advance();
+            }
+        }
+    }
+
+    private void onTickEnd() {
+        if (goingToSleep.isEmpty()) return;
+
+        long now = world.getGameTime();
+        Map<TileEntity, TileEntity> proxies = new IdentityHashMap<>();
+        for (TileEntityTickableBase te : goingToSleep) {
+            if (te.wakeTime > now + 1 && !te.isRemoved() && PNCConfig.Common.Advanced.tickScheduler) {
+                proxies.put(te, new TickProxy(te));
+            } else {
+                te.wakeTime = -1;
+            }
+        }
+        goingToSleep.clear();
+        if (!proxies.isEmpty()) {
+            world.tickableTileEntities.replaceAll(te -> proxies.getOrDefault(te, te));
+            for (TileEntity te : proxies.keySet()) {
+                ((TileEntityTickableBase) te).proxied = true;
+                sleep((TileEntityTickableBase) te);
+            }
+        }
+    }
+
+    private void sleep(TileEntityTickableBase te) {
+        if (!te.dormant) {
+            te.dormant = true;
+            te.dormantSince = world.getGameTime();
+            sleeping++;
+            sleepingCount++;
+            totalSleeps++;
+        }
+        insert(te);
+    }
+
+    private void advance() {
+        cursor++;
+        if ((cursor & (INNER_SIZE - 1)) == 0) {
+            if ((cursor & (WHEEL_SPAN - 1)) == 0) {
+                cascade(overflow);
+            }
+            cascade(outer.get((int) ((cursor >> INNER_BITS) & (OUTER_SIZE - 1))));
+        }
+        List<TileEntityTickableBase> slot = inner.get((int) (cursor & (INNER_SIZE - 1)));
+        if (!slot.isEmpty()) {
+            for (TileEntityTickableBase te : slot) {
+                // entries are left in place when a tile entity wakes early, so skip any which are out of date
+                if (te.dormant && te.wakeTime <= cursor) {
+                    wake(te);
+                    timedWakeups++;
+                }
+            }
+            slot.clear();
+        }
+    }
+
+    private void cascade(List<TileEntityTickableBase> list) {
+        if (list.isEmpty()) return;
+
+        List<TileEntityTickableBase> entries = new ArrayList<>(list);
+        list.clear();
+        for (TileEntityTickableBase te : entries) {
+            if (te.dormant) insert(te);
+        }
+    }
+
+    private void insert(TileEntityTickableBase te) {
+        long delta = te.wakeTime - cursor;
+        if (delta < INNER_SIZE) {
+            inner.get((int) (Math.max(te.wakeTime, cursor) & (INNER_SIZE - 1))).add(te);
+        } else if (delta < WHEEL_SPAN) {
+            outer.get((int) ((te.wakeTime >> INNER_BITS) & (OUTER_SIZE - 1))).add(te);
+        } else {
+            overflow.add(te);
+        }
+    }
+
+    private void wake(TileEntityTickableBase te) {
+        te.dormant = false;
+        te.wakeTime = -1;
+        sleeping--;
+        sleepingCount--;
+        skippedTicks += Math.max(0, world.getGameTime() - te.dormantSince);
+    }
+
+    private void wakeAll() {
+        inner.forEach(this::wakeList);
+        outer.forEach(this::wakeList);
+        wakeList(overflow);
+    }
+
+    private void wakeList(List<TileEntityTickableBase> list) {
+        for (TileEntityTickableBase te : list) {
+            if (te.dormant) wake(te);
+        }
+        list.clear();
+    }
+
+    public static int getSleepingCount() {
+        return sleepingCount;
+    }
+
+    public static long getTotalSleeps() {
+        return totalSleeps;
+    }
+
+    public static long getTimedWakeups() {
+        return timedWakeups;
+    }
+
+    public static long getEarlyWakeups() {
+        return earlyWakeups;
+    }
+
+    public static long getSkippedTicks() {
+        return skippedTicks;
+    }
+
+    /**
+     * Takes a tile entity's place in the world's tickable list, and ticks it while it's awake.  It's never added to
+     * a chunk, and goes away (as the world's tick loop sees it as removed) once the tile entity is removed or
+     * unloaded.
+     */
+    private static class TickProxy extends TileEntity implements ITickableTileEntity {
+        private final TileEntityTickableBase te;
+
+        TickProxy(TileEntityTickableBase te) {
+            super(te.getType());
+            this.te = te;
+            setWorldAndPos(te.getWorld(), te.getPos());
+        }
+
+        @Override
+        public void tick() {
+            if (!te.dormant) te.tick();
+        }
+
+        @Override
+        public boolean isRemoved() {
+            return te.isRemoved() || te.unloaded;
+        }
+    }
+}
@@ -15,6 +15,7 @@ import net.minecraft.tileentity.TileEntityType;
 import net.minecraft.util.Direction;
 import net.minecraft.util.EntityPredicates;
 import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.BlockPos;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -23,10 +24,16 @@ import java.util.List;
 public abstract class TileEntityAbstractHopper<T extends TileEntity & IRedstoneControl<T>> extends TileEntityTickableBase
         implements IRedstoneControl<T>, IComparatorSupport, INamedContainerProvider {
     private static final int BASE_TICK_RATE = 8;
+    // even a sleeping hopper wakes up this often, in case a neighbour's contents changed without notifying us
+    private static final int MAX_SLEEP_TICKS = 100;
+
+    private static int sleepingHoppers = 0;
 
     private int lastComparatorValue = -1;
     private int cooldown;
     private int entityScanCooldown;
+    private boolean asleep;
+    private long sleepStart;
     @GuiSynced
     int leaveMaterialCount; // leave items/liquids (used as filter)
     @DescSynced
@@ -61,6 +68,7 @@ public abstract class TileEntityAbstractHopper<T extends TileEntity & IRedstoneC
 
         inputDir = getInputDirection();
         setupInputOutputRegions();
+        wakeUp();
     }
 
     @Override
@@ -70,6 +78,10 @@ public abstract class TileEntityAbstractHopper<T extends TileEntity & IRedstoneC
         super.tick();
 
         if (!getWorld().isRemote && getRedstoneController().shouldRun()) {
+            if (asleep && !checkWakeUp()) {
+                return;
+            }
+
             if (--entityScanCooldown <= 0) {
                 cachedInputEntities.clear();
                 if (shouldScanForEntities(inputDir)) {
@@ -87,8 +99,16 @@ public abstract class TileEntityAbstractHopper<T extends TileEntity & IRedstoneC
                 boolean success = doImport(maxItems);
                 success |= doExport(maxItems);
 
-                // If we couldn't pull or push, slow down a bit for performance reasons
-                cooldown = success ? getItemTransferInterval() : BASE_TICK_RATE;
+                if (success) {
+                    cooldown = getItemTransferInterval();
+                } else if (cachedInputEntities.isEmpty() && cachedOutputEntities.isEmpty()) {
+                    // nothing to do, and no entities around whose inventories could change under us:
+                    // sleep until a neighbour or our own contents change
+                    goToSleep();
+                } else {
+                    // If we couldn't pull or push, slow down a bit for performance reasons
+                    cooldown = BASE_TICK_RATE;
+                }
 
                 if (lastComparatorValue != getComparatorValueInternal()) {
                     lastComparatorValue = getComparatorValueInternal();
@@ -97,6 +117,128 @@ public abstract class TileEntityAbstractHopper<T extends TileEntity & IRedstoneC
         }
     }
 
+    /**
+     * Called when a sleeping hopper ticks.  Sleeping hoppers are woken by neighbour updates and by changes to their
+     * own contents (or those of a neighbouring hopper); the only periodic work is a cheap check for entities arriving
+     * in an input/output region which is open to entities, since nothing notifies us of those.  Otherwise, the hopper
+     * isn't ticked until the {@link #MAX_SLEEP_TICKS} backstop, which catches inventories changing without notifying
+     * us (vanilla comparator updates only reach horizontal neighbours).
+     *
+     * @return true if the hopper has now woken up
+     */
+    private boolean checkWakeUp() {
+        long slept = world.getGameTime() - sleepStart;
+        if (slept >= MAX_SLEEP_TICKS) {
+            wakeUp();
+        } else if (slept % BASE_TICK_RATE == 0 && (hasEntitiesIn(inputDir, inputAABB) || hasEntitiesIn(getRotation(), outputAABB))) {
+            wakeUp();
+            entityScanCooldown = 0;
+        }
+        if (asleep) scheduleNextCheck(slept);
+        return !asleep;
+    }
+
+    private void scheduleNextCheck(long slept) {
+        if (inputAABB != null && shouldScanForEntities(inputDir) || outputAABB != null && shouldScanForEntities(getRotation())) {
+            sleepFor(BASE_TICK_RATE - (int) (slept % BASE_TICK_RATE));
+        } else {
+            sleepFor(MAX_SLEEP_TICKS - (int) slept);
+        }
+    }
+
+    private boolean hasEntitiesIn(Direction dir, AxisAlignedBB aabb) {
+        return aabb != null && shouldScanForEntities(dir)
+                && !world.getEntitiesWithinAABB(Entity.class, aabb, EntityPredicates.IS_ALIVE).isEmpty();
+    }
+
+    private void goToSleep() {
+        if (!asleep) {
+            asleep = true;
+            sleepStart = world.getGameTime();
+            sleepingHoppers++;
+            scheduleNextCheck(0);
+        }
+    }
+
+    /**
+     * Wake this hopper up if it's sleeping; it will attempt a transfer on the next tick.
+     */
+    void wakeUp() {
+        if (asleep) {
+            asleep = false;
+            sleepingHoppers--;
+            cooldown = 0;
+            wakeFromSleep();
+        }
+    }
+
+    public boolean isAsleep() {
+        return asleep;
+    }
+
+    /**
+     * Get the number of hoppers (item and liquid) which are currently sleeping, i.e. not doing any per-tick work
+     * because their last import/export attempt failed and nothing has changed since.
+     *
+     * @return the number of sleeping hoppers
+     */
+    public static int getSleepingHopperCount() {
+        return sleepingHoppers;
+    }
+
+    @Override
+    public void onNeighborTileUpdate(BlockPos tilePos) {
+        super.onNeighborTileUpdate(tilePos);
+
+        wakeUp();
+    }
+
+    @Override
+    public void onNeighborBlockUpdate(BlockPos fromPos) {
+        super.onNeighborBlockUpdate(fromPos);
+
+        wakeUp();
+    }
+
+    @Override
+    public void markDirty() {
+        super.markDirty();
+
+        // own contents (or settings) changed; hoppers we feed or are fed by may now be able to transfer too
+        if (world != null && !world.isRemote) {
+            wakeUp();
+            wakeNeighborHopper(inputDir);
+            wakeNeighborHopper(getRotation());
+        }
+    }
+
+    private void wakeNeighborHopper(Direction dir) {
+        TileEntity te = getCachedNeighbor(dir);
+        if (te instanceof TileEntityAbstractHopper) {
+            ((TileEntityAbstractHopper<?>) te).wakeUp();
+        }
+    }
+
+    @Override
+    public void remove() {
+        super.remove();
+
+        if (asleep) {
+            asleep = false;
+            sleepingHoppers--;
+        }
+    }
+
+    @Override
+    public void onChunkUnloaded() {
+        super.onChunkUnloaded();
+
+        if (asleep) {
+            asleep = false;
+            sleepingHoppers--;
+        }
+    }
+
     @Override
     protected boolean shouldRerenderChunkOnDescUpdate() {
         boolean rerender = wasCreative != isCreative;
@@ -176,6 +318,7 @@ public abstract class TileEntityAbstractHopper<T extends TileEntity & IRedstoneC
 
         if (world != null && !world.isRemote) {
             isCreative = getUpgrades(EnumUpgrade.CREATIVE) > 0;
+            wakeUp();
         }
     }
 
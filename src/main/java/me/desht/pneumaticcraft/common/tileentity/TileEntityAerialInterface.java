@@ -161,14 +161,14 @@ public class TileEntityAerialInterface extends TileEntityPneumaticBase
     public void validate() {
         super.validate();
 
-        GlobalTileEntityCacheManager.getInstance().aerialInterfaces.add(this);
+        if (world != null) GlobalTileEntityCacheManager.getInstance(world).add(this);
     }
 
     @Override
     public void remove() {
         super.remove();
 
-        GlobalTileEntityCacheManager.getInstance().aerialInterfaces.remove(this);
+        if (world != null) GlobalTileEntityCacheManager.getInstance(world).remove(this);
 
         itemHandlerSideConfigurator.invalidateCaps();
         playerExpCap.invalidate();
@@ -38,6 +38,13 @@ public class TileEntityAssemblyController extends TileEntityPneumaticBase
         public boolean isItemValid(int slot, ItemStack itemStack) {
             return itemStack.isEmpty() || itemStack.getItem() instanceof ItemAssemblyProgram;
         }
+
+        @Override
+        protected void onContentsChanged(int slot) {
+            super.onContentsChanged(slot);
+
+            programChanged = true;
+        }
     };
     private final LazyOptional<IItemHandler> inventoryCap = LazyOptional.of(() -> itemHandler);
 
@@ -56,6 +63,11 @@ public class TileEntityAssemblyController extends TileEntityPneumaticBase
     @DescSynced
     public boolean hasProblem;
     private AssemblySystem assemblySystem = null;
+    private AssemblyProgram slotProgram;  // program for the item in the program slot; may differ from curProgram
+    private boolean programChanged = true;
+    // true while the program has handed work to a robot; no need to run the program again until a robot reports back
+    private boolean awaitingMachine;
+    private boolean lastUseAir;
 
     public TileEntityAssemblyController() {
         super(ModTileEntities.ASSEMBLY_CONTROLLER.get(),  PneumaticValues.DANGER_PRESSURE_ASSEMBLY_CONTROLLER, PneumaticValues.MAX_PRESSURE_ASSEMBLY_CONTROLLER, PneumaticValues.VOLUME_ASSEMBLY_CONTROLLER, 4);
@@ -73,15 +85,18 @@ public class TileEntityAssemblyController extends TileEntityPneumaticBase
 
     @Override
     public void tick() {
-        ItemStack programStack = itemHandler.getStackInSlot(PROGRAM_SLOT);
-
+        if (programChanged) {
+            programChanged = false;
+            slotProgram = ItemAssemblyProgram.getProgram(itemHandler.getStackInSlot(PROGRAM_SLOT));
+            if (curProgram != null && (slotProgram == null || curProgram.getType() != slotProgram.getType())) {
+                curProgram = null;
+                awaitingMachine = false;
+                if (!getWorld().isRemote) goingToHomePosition = true;
+            }
+        }
         // curProgram must be available on the client, or we can't show program-problems in the GUI
-        if (curProgram == null && !goingToHomePosition && programStack.getItem() instanceof ItemAssemblyProgram) {
-            curProgram = ItemAssemblyProgram.getProgram(programStack);
-        } else if (curProgram != null &&
-                (programStack.isEmpty() || curProgram.getType() != ItemAssemblyProgram.getProgram(programStack).getType())) {
-            curProgram = null;
-            if (!getWorld().isRemote) goingToHomePosition = true;
+        if (curProgram == null && !goingToHomePosition && slotProgram != null) {
+            curProgram = slotProgram;
         }
 
         if (!getWorld().isRemote) {
@@ -94,7 +109,11 @@ public class TileEntityAssemblyController extends TileEntityPneumaticBase
                     if ((!isMachineMissing || curProgram == null) && !isMachineDuplicate) {
                         boolean useAir;
                         if (curProgram != null) {
-                            useAir = curProgram.executeStep(assemblySystem);
+                            if (!awaitingMachine) {
+                                lastUseAir = curProgram.executeStep(assemblySystem);
+                                awaitingMachine = assemblySystem.isAnyRobotBusy();
+                            }
+                            useAir = lastUseAir;
                             if (useAir) {
                                 setStatus("Running...");
                             }
@@ -125,6 +144,15 @@ public class TileEntityAssemblyController extends TileEntityPneumaticBase
      */
     void invalidateAssemblySystem() {
         assemblySystem = null;
+        awaitingMachine = false;
+    }
+
+    /**
+     * Called by an assembly robot when it finishes a step, or its state otherwise changes in a way which could
+     * affect the program; the program will be run again on the next tick.
+     */
+    void onMachineStateChanged() {
+        awaitingMachine = false;
     }
 
     private AssemblySystem findAssemblySystem() {
@@ -194,6 +222,7 @@ public class TileEntityAssemblyController extends TileEntityPneumaticBase
         goingToHomePosition = tag.getBoolean("goingToHomePosition");
         displayedText = tag.getString("displayedText");
         itemHandler.deserializeNBT(tag.getCompound("Items"));
+        programChanged = true;
         if (!itemHandler.getStackInSlot(PROGRAM_SLOT).isEmpty()) {
             curProgram = ItemAssemblyProgram.getProgram(itemHandler.getStackInSlot(PROGRAM_SLOT));
             if (curProgram != null) curProgram.readFromNBT(tag);
@@ -275,6 +304,13 @@ public class TileEntityAssemblyController extends TileEntityPneumaticBase
             return resetDone;
         }
 
+        boolean isAnyRobotBusy() {
+            for (IAssemblyMachine machine : machines.values()) {
+                if (machine instanceof TileEntityAssemblyRobot && !machine.isIdle()) return true;
+            }
+            return false;
+        }
+
         void setSpeed(float speedMult) {
             machines.values().stream()
                     .filter(Objects::nonNull)
@@ -75,7 +75,10 @@ public class TileEntityAssemblyDrill extends TileEntityAssemblyRobot {
             }
             if (isDoneInternal()) {
                 drillStep++;
-                if (drillStep > 6) drillStep = 0;
+                if (drillStep > 6) {
+                    drillStep = 0;
+                    notifyController();
+                }
             }
         }
 
@@ -94,11 +94,18 @@ public class TileEntityAssemblyIOUnit extends TileEntityAssemblyRobot {
                     break;
                 case 10: // drop off item
                 case 25:
-                    if (putItemToCurrentDirection()) state++;
+                    if (putItemToCurrentDirection()) {
+                        state++;
+                        // the platform's item has changed, so other robots can start work before we're home
+                        notifyController();
+                    }
                     break;
                 case 11:
                 case STATE_RESET_GOTO_IDLE:
-                    if (gotoIdlePos()) state = 0;
+                    if (gotoIdlePos()) {
+                        state = 0;
+                        notifyController();
+                    }
                 case STATE_MAX: // this will be set if we encounter an unknown state; prevents log-spam that would result from default-case
                     break;
                 default:
@@ -216,13 +223,17 @@ public class TileEntityAssemblyIOUnit extends TileEntityAssemblyRobot {
         if (tickCounter > 0 && tickCounter++ < SLEEP_TICKS) {
             return true;
         } else {
-            tickCounter = 0;
+            if (tickCounter > 0) {
+                tickCounter = 0;
+                notifyController();  // air usage depends on whether we're sleeping
+            }
             return false;
         }
     }
 
     private void sleepBeforeNextSearch() {
         tickCounter = 1;
+        notifyController();
     }
 
     private boolean findDropOffLocation() {
@@ -73,7 +73,10 @@ public class TileEntityAssemblyLaser extends TileEntityAssemblyRobot {
             }
             if (isDoneInternal() || laserStep >= 4 && laserStep <= 103) {
                 laserStep++;
-                if (laserStep > 105) laserStep = 0;
+                if (laserStep > 105) {
+                    laserStep = 0;
+                    notifyController();
+                }
             }
         }
     }
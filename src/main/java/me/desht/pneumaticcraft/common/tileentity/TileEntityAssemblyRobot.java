@@ -53,6 +53,16 @@ public abstract class TileEntityAssemblyRobot extends TileEntityTickableBase imp
         }
     }
 
+    /**
+     * Let the controller know that this robot has finished a step, so it can run its program again.
+     */
+    void notifyController() {
+        if (controllerPos != null) {
+            PneumaticCraftUtils.getTileEntityAt(getWorld(), controllerPos, TileEntityAssemblyController.class)
+                    .ifPresent(TileEntityAssemblyController::onMachineStateChanged);
+        }
+    }
+
     @Override
     public void tick() {
         super.tick();
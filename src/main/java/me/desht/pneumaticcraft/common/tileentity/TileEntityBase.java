@@ -7,11 +7,13 @@ import me.desht.pneumaticcraft.api.item.IUpgradeAcceptor;
 import me.desht.pneumaticcraft.common.block.BlockPneumaticCraft;
 import me.desht.pneumaticcraft.common.block.BlockPneumaticCraftCamo;
 import me.desht.pneumaticcraft.common.config.PNCConfig;
+import me.desht.pneumaticcraft.common.debug.TickProfiler;
 import me.desht.pneumaticcraft.common.heat.HeatExchangerLogicAmbient;
 import me.desht.pneumaticcraft.common.inventory.handler.BaseItemStackHandler;
 import me.desht.pneumaticcraft.common.network.*;
 import me.desht.pneumaticcraft.common.thirdparty.computer_common.LuaMethod;
 import me.desht.pneumaticcraft.common.thirdparty.computer_common.LuaMethodRegistry;
+import me.desht.pneumaticcraft.common.util.GlobalTileEntityCacheManager;
 import me.desht.pneumaticcraft.common.util.PneumaticCraftUtils;
 import me.desht.pneumaticcraft.common.util.upgrade.ApplicableUpgradesDB;
 import me.desht.pneumaticcraft.common.util.upgrade.IUpgradeHolder;
@@ -180,13 +182,18 @@ public abstract class TileEntityBase extends TileEntity
             if (this instanceof IHeatExchangingTE) {
                 // tick default heat exchanger; if the TE has other exchangers, they are handled in the subclass
                 IHeatExchangerLogic logic = ((IHeatExchangingTE) this).getHeatExchanger();
-                if (logic != null) logic.tick();
+                if (logic != null) {
+                    long t = TickProfiler.start();
+                    logic.tick();
+                    TickProfiler.end(TickProfiler.Subsystem.HEAT, this, t);
+                }
             }
 
             if (this instanceof IAutoFluidEjecting && getUpgrades(EnumUpgrade.DISPENSER) > 0) {
                 ((IAutoFluidEjecting) this).autoExportFluid(this);
             }
 
+            long t = TickProfiler.start();
             for (int i = 0; i < getDescriptionFields().size(); i++) {
                 if (getDescriptionFields().get(i).update()) {
                     fieldsToSync.set(i);
@@ -196,6 +203,16 @@ public abstract class TileEntityBase extends TileEntity
             if (forceFullSync || !fieldsToSync.isEmpty()) {
                 sendDescriptionPacket();
             }
+            TickProfiler.end(TickProfiler.Subsystem.SYNC, this, t);
+        }
+    }
+
+    @Override
+    public void validate() {
+        super.validate();
+
+        if (this instanceof ICamouflageableTE && world != null && world.isRemote) {
+            GlobalTileEntityCacheManager.getInstance(world).getCamouflageableCache().add(this);
         }
     }
 
@@ -205,6 +222,9 @@ public abstract class TileEntityBase extends TileEntity
 
         if (getInventoryCap().isPresent()) getInventoryCap().invalidate();
         if (getHeatCap(null).isPresent()) getHeatCap(null).invalidate();
+        if (this instanceof ICamouflageableTE && world != null && world.isRemote) {
+            GlobalTileEntityCacheManager.getInstance(world).getCamouflageableCache().remove(this);
+        }
     }
 
     protected void onFirstServerTick() {
@@ -315,7 +335,10 @@ public abstract class TileEntityBase extends TileEntity
     public void onDescUpdate() {
         if (shouldRerenderChunkOnDescUpdate()) {
             rerenderTileEntity();
-            if (this instanceof ICamouflageableTE) requestModelDataUpdate();
+            if (this instanceof ICamouflageableTE) {
+                requestModelDataUpdate();
+                GlobalTileEntityCacheManager.getInstance(world).getCamouflageableCache().markChanged();
+            }
         }
     }
 
@@ -303,13 +303,13 @@ public class TileEntityChargingStation extends TileEntityPneumaticBase implement
     @Override
     public void remove(){
         super.remove();
-        GlobalTileEntityCacheManager.getInstance().chargingStations.remove(this);
+        if (world != null) GlobalTileEntityCacheManager.getInstance(world).remove(this);
     }
 
     @Override
     public void validate(){
         super.validate();
-        GlobalTileEntityCacheManager.getInstance().chargingStations.add(this);
+        if (world != null) GlobalTileEntityCacheManager.getInstance(world).add(this);
     }
 
     @Nullable
@@ -48,16 +48,18 @@ public class TileEntityElectrostaticCompressor extends TileEntityPneumaticBase
             new EmittingRedstoneMode<>("standard.never", new ItemStack(Items.GUNPOWDER), te -> false),
             new EmittingRedstoneMode<>("electrostaticCompressor.struckByLightning", Textures.JEI_EXPLOSION, te -> te.struckByLightningCooldown > 0)
     );
-    private static final int MAX_ELECTROSTATIC_GRID_SIZE = 500;
     private static final int MAX_BARS_ABOVE = 10;
 
     @GuiSynced
     public final RedstoneController<TileEntityElectrostaticCompressor> rsController = new RedstoneController<>(this, REDSTONE_MODES);
 
     private boolean lastRedstoneState;
+    @GuiSynced
     public int ironBarsBeneath = 0;
+    @GuiSynced
     public int ironBarsAbove = 0;
     private int struckByLightningCooldown; // for redstone emission purposes
+    private boolean gridChanged = true;
 
     public TileEntityElectrostaticCompressor() {
         super(ModTileEntities.ELECTROSTATIC_COMPRESSOR.get(), PneumaticValues.DANGER_PRESSURE_ELECTROSTATIC_COMPRESSOR, PneumaticValues.MAX_PRESSURE_ELECTROSTATIC_COMPRESSOR, PneumaticValues.VOLUME_ELECTROSTATIC_COMPRESSOR, 4);
@@ -67,22 +69,14 @@ public class TileEntityElectrostaticCompressor extends TileEntityPneumaticBase
     public void tick() {
         super.tick();
 
-        if ((getWorld().getGameTime() & 0x1f) == 0) {  // every 32 ticks
-            int max = PneumaticValues.PRODUCTION_ELECTROSTATIC_COMPRESSOR / PneumaticValues.MAX_REDIRECTION_PER_IRON_BAR;
-            for (ironBarsBeneath = 0; ironBarsBeneath < max; ironBarsBeneath++) {
-                if (!isValidGridBlock(getWorld().getBlockState(getPos().down(ironBarsBeneath + 1)).getBlock())) {
-                    break;
-                }
-            }
-            for (ironBarsAbove = 0; ironBarsAbove < MAX_BARS_ABOVE; ironBarsAbove++) {
-                if (!isValidGridBlock(getWorld().getBlockState(getPos().up(ironBarsAbove + 1)).getBlock())) {
-                    break;
-                }
+        if (!getWorld().isRemote) {
+            if (gridChanged) {
+                gridChanged = false;
+                // ensures we're part of a tracked grid, so we hear about any changes to the bars above & below
+                ElectrostaticGridTracker.forWorld(getWorld()).join(this);
+                countIronBars();
             }
-        }
-
 
-        if (!getWorld().isRemote) {
             maybeLightningStrike();
 
             if (lastRedstoneState != rsController.shouldEmit()) {
@@ -94,6 +88,41 @@ public class TileEntityElectrostaticCompressor extends TileEntityPneumaticBase
         }
     }
 
+    private void countIronBars() {
+        int max = PneumaticValues.PRODUCTION_ELECTROSTATIC_COMPRESSOR / PneumaticValues.MAX_REDIRECTION_PER_IRON_BAR;
+        for (ironBarsBeneath = 0; ironBarsBeneath < max; ironBarsBeneath++) {
+            if (!isValidGridBlock(getWorld().getBlockState(getPos().down(ironBarsBeneath + 1)).getBlock())) {
+                break;
+            }
+        }
+        for (ironBarsAbove = 0; ironBarsAbove < MAX_BARS_ABOVE; ironBarsAbove++) {
+            if (!isValidGridBlock(getWorld().getBlockState(getPos().up(ironBarsAbove + 1)).getBlock())) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Called by the grid tracker when the grid this compressor is part of has changed.
+     */
+    void onGridChanged() {
+        gridChanged = true;
+    }
+
+    @Override
+    public void remove() {
+        super.remove();
+
+        if (!getWorld().isRemote) ElectrostaticGridTracker.forWorld(getWorld()).invalidate(getPos());
+    }
+
+    @Override
+    public void onChunkUnloaded() {
+        super.onChunkUnloaded();
+
+        if (!getWorld().isRemote) ElectrostaticGridTracker.forWorld(getWorld()).onCompressorUnloaded(this);
+    }
+
     public int getStrikeChance() {
         int strikeChance = PNCConfig.Common.Machines.electrostaticLightningChance;
         if (getWorld().isRaining()) strikeChance *= 0.5;  // slightly more likely if raining
@@ -113,20 +142,21 @@ public class TileEntityElectrostaticCompressor extends TileEntityPneumaticBase
                 BlockPos hitPos = new BlockPos(x, y, z);
                 BlockState state = getWorld().getBlockState(hitPos);
                 if (state.getBlock() instanceof BlockElectrostaticCompressor || state.getBlock() == Blocks.IRON_BARS) {
-                    Set<BlockPos> gridSet = new HashSet<>();
-                    Set<TileEntityElectrostaticCompressor> compressorSet = new HashSet<>();
-                    getElectrostaticGrid(gridSet, compressorSet, hitPos);
+                    ElectrostaticGridTracker.Grid grid = ElectrostaticGridTracker.forWorld(getWorld()).getGrid(hitPos);
                     LightningBoltEntity bolt = new LightningBoltEntity(EntityType.LIGHTNING_BOLT, getWorld());
                     bolt.setPosition(x, y, z);
                     getWorld().addEntity(bolt);
-                    for (TileEntityElectrostaticCompressor compressor : compressorSet) {
-                        compressor.addAir(PneumaticValues.PRODUCTION_ELECTROSTATIC_COMPRESSOR / compressorSet.size());
+                    Collection<TileEntityElectrostaticCompressor> compressors = grid.getCompressors();
+                    for (TileEntityElectrostaticCompressor compressor : compressors) {
+                        compressor.addAir(PneumaticValues.PRODUCTION_ELECTROSTATIC_COMPRESSOR / compressors.size());
                         compressor.onStruckByLightning();
                     }
                     AxisAlignedBB box = new AxisAlignedBB(getPos()).grow(16, 16, 16);
+                    if (!box.intersects(grid.getBounds())) break;
+                    box = box.intersect(grid.getBounds());
                     for (LivingEntity entity : getWorld().getEntitiesWithinAABB(LivingEntity.class, box, EntityPredicates.IS_ALIVE)) {
                         BlockPos pos = entity.getPosition();
-                        if (gridSet.contains(pos) || gridSet.contains(pos.down())) {
+                        if (grid.contains(pos) || grid.contains(pos.down())) {
                             if (!net.minecraftforge.event.ForgeEventFactory.onEntityStruckByLightning(entity, bolt)) {
                                 entity.func_241841_a((ServerWorld) getWorld(), bolt);
                             }
@@ -164,7 +194,8 @@ public class TileEntityElectrostaticCompressor extends TileEntityPneumaticBase
     }
 
     /**
-     * Scan surrounding blocks, adding all connected iron bars and electrostatic compressors to the grid
+     * Scan surrounding blocks, adding all connected iron bars and electrostatic compressors to the grid.  This is
+     * only used client-side, for GUI display; the server uses {@link ElectrostaticGridTracker}.
      *
      * @param grid set of all block positions (compressors and grid)
      * @param compressors set of all compressor positions
@@ -181,7 +212,7 @@ public class TileEntityElectrostaticCompressor extends TileEntityPneumaticBase
                 BlockPos newPos = checkingPos.offset(d);
                 Block block = world.getBlockState(newPos).getBlock();
                 if ((isValidGridBlock(block) || block == ModBlocks.ELECTROSTATIC_COMPRESSOR.get())
-                        && grid.size() < MAX_ELECTROSTATIC_GRID_SIZE && grid.add(newPos)) {
+                        && grid.size() < ElectrostaticGridTracker.MAX_GRID_SIZE && grid.add(newPos)) {
                     if (block == ModBlocks.ELECTROSTATIC_COMPRESSOR.get()) {
                         PneumaticCraftUtils.getTileEntityAt(world, newPos, TileEntityElectrostaticCompressor.class).ifPresent(compressors::add);
                     }
@@ -191,7 +222,7 @@ public class TileEntityElectrostaticCompressor extends TileEntityPneumaticBase
         }
     }
 
-    private static boolean isValidGridBlock(Block block) {
+    static boolean isValidGridBlock(Block block) {
         return block == Blocks.IRON_BARS || block == CHISELED_BARS;
     }
 
@@ -56,6 +56,10 @@ public class TileEntityEtchingTank extends TileEntityTickableBase
     private final EtchingFluidTank acidTank = new EtchingFluidTank();
     private final LazyOptional<IFluidHandler> fluidCap = LazyOptional.of(() -> acidTank);
 
+    // etch progress of each item, kept here rather than in the item's NBT while it's in the tank;
+    // see EtchingTankHandler#getStackInSlot()
+    private final int[] etchProgress = new int[ETCHING_SLOTS];
+
     @GuiSynced
     private final IHeatExchangerLogic heatExchanger = PneumaticRegistry.getInstance().getHeatRegistry().makeHeatExchangerLogic();
     private final LazyOptional<IHeatExchangerLogic> heatCap = LazyOptional.of(() -> heatExchanger);
@@ -79,11 +83,10 @@ public class TileEntityEtchingTank extends TileEntityTickableBase
             if (world.getGameTime() % tickInterval == 0) {
                 boolean didWork = false;
                 for (int i = 0; i < ETCHING_SLOTS; i++) {
-                    ItemStack stack = itemHandler.getStackInSlot(i);
+                    ItemStack stack = itemHandler.getStackUnsynced(i);
                     if (!stack.isEmpty()) {
-                        int etchProgress = ItemEmptyPCB.getEtchProgress(stack);
-                        if (etchProgress < 100) {
-                            ItemEmptyPCB.setEtchProgress(stack, etchProgress + 1);
+                        if (etchProgress[i] < 100) {
+                            etchProgress[i]++;
                             didWork = true;
                         } else if (!isOutputFull() && !isFailedOutputFull()) {
                             int uvProgress = TileEntityUVLightBox.getExposureProgress(stack);
@@ -205,6 +208,9 @@ public class TileEntityEtchingTank extends TileEntityTickableBase
     public CompoundNBT write(CompoundNBT tag) {
         super.write(tag);
 
+        for (int i = 0; i < ETCHING_SLOTS; i++) {
+            itemHandler.syncProgressToStack(i);
+        }
         tag.put("Inventory", itemHandler.serializeNBT());
         tag.put("Output", outputHandler.serializeNBT());
         tag.put("Failed", failedHandler.serializeNBT());
@@ -217,6 +223,9 @@ public class TileEntityEtchingTank extends TileEntityTickableBase
         super.read(state, tag);
 
         itemHandler.deserializeNBT(tag.getCompound("Inventory"));
+        for (int i = 0; i < ETCHING_SLOTS; i++) {
+            etchProgress[i] = ItemEmptyPCB.getEtchProgress(itemHandler.getStackUnsynced(i));
+        }
         outputHandler.deserializeNBT(tag.getCompound("Output"));
         failedHandler.deserializeNBT(tag.getCompound("Failed"));
     }
@@ -240,6 +249,55 @@ public class TileEntityEtchingTank extends TileEntityTickableBase
         public int getSlotLimit(int slot) {
             return 1;
         }
+
+        /**
+         * Anything outside the tank which looks at an item (a GUI slot, shift-clicking, other mods) gets it with its
+         * etch progress up to date, since it might take the item away or replace it with a modified copy.
+         */
+        @Nonnull
+        @Override
+        public ItemStack getStackInSlot(int slot) {
+            syncProgressToStack(slot);
+            return super.getStackInSlot(slot);
+        }
+
+        @Nonnull
+        @Override
+        public ItemStack extractItem(int slot, int amount, boolean simulate) {
+            if (!simulate) syncProgressToStack(slot);
+            return super.extractItem(slot, amount, simulate);
+        }
+
+        /**
+         * Get an item without bringing its etch progress up to date; for the tank's own per-tick processing.
+         *
+         * @param slot the slot
+         * @return the item in the slot
+         */
+        ItemStack getStackUnsynced(int slot) {
+            return super.getStackInSlot(slot);
+        }
+
+        /**
+         * Copy the tank's record of an item's etch progress into the item's NBT.
+         *
+         * @param slot the slot
+         */
+        void syncProgressToStack(int slot) {
+            ItemStack stack = super.getStackInSlot(slot);
+            if (world != null && !world.isRemote && !stack.isEmpty() && ItemEmptyPCB.getEtchProgress(stack) != etchProgress[slot]) {
+                ItemEmptyPCB.setEtchProgress(stack, etchProgress[slot]);
+            }
+        }
+
+        @Override
+        protected void onContentsChanged(int slot) {
+            super.onContentsChanged(slot);
+
+            if (world != null && !world.isRemote) {
+                etchProgress[slot] = ItemEmptyPCB.getEtchProgress(getStackUnsynced(slot));
+            }
+        }
     }
 
     private class OutputItemHandler extends BaseItemStackHandler {
@@ -48,7 +48,13 @@ public class TileEntityFluidMixer extends TileEntityPneumaticBase implements
     // Maps a fluid to all of the other fluids it can combine with
     private static final Map<Fluid, Set<Fluid>> FLUID_MATCHES = new HashMap<>();
 
-    private final ItemStackHandler outputInv = new BaseItemStackHandler(this, 1);
+    private final ItemStackHandler outputInv = new BaseItemStackHandler(this, 1) {
+        @Override
+        protected void onContentsChanged(int slot) {
+            super.onContentsChanged(slot);
+            outputBlocked = false;
+        }
+    };
     private final OutputItemHandler outputInvWrapper = new OutputItemHandler(outputInv);
     private final LazyOptional<IItemHandler> invCap = LazyOptional.of(() -> outputInvWrapper);
 
@@ -60,7 +66,13 @@ public class TileEntityFluidMixer extends TileEntityPneumaticBase implements
     private final SmartSyncTank inputTank2 = new InputTank();
     @GuiSynced
     @DescSynced
-    private final SmartSyncTank outputTank = new SmartSyncTank(this, PneumaticValues.NORMAL_TANK_CAPACITY);
+    private final SmartSyncTank outputTank = new SmartSyncTank(this, PneumaticValues.NORMAL_TANK_CAPACITY) {
+        @Override
+        protected void onContentsChanged() {
+            super.onContentsChanged();
+            outputBlocked = false;
+        }
+    };
     @GuiSynced
     private float requiredPressure;
     @GuiSynced
@@ -79,6 +91,7 @@ public class TileEntityFluidMixer extends TileEntityPneumaticBase implements
     private float airUsed;
     private FluidMixerRecipe currentRecipe = null;
     private boolean searchRecipes = true;
+    private boolean outputBlocked;  // cleared when the output tank or inventory changes
     private final MixerFluidHandler fluidHandler = new MixerFluidHandler();
     private final LazyOptional<IFluidHandler> fluidCap = LazyOptional.of(() -> fluidHandler);
 
@@ -104,6 +117,7 @@ public class TileEntityFluidMixer extends TileEntityPneumaticBase implements
                 requiredPressure = currentRecipe != null ? currentRecipe.getRequiredPressure() : 0f;
                 maxProgress = currentRecipe != null ? currentRecipe.getProcessingTime() * 100 : 0;
                 searchRecipes = false;
+                outputBlocked = false;
             }
             if (rsController.shouldRun() && currentRecipe != null && getPressure() >= requiredPressure && hasOutputSpace()) {
                 craftingProgress += 100 * (1 + Math.min(getPressure() - requiredPressure, 1.5f));
@@ -166,15 +180,14 @@ public class TileEntityFluidMixer extends TileEntityPneumaticBase implements
     }
 
     public boolean hasOutputSpace() {
-        if (!currentRecipe.getOutputItem().isEmpty()
-                && !outputInv.insertItem(0, currentRecipe.getOutputItem(), true).isEmpty()) {
-            return false;
-        }
-        if (!currentRecipe.getOutputFluid().isEmpty()
-                && outputTank.fill(currentRecipe.getOutputFluid(), IFluidHandler.FluidAction.SIMULATE) < currentRecipe.getOutputFluid().getAmount()) {
-            return false;
+        // a blocked mixer stays blocked, without re-simulating, until the contents of its outputs change
+        if (!outputBlocked) {
+            outputBlocked = !currentRecipe.getOutputItem().isEmpty()
+                    && !outputInv.insertItem(0, currentRecipe.getOutputItem(), true).isEmpty()
+                    || !currentRecipe.getOutputFluid().isEmpty()
+                    && outputTank.fill(currentRecipe.getOutputFluid(), IFluidHandler.FluidAction.SIMULATE) < currentRecipe.getOutputFluid().getAmount();
         }
-        return true;
+        return !outputBlocked;
     }
 
     private FluidMixerRecipe findApplicableRecipe() {
@@ -1,6 +1,9 @@
 package me.desht.pneumaticcraft.common.tileentity;
 
 import com.google.common.collect.ImmutableMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
 import me.desht.pneumaticcraft.common.ai.ChunkPositionSorter;
 import me.desht.pneumaticcraft.common.core.ModBlocks;
 import me.desht.pneumaticcraft.common.core.ModTileEntities;
@@ -89,8 +92,10 @@ public class TileEntityGasLift extends TileEntityPneumaticBase implements
     public Status status = Status.IDLE;
     private int workTimer;
     private int ticker;
-    private List<BlockPos> pumpingLake;
+    private Deque<BlockPos> pumpingLake;  // source blocks in the order they'll be pumped
+    private LakeSearch lakeSearch;  // non-null while the lake is still being surveyed
     private static final int MAX_PUMP_RANGE_SQUARED = 15 * 15;
+    private static final int MAX_LAKE_CHECKS_PER_TICK = 1000;
 
     public TileEntityGasLift() {
         super(ModTileEntities.GAS_LIFT.get(), 5, 7, 3000, 4);
@@ -127,8 +132,13 @@ public class TileEntityGasLift extends TileEntityPneumaticBase implements
             }
             if (ticker == 400) {
                 pumpingLake = null;
+                lakeSearch = null;
                 ticker = 0;
             }
+            if (lakeSearch != null && lakeSearch.search(MAX_LAKE_CHECKS_PER_TICK)) {
+                pumpingLake = lakeSearch.getPumpOrder();
+                lakeSearch = null;
+            }
 
             if (rsController.shouldRun() && getPressure() >= getMinWorkingPressure()) {
                 workTimer += this.getSpeedMultiplierFromUpgrades();
@@ -220,23 +230,27 @@ public class TileEntityGasLift extends TileEntityPneumaticBase implements
         FluidState fluidState = world.getFluidState(pos);
         if (fluidState.getFluid() == Fluids.EMPTY) {
             pumpingLake = null;
+            lakeSearch = null;
             return false;
         }
         FluidStack fluidStack = new FluidStack(fluidState.getFluid(), FluidAttributes.BUCKET_VOLUME);
 
         if (tank.fill(fluidStack, FluidAction.SIMULATE) == fluidStack.getAmount()) {
             if (pumpingLake == null) {
-                findLake(fluidStack.getFluid());
+                if (lakeSearch == null || lakeSearch.fluid != fluidStack.getFluid()) {
+                    lakeSearch = new LakeSearch(fluidStack.getFluid(), pos);
+                }
+                return true;  // nothing to pump until the search is done
             }
             boolean foundSource = false;
             BlockPos curPos = null;
-            while (pumpingLake.size() > 0) {
-                curPos = pumpingLake.get(0);
+            while (!pumpingLake.isEmpty()) {
+                curPos = pumpingLake.peekFirst();
                 if (FluidUtils.isSourceFluidBlock(getWorld(), curPos, fluidStack.getFluid())) {
                     foundSource = true;
                     break;
                 }
-                pumpingLake.remove(0);
+                pumpingLake.pollFirst();
             }
             if (pumpingLake.isEmpty()) {
                 pumpingLake = null;
@@ -251,27 +265,55 @@ public class TileEntityGasLift extends TileEntityPneumaticBase implements
         return true;
     }
 
-    private void findLake(Fluid fluid) {
-        pumpingLake = new ArrayList<>();
-        Stack<BlockPos> pendingPositions = new Stack<>();
-        BlockPos thisPos = getPos().offset(Direction.DOWN, currentDepth + 1);
-        pendingPositions.add(thisPos);
-        pumpingLake.add(thisPos);
-        while (!pendingPositions.empty()) {
-            BlockPos checkingPos = pendingPositions.pop();
-            for (Direction d : DirectionUtil.VALUES) {
-                if (d == Direction.DOWN) continue;
-                BlockPos newPos = checkingPos.offset(d);
-                if (PneumaticCraftUtils.distBetweenSq(newPos, thisPos) <= MAX_PUMP_RANGE_SQUARED
-                        && FluidUtils.isSourceFluidBlock(getWorld(), newPos, fluid)
-                        && !pumpingLake.contains(newPos)) {
-                    pendingPositions.add(newPos);
-                    pumpingLake.add(newPos);
+    /**
+     * Flood-fills the lake from the bottom of the pipe, spread over several ticks so that large lakes don't cause
+     * a lag spike.
+     */
+    private class LakeSearch {
+        private final Fluid fluid;
+        private final BlockPos origin;
+        private final LongSet visited = new LongOpenHashSet();
+        private final LongArrayList pending = new LongArrayList();
+        private final List<BlockPos> found = new ArrayList<>();
+
+        LakeSearch(Fluid fluid, BlockPos origin) {
+            this.fluid = fluid;
+            this.origin = origin;
+            visited.add(origin.toLong());
+            pending.add(origin.toLong());
+            found.add(origin);
+        }
+
+        /**
+         * Continue the search.
+         *
+         * @param maxChecks the maximum number of blocks to check
+         * @return true if the search is complete
+         */
+        boolean search(int maxChecks) {
+            while (!pending.isEmpty() && maxChecks > 0) {
+                BlockPos checkingPos = BlockPos.fromLong(pending.popLong());
+                for (Direction d : DirectionUtil.VALUES) {
+                    if (d == Direction.DOWN) continue;
+                    BlockPos newPos = checkingPos.offset(d);
+                    if (PneumaticCraftUtils.distBetweenSq(newPos, origin) <= MAX_PUMP_RANGE_SQUARED
+                            && visited.add(newPos.toLong())) {
+                        maxChecks--;
+                        if (FluidUtils.isSourceFluidBlock(getWorld(), newPos, fluid)) {
+                            pending.add(newPos.toLong());
+                            found.add(newPos);
+                        }
+                    }
                 }
             }
+            return pending.isEmpty();
+        }
+
+        Deque<BlockPos> getPumpOrder() {
+            // lowest blocks first, then furthest from the pipe first
+            found.sort(new ChunkPositionSorter(getPos().getX() + 0.5, origin.getY(), getPos().getZ() + 0.5, IBlockOrdered.Ordering.HIGH_TO_LOW).reversed());
+            return new ArrayDeque<>(found);
         }
-        pumpingLake.sort(new ChunkPositionSorter(getPos().getX() + 0.5, getPos().getY() - currentDepth - 1, getPos().getZ() + 0.5, IBlockOrdered.Ordering.HIGH_TO_LOW));
-        Collections.reverse(pumpingLake);
     }
 
     @Override
@@ -5,6 +5,7 @@ import me.desht.pneumaticcraft.api.PneumaticRegistry;
 import me.desht.pneumaticcraft.api.item.EnumUpgrade;
 import me.desht.pneumaticcraft.api.tileentity.IAirHandler;
 import me.desht.pneumaticcraft.api.tileentity.IAirHandlerMachine;
+import me.desht.pneumaticcraft.common.debug.TickProfiler;
 import me.desht.pneumaticcraft.common.network.GuiSynced;
 import me.desht.pneumaticcraft.common.thirdparty.computer_common.LuaConstant;
 import me.desht.pneumaticcraft.common.thirdparty.computer_common.LuaMethod;
@@ -66,7 +67,9 @@ public abstract class TileEntityPneumaticBase extends TileEntityTickableBase {
         super.tick();
 
         // note: needs to tick client-side too (for handling leak particles & sounds)
+        long t = TickProfiler.start();
         airHandlerMap.keySet().forEach(handler -> handler.tick(this));
+        TickProfiler.end(TickProfiler.Subsystem.AIR, this, t);
     }
 
     @Override
@@ -30,10 +30,12 @@ import net.minecraft.util.math.RayTraceResult;
 import net.minecraft.util.math.shapes.VoxelShape;
 import net.minecraft.util.math.shapes.VoxelShapes;
 import net.minecraft.util.text.ITextComponent;
+import net.minecraftforge.client.model.data.IModelData;
 import net.minecraftforge.common.util.Constants;
 import net.minecraftforge.items.IItemHandler;
 import net.minecraftforge.registries.ForgeRegistries;
 
+import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.*;
 import java.util.stream.Stream;
@@ -137,6 +139,8 @@ public class TileEntityPressureTube extends TileEntityPneumaticBase implements I
         updateRenderBoundingBox();
         if (hasWorld() && getWorld().isRemote) {
             rerenderTileEntity();
+            // static modules are part of the block model
+            requestModelDataUpdate();
         }
         camoState = ICamouflageableTE.readCamo(tag);
     }
@@ -307,6 +311,16 @@ public class TileEntityPressureTube extends TileEntityPneumaticBase implements I
         return renderBoundingBox != null ? renderBoundingBox : new AxisAlignedBB(getPos());
     }
 
+    @Nonnull
+    @Override
+    public IModelData getModelData() {
+        IModelData data = super.getModelData();
+        TubeModule[] moduleArray = new TubeModule[6];
+        modules.forEach((dir, module) -> moduleArray[dir.getIndex()] = module);
+        data.setData(BlockPressureTube.MODULES, moduleArray);
+        return data;
+    }
+
     @Override
     public void printManometerMessage(PlayerEntity player, List<ITextComponent> text) {
         RayTraceResult mop = RayTraceUtils.getEntityLookedObject(player, PneumaticCraftUtils.getPlayerReachDistance(player));
@@ -229,6 +229,7 @@ public class TileEntityProgrammableController extends TileEntityPneumaticBase
             if (world.getGameTime() % 20 == 0) {
                 debugger.updateDebuggingPlayers();
             }
+            debugger.sendPendingEntries();
         } else {
             if ((drone == null || !drone.isAlive()) && getWorld().isAreaLoaded(new BlockPos(curX, curY, curZ), 1)) {
                 drone = ModEntities.PROGRAMMABLE_CONTROLLER.get().create(getWorld());
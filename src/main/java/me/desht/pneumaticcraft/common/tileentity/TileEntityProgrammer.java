@@ -1,9 +1,12 @@
 package me.desht.pneumaticcraft.common.tileentity;
 
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import me.desht.pneumaticcraft.api.drone.ProgWidgetType;
 import me.desht.pneumaticcraft.api.item.IProgrammable;
 import me.desht.pneumaticcraft.client.render.area.AreaRenderManager;
 import me.desht.pneumaticcraft.common.advancements.AdvancementTriggers;
+import me.desht.pneumaticcraft.common.config.PNCConfig;
 import me.desht.pneumaticcraft.common.core.ModItems;
 import me.desht.pneumaticcraft.common.core.ModProgWidgets;
 import me.desht.pneumaticcraft.common.core.ModSounds;
@@ -71,13 +74,13 @@ public class TileEntityProgrammer extends TileEntityTickableBase implements IGUI
     @GuiSynced
     public boolean programOnInsert; // false = program drone on button click, true = program when inserted
 
-    private ListNBT history = new ListNBT(); //Used to undo/redo.
-    private int historyIndex;
+    // Used to undo/redo.  Only the widgets changed by each edit are stored, and the history isn't saved to NBT.
+    private final Deque<HistoryEdit> undoHistory = new ArrayDeque<>();
+    private final Deque<HistoryEdit> redoHistory = new ArrayDeque<>();
+    private final List<CompoundNBT> historyState = new ArrayList<>(); // widget tags as of the latest history change
 
     public TileEntityProgrammer() {
         super(ModTileEntities.PROGRAMMER.get());
-
-        saveToHistory();
     }
 
     @Override
@@ -91,9 +94,8 @@ public class TileEntityProgrammer extends TileEntityTickableBase implements IGUI
         } else {
             programOnInsert = tag.getBoolean("ProgramOnInsert");
         }
-        history = tag.getList("history", 10);
-        if (history.size() == 0) saveToHistory();
         readProgWidgetsFromNBT(tag);
+        resetHistory();
     }
 
     @Override
@@ -105,7 +107,6 @@ public class TileEntityProgrammer extends TileEntityTickableBase implements IGUI
     public CompoundNBT write(CompoundNBT tag) {
         super.write(tag);
         tag.put("Items", inventory.serializeNBT());
-        tag.put("history", history);
         tag.putBoolean("ProgramOnInsert", programOnInsert);
         writeProgWidgetsToNBT(tag);
         return tag;
@@ -211,6 +212,10 @@ public class TileEntityProgrammer extends TileEntityTickableBase implements IGUI
     }
 
     public static void updatePuzzleConnections(List<IProgWidget> progWidgets) {
+        // index the widgets by position, so each widget can look up its neighbours directly instead of
+        // checking every other widget (which gets very slow for large programs)
+        Long2ObjectMap<List<IProgWidget>> byPos = new Long2ObjectOpenHashMap<>(progWidgets.size());
+        Long2ObjectMap<List<IProgWidget>> byRightEdge = new Long2ObjectOpenHashMap<>(progWidgets.size());
         for (IProgWidget widget : progWidgets) {
             widget.setParent(null);
             List<ProgWidgetType<?>> parameters = widget.getParameters();
@@ -218,22 +223,20 @@ public class TileEntityProgrammer extends TileEntityTickableBase implements IGUI
                 widget.setParameter(i, null);
             }
             if (widget.hasStepOutput()) widget.setOutputWidget(null);
+            addToPosIndex(byPos, widget.getX(), widget.getY(), widget);
+            addToPosIndex(byRightEdge, widget.getX() + widget.getWidth() / 2, widget.getY(), widget);
         }
 
         for (IProgWidget checkedWidget : progWidgets) {
             // check for connection to the right of the checked widget.
             List<ProgWidgetType<?>> parameters = checkedWidget.getParameters();
-            if (!parameters.isEmpty()) {
-                for (IProgWidget widget : progWidgets) {
-                    if (widget != checkedWidget && checkedWidget.getX() + checkedWidget.getWidth() / 2 == widget.getX()) {
-                        for (int i = 0; i < parameters.size(); i++) {
-                            if (checkedWidget.canSetParameter(i)
-                                    && parameters.get(i) == widget.returnType()
-                                    && checkedWidget.getY() + i * 11 == widget.getY())
-                            {
-                                checkedWidget.setParameter(i, widget);
-                                widget.setParent(checkedWidget);
-                            }
+            int rightX = checkedWidget.getX() + checkedWidget.getWidth() / 2;
+            for (int i = 0; i < parameters.size(); i++) {
+                if (checkedWidget.canSetParameter(i)) {
+                    for (IProgWidget widget : getFromPosIndex(byPos, rightX, checkedWidget.getY() + i * 11)) {
+                        if (widget != checkedWidget && parameters.get(i) == widget.returnType()) {
+                            checkedWidget.setParameter(i, widget);
+                            widget.setParent(checkedWidget);
                         }
                     }
                 }
@@ -241,11 +244,8 @@ public class TileEntityProgrammer extends TileEntityTickableBase implements IGUI
 
             // check for connection to the bottom of the checked widget.
             if (checkedWidget.hasStepOutput()) {
-                for (IProgWidget widget : progWidgets) {
-                    if (widget.hasStepInput()
-                            && widget.getX() == checkedWidget.getX()
-                            && widget.getY() == checkedWidget.getY() + checkedWidget.getHeight() / 2)
-                    {
+                for (IProgWidget widget : getFromPosIndex(byPos, checkedWidget.getX(), checkedWidget.getY() + checkedWidget.getHeight() / 2)) {
+                    if (widget.hasStepInput()) {
                         checkedWidget.setOutputWidget(widget);
                     }
                 }
@@ -259,11 +259,8 @@ public class TileEntityProgrammer extends TileEntityTickableBase implements IGUI
                 List<ProgWidgetType<?>> parameters = checkedWidget.getParameters();
                 for (int i = 0; i < parameters.size(); i++) {
                     if (checkedWidget.canSetParameter(i)) {
-                        for (IProgWidget widget : progWidgets) {
-                            if (parameters.get(i) == widget.returnType()
-                                    && widget != checkedWidget
-                                    && widget.getX() + widget.getWidth() / 2 == checkedWidget.getX()
-                                    && widget.getY() == checkedWidget.getY() + i * 11) {
+                        for (IProgWidget widget : getFromPosIndex(byRightEdge, checkedWidget.getX(), checkedWidget.getY() + i * 11)) {
+                            if (parameters.get(i) == widget.returnType() && widget != checkedWidget) {
                                 IProgWidget root = widget;
                                 while (root.getParent() != null) {
                                     root = root.getParent();
@@ -277,6 +274,25 @@ public class TileEntityProgrammer extends TileEntityTickableBase implements IGUI
         }
     }
 
+    private static long posKey(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    private static void addToPosIndex(Long2ObjectMap<List<IProgWidget>> index, int x, int y, IProgWidget widget) {
+        long key = posKey(x, y);
+        List<IProgWidget> l = index.get(key);
+        if (l == null) {
+            l = new ArrayList<>(1);
+            index.put(key, l);
+        }
+        l.add(widget);
+    }
+
+    private static List<IProgWidget> getFromPosIndex(Long2ObjectMap<List<IProgWidget>> index, int x, int y) {
+        List<IProgWidget> l = index.get(posKey(x, y));
+        return l == null ? Collections.emptyList() : l;
+    }
+
     @Override
     public void handleGUIButtonPress(String tag, boolean shiftHeld, ServerPlayerEntity player) {
         switch (tag) {
@@ -501,41 +517,84 @@ public class TileEntityProgrammer extends TileEntityTickableBase implements IGUI
         }
     }
 
+    private void resetHistory() {
+        undoHistory.clear();
+        redoHistory.clear();
+        historyState.clear();
+        historyState.addAll(getWidgetTags(progWidgets));
+        updateUndoRedoState();
+    }
+
     private void saveToHistory() {
-        CompoundNBT tag = new CompoundNBT();
-        writeProgWidgetsToNBT(tag);
-        if (history.size() == 0 || !history.getCompound(historyIndex).equals(tag)) {
-            while (history.size() > historyIndex + 1) {
-                history.remove(historyIndex + 1);
-            }
-            history.add(tag);
-            if (history.size() > 20) history.remove(0); // Only save up to 20 steps back.
-            historyIndex = history.size() - 1;
-            updateUndoRedoState();
+        List<CompoundNBT> newState = getWidgetTags(progWidgets);
+
+        // edits normally only touch a few widgets, so just record the span between the first and last changed widget
+        int start = 0;
+        int limit = Math.min(historyState.size(), newState.size());
+        while (start < limit && historyState.get(start).equals(newState.get(start))) {
+            start++;
+        }
+        if (start == historyState.size() && start == newState.size()) return; // no change
+        int oldEnd = historyState.size();
+        int newEnd = newState.size();
+        while (oldEnd > start && newEnd > start && historyState.get(oldEnd - 1).equals(newState.get(newEnd - 1))) {
+            oldEnd--;
+            newEnd--;
+        }
+
+        redoHistory.clear();
+        undoHistory.addLast(new HistoryEdit(start, new ArrayList<>(historyState.subList(start, oldEnd)), new ArrayList<>(newState.subList(start, newEnd))));
+        while (undoHistory.size() > PNCConfig.Common.Machines.programmerUndoDepth) {
+            undoHistory.removeFirst();
         }
+        historyState.clear();
+        historyState.addAll(newState);
+        updateUndoRedoState();
     }
 
     private void undo() {
-        if (canUndo) {
-            historyIndex--;
-            readProgWidgetsFromNBT(history.getCompound(historyIndex));
+        if (canUndo && !undoHistory.isEmpty()) {
+            HistoryEdit edit = undoHistory.removeLast();
+            applyHistoryChange(edit.start, edit.newTags, edit.oldTags);
+            redoHistory.addLast(edit);
             updateUndoRedoState();
             syncToClient(null);
         }
     }
 
     private void redo() {
-        if (canRedo) {
-            historyIndex++;
-            readProgWidgetsFromNBT(history.getCompound(historyIndex));
+        if (canRedo && !redoHistory.isEmpty()) {
+            HistoryEdit edit = redoHistory.removeLast();
+            applyHistoryChange(edit.start, edit.oldTags, edit.newTags);
+            undoHistory.addLast(edit);
             updateUndoRedoState();
             syncToClient(null);
         }
     }
 
+    private void applyHistoryChange(int start, List<CompoundNBT> from, List<CompoundNBT> to) {
+        historyState.subList(start, start + from.size()).clear();
+        historyState.addAll(start, to);
+        ListNBT widgetTags = new ListNBT();
+        historyState.forEach(widgetTag -> widgetTags.add(widgetTag.copy()));
+        CompoundNBT tag = new CompoundNBT();
+        tag.put(IProgrammable.NBT_WIDGETS, widgetTags);
+        readProgWidgetsFromNBT(tag);
+    }
+
+    private static List<CompoundNBT> getWidgetTags(List<IProgWidget> widgets) {
+        List<CompoundNBT> res = new ArrayList<>(widgets.size());
+        for (IProgWidget widget : widgets) {
+            CompoundNBT widgetTag = new CompoundNBT();
+            widget.writeToNBT(widgetTag);
+            res.add(widgetTag);
+        }
+        return res;
+    }
+
     private void updateUndoRedoState() {
-        canUndo = historyIndex > 0;
-        canRedo = historyIndex < history.size() - 1;
+        canUndo = !undoHistory.isEmpty();
+        canRedo = !redoHistory.isEmpty();
     }
 
     @Nullable
@@ -596,6 +655,21 @@ public class TileEntityProgrammer extends TileEntityTickableBase implements IGUI
         }
     }
 
+    /**
+     * One undoable edit: the widgets in the span starting at {@code start} were replaced, old tags by new tags.
+     */
+    private static class HistoryEdit {
+        private final int start;
+        private final List<CompoundNBT> oldTags;
+        private final List<CompoundNBT> newTags;
+
+        private HistoryEdit(int start, List<CompoundNBT> oldTags, List<CompoundNBT> newTags) {
+            this.start = start;
+            this.oldTags = oldTags;
+            this.newTags = newTags;
+        }
+    }
+
     // yep, this is basically Rectangle2d, but that's client only, so...
     private static class PuzzleExtents {
         private final int x;
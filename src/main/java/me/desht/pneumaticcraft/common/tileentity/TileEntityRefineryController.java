@@ -39,7 +39,6 @@ import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.IntStream;
 
 public class TileEntityRefineryController extends TileEntityTickableBase
         implements IRedstoneControl<TileEntityRefineryController>, IComparatorSupport, ISerializableTanks,
@@ -76,6 +75,7 @@ public class TileEntityRefineryController extends TileEntityTickableBase
     private int comparatorValue;
     private int prevOutputCount = -1;
     private boolean searchForRecipe = true;
+    private boolean outputsChanged = true;  // set when any output tank's contents change; see onOutputTankChanged()
 
     public TileEntityRefineryController() {
         super(ModTileEntities.REFINERY.get());
@@ -112,6 +112,7 @@ public class TileEntityRefineryController extends TileEntityTickableBase
             outputCount = outputCache.size();
             if (prevOutputCount != outputCount) {
                 searchForRecipe = true;
+                outputsChanged = true;
             }
             if (searchForRecipe) {
                 currentRecipe = getRecipeFor(inputTank.getFluid());
@@ -120,6 +121,7 @@ public class TileEntityRefineryController extends TileEntityTickableBase
                 minTemp = operatingTemp.getMin();
                 maxTemp = operatingTemp.getMax();
                 searchForRecipe = false;
+                blocked = false;
             }
             boolean hasWork = false;
             if (currentRecipe != null) {
@@ -127,7 +129,7 @@ public class TileEntityRefineryController extends TileEntityTickableBase
                     redistributeFluids();
                 }
 
-                if (outputCount > 1 && doesRedstoneAllow() && doRefiningStep(FluidAction.SIMULATE)) {
+                if (outputCount > 1 && doesRedstoneAllow() && canRefine()) {
                     hasWork = true;
                     if (operatingTemp.inRange(heatExchanger.getTemperature())
                             && inputTank.getFluidAmount() >= currentRecipe.getInput().getAmount()) {
@@ -148,10 +150,16 @@ public class TileEntityRefineryController extends TileEntityTickableBase
                 }
             }
 
-            IntStream.range(0, outputCount).forEach(i -> outputCache.get(i).ifPresent(h -> {
-                outputsSynced[i].setFluid(h.getFluidInTank(0).copy());
+            if (outputsChanged) {
+                for (int i = 0; i < outputCount; i++) {
+                    final int idx = i;
+                    outputCache.get(i).ifPresent(h -> outputsSynced[idx].setFluid(h.getFluidInTank(0).copy()));
+                }
+                outputsChanged = false;
+            }
+            for (int i = 0; i < outputCount; i++) {
                 outputsSynced[i].tick();
-            }));
+            }
 
             prevOutputCount = outputCount;
             maybeUpdateComparatorValue(outputCount, hasWork);
@@ -235,6 +243,24 @@ public class TileEntityRefineryController extends TileEntityTickableBase
         }
 
         outputCache = cache;
+        outputsChanged = true;
+    }
+
+    /**
+     * Called by a refinery output when its tank contents change.
+     */
+    void onOutputTankChanged() {
+        outputsChanged = true;
+    }
+
+    /**
+     * Check if the current recipe's outputs will fit.  A blocked refinery stays blocked, without re-simulating,
+     * until the contents of an output tank change.
+     *
+     * @return true if a refining step can be done
+     */
+    private boolean canRefine() {
+        return (!blocked || outputsChanged) && doRefiningStep(FluidAction.SIMULATE);
     }
 
     public TileEntityRefineryOutput findAdjacentOutput() {
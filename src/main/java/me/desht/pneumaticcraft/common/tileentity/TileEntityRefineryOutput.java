@@ -35,7 +35,17 @@ public class TileEntityRefineryOutput extends TileEntityTickableBase implements
     private TileEntityRefineryController controllerTE = null;
 
     @DescSynced
-    private final SmartSyncTank outputTank = new SmartSyncTank(this, PneumaticValues.NORMAL_TANK_CAPACITY);
+    private final SmartSyncTank outputTank = new SmartSyncTank(this, PneumaticValues.NORMAL_TANK_CAPACITY) {
+        @Override
+        protected void onContentsChanged() {
+            super.onContentsChanged();
+
+            if (world != null && !world.isRemote) {
+                TileEntityRefineryController controller = getRefineryController();
+                if (controller != null) controller.onOutputTankChanged();
+            }
+        }
+    };
 
     @GuiSynced
     private final IHeatExchangerLogic heatExchanger = PneumaticRegistry.getInstance().getHeatRegistry().makeHeatExchangerLogic();
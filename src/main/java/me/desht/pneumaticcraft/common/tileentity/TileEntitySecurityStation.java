@@ -106,13 +106,13 @@ public class TileEntitySecurityStation extends TileEntityTickableBase implements
     @Override
     public void remove(){
         super.remove();
-        GlobalTileEntityCacheManager.getInstance().securityStations.remove(this);
+        if (world != null) GlobalTileEntityCacheManager.getInstance(world).remove(this);
     }
 
     @Override
     public void validate(){
         super.validate();
-        GlobalTileEntityCacheManager.getInstance().securityStations.add(this);
+        if (world != null) GlobalTileEntityCacheManager.getInstance(world).add(this);
     }
 
     @Override
@@ -596,7 +596,8 @@ public class TileEntitySecurityStation extends TileEntityTickableBase implements
     }
 
     static Stream<TileEntitySecurityStation> getSecurityStations(final World world, final BlockPos pos, final boolean isPlacingSecurityStation) {
-        return GlobalTileEntityCacheManager.getInstance().securityStations.stream()
+        return GlobalTileEntityCacheManager.getInstance(world)
+                .getCache(ModTileEntities.SECURITY_STATION.get()).stream(world)
                 .filter(station -> isValidAndInRange(world, pos, isPlacingSecurityStation, station));
     }
 
@@ -11,7 +11,6 @@ import me.desht.pneumaticcraft.common.item.ItemGunAmmo;
 import me.desht.pneumaticcraft.common.minigun.Minigun;
 import me.desht.pneumaticcraft.common.network.DescSynced;
 import me.desht.pneumaticcraft.common.network.GuiSynced;
-import me.desht.pneumaticcraft.common.util.EntityDistanceComparator;
 import me.desht.pneumaticcraft.common.util.PneumaticCraftUtils;
 import me.desht.pneumaticcraft.common.util.fakeplayer.FakeNetHandlerPlayerServer;
 import net.minecraft.block.BlockState;
@@ -28,7 +27,6 @@ import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.SoundCategory;
 import net.minecraft.util.SoundEvent;
 import net.minecraft.util.math.AxisAlignedBB;
-import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.BlockRayTraceResult;
 import net.minecraft.util.math.RayTraceContext;
 import net.minecraft.util.math.vector.Vector3d;
@@ -43,7 +41,6 @@ import net.minecraftforge.items.ItemStackHandler;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.Iterator;
-import java.util.List;
 
 public class TileEntitySentryTurret extends TileEntityTickableBase implements
         IRedstoneControl<TileEntitySentryTurret>, IGUITextFieldSensitive, INamedContainerProvider {
@@ -68,6 +65,7 @@ public class TileEntitySentryTurret extends TileEntityTickableBase implements
     private int targetEntityId = -1;
     @DescSynced
     private boolean sweeping;
+    private final SentryTurretTargeting.Search targetSearch = new SentryTurretTargeting.Search();
     private final SentryTurretEntitySelector entitySelector = new SentryTurretEntitySelector();
     private double rangeSq;
     private Vector3d tileVec;
@@ -85,13 +83,14 @@ public class TileEntitySentryTurret extends TileEntityTickableBase implements
         if (!getWorld().isRemote) {
             if (getMinigun().getAttackTarget() == null && rsController.shouldRun()) {
                 getMinigun().setSweeping(true);
-                if ((getWorld().getGameTime() & 0xF) == 0) {
-                    List<LivingEntity> entities = getWorld().getEntitiesWithinAABB(LivingEntity.class, getTargetingBoundingBox(), entitySelector);
-                    if (entities.size() > 0) {
-                        entities.sort(new EntityDistanceComparator(getPos()));
-                        getMinigun().setAttackTarget(entities.get(0));
-                        targetEntityId = entities.get(0).getEntityId();
-                    } else if (targetEntityId > 0) {
+                // a search which ran out of raytraces is continued next tick, rather than waiting for the next scan
+                if (getWorld().getGameTime() % SentryTurretTargeting.SCAN_INTERVAL == 0 || targetSearch.isInProgress()) {
+                    LivingEntity newTarget = SentryTurretTargeting.forWorld(getWorld())
+                            .findTarget(targetSearch, getPos(), range, entitySelector::isCandidate, entitySelector::isVisible);
+                    if (newTarget != null) {
+                        getMinigun().setAttackTarget(newTarget);
+                        targetEntityId = newTarget.getEntityId();
+                    } else if (targetEntityId > 0 && !targetSearch.isInProgress()) {
                         getMinigun().setReturning(true);
                         targetEntityId = -1;
                     }
@@ -101,8 +100,10 @@ public class TileEntitySentryTurret extends TileEntityTickableBase implements
             }
             LivingEntity target = getMinigun().getAttackTarget();
             if (target != null) {
-                if (rsController.shouldRun() && entitySelector.apply(target)) {
-                    if ((getWorld().getGameTime() & 0x7) == 0) {
+                // only raytrace the current target when about to fire at it
+                boolean fireTick = (getWorld().getGameTime() & 0x7) == 0;
+                if (rsController.shouldRun() && entitySelector.isCandidate(target) && (!fireTick || entitySelector.isVisible(target))) {
+                    if (fireTick) {
                         // Make sure any knockback has the right direction.
                         getFakePlayer().setPosition(getPos().getX() + 0.5, getPos().getY() + 0.5, getPos().getZ() + 0.5);
                         boolean usedUpAmmo = getMinigun().tryFireMinigun(target);
@@ -141,10 +142,6 @@ public class TileEntitySentryTurret extends TileEntityTickableBase implements
         return trace.getPos().equals(getPos());
     }
 
-    private AxisAlignedBB getTargetingBoundingBox() {
-        return new AxisAlignedBB(getPos(), getPos()).grow(range);
-    }
-
     @Override
     public AxisAlignedBB getRenderBoundingBox() {
         return RenderMinigunTracers.shouldRender(getMinigun()) ?
@@ -349,15 +346,30 @@ public class TileEntitySentryTurret extends TileEntityTickableBase implements
     private class SentryTurretEntitySelector extends StringFilterEntitySelector {
         @Override
         public boolean apply(Entity entity) {
+            return entity instanceof LivingEntity && isCandidate((LivingEntity) entity) && isVisible((LivingEntity) entity);
+        }
+
+        /**
+         * Checks which don't need a raytrace or a security station search.
+         */
+        boolean isCandidate(LivingEntity entity) {
             if (entity instanceof PlayerEntity) {
                 PlayerEntity player = (PlayerEntity) entity;
-                if (player.isCreative() || player.isSpectator() || isExcludedBySecurityStations(player)) return false;
+                if (player.isCreative() || player.isSpectator()) return false;
             }
-            return super.apply(entity) && inRange(entity) && canTurretSeeEntity(entity);
+            return inRange(entity) && super.apply(entity);
+        }
+
+        /**
+         * The more expensive checks, to be done on candidate entities only.
+         */
+        boolean isVisible(LivingEntity entity) {
+            return !(entity instanceof PlayerEntity && isExcludedBySecurityStations((PlayerEntity) entity))
+                    && canTurretSeeEntity(entity);
         }
 
         private boolean inRange(Entity entity) {
-            return PneumaticCraftUtils.distBetweenSq(new BlockPos(getPos().getX(), getPos().getY(), getPos().getZ()), entity.getPosX(), entity.getPosY(), entity.getPosZ()) <= rangeSq;
+            return PneumaticCraftUtils.distBetweenSq(getPos(), entity.getPosX(), entity.getPosY(), entity.getPosZ()) <= rangeSq;
         }
 
         private boolean isExcludedBySecurityStations(PlayerEntity player) {
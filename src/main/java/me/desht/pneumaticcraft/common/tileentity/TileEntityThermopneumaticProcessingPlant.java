@@ -62,7 +62,13 @@ public class TileEntityThermopneumaticProcessingPlant extends TileEntityPneumati
     private final ThermopneumaticFluidTankInput inputTank = new ThermopneumaticFluidTankInput(PneumaticValues.NORMAL_TANK_CAPACITY);
     @GuiSynced
     @DescSynced
-    private final SmartSyncTank outputTank = new SmartSyncTank(this, PneumaticValues.NORMAL_TANK_CAPACITY);
+    private final SmartSyncTank outputTank = new SmartSyncTank(this, PneumaticValues.NORMAL_TANK_CAPACITY) {
+        @Override
+        protected void onContentsChanged() {
+            super.onContentsChanged();
+            outputBlocked = false;
+        }
+    };
     @GuiSynced
     private final IHeatExchangerLogic heatExchanger = PneumaticRegistry.getInstance().getHeatRegistry().makeHeatExchangerLogic();
     private final LazyOptional<IHeatExchangerLogic> heatCap = LazyOptional.of(() -> heatExchanger);
@@ -84,9 +90,16 @@ public class TileEntityThermopneumaticProcessingPlant extends TileEntityPneumati
     private String currentRecipeIdSynced = "";
     private ThermoPlantRecipe currentRecipe;
     private boolean searchForRecipe = true;
+    private boolean outputBlocked;  // cleared when the output tank or inventory changes
 
     private final ItemStackHandler inputItemHandler = new InputItemHandler(this);
-    private final ItemStackHandler outputItemHandler = new BaseItemStackHandler(this, INVENTORY_SIZE);
+    private final ItemStackHandler outputItemHandler = new BaseItemStackHandler(this, INVENTORY_SIZE) {
+        @Override
+        protected void onContentsChanged(int slot) {
+            super.onContentsChanged(slot);
+            outputBlocked = false;
+        }
+    };
     private final ThermopneumaticInvWrapper invWrapper = new ThermopneumaticInvWrapper(inputItemHandler, outputItemHandler);
     private final LazyOptional<IItemHandler> invCap = LazyOptional.of(() -> invWrapper);
 
@@ -119,6 +132,7 @@ public class TileEntityThermopneumaticProcessingPlant extends TileEntityPneumati
                 currentRecipe = findApplicableRecipe();
                 currentRecipeIdSynced = currentRecipe == null ? "" : currentRecipe.getId().toString();
                 searchForRecipe = false;
+                outputBlocked = false;
             }
             if (prevRecipe != currentRecipe) {
                 getWorld().updateComparatorOutputLevel(getPos(), getBlockState().getBlock());
@@ -147,7 +161,10 @@ public class TileEntityThermopneumaticProcessingPlant extends TileEntityPneumati
                             }
                             heatExchanger.addHeat(-currentRecipe.heatUsed(heatExchanger.getAmbientTemperature()) * speedBoost * 0.75 * progressDivider);
                         }
-                        if (craftingProgress >= CRAFTING_TIME) {
+                        if (craftingProgress >= CRAFTING_TIME && outputBlocked) {
+                            // no point simulating again until there's a change to the outputs
+                            problem = TPProblem.OUTPUT_BLOCKED;
+                        } else if (craftingProgress >= CRAFTING_TIME) {
                             int filled = outputTank.fill(currentRecipe.getOutputFluid().copy(), FluidAction.SIMULATE);
                             ItemStack excess = outputItemHandler.insertItem(0, currentRecipe.getOutputItem().copy(), true);
                             if (filled == currentRecipe.getOutputFluid().getAmount() && excess.isEmpty()) {
@@ -158,6 +175,7 @@ public class TileEntityThermopneumaticProcessingPlant extends TileEntityPneumati
                                 craftingProgress -= CRAFTING_TIME;
                             } else {
                                 problem = TPProblem.OUTPUT_BLOCKED;
+                                outputBlocked = true;
                             }
                         }
                         didWork = problem == TPProblem.OK;
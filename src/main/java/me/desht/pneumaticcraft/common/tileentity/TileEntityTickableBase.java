@@ -1,5 +1,6 @@
 package me.desht.pneumaticcraft.common.tileentity;
 
+import me.desht.pneumaticcraft.common.config.PNCConfig;
 import net.minecraft.tileentity.ITickableTileEntity;
 import net.minecraft.tileentity.TileEntityType;
 
@@ -7,8 +8,20 @@ import net.minecraft.tileentity.TileEntityType;
  * Ticking tile entities should either extend this class, or implement ITickable themselves.
  * Note that the superclass, TileEntityBase, contains an implementation of tick() which
  * is used by default.
+ * <p>
+ * Machines which know they'll have nothing to do for a while can call {@link #sleepFor(int)} or
+ * {@link #sleepUntil(long)} from their tick method to stop being ticked until then.  A sleeping machine is woken
+ * early by a neighbour block update, a GUI button click or an upgrade change; call {@link #wakeFromSleep()} for
+ * any other event the machine should react to.
  */
 public abstract class TileEntityTickableBase extends TileEntityBase implements ITickableTileEntity {
+    // scheduler state; see TickScheduler
+    long wakeTime = -1;
+    boolean dormant;
+    long dormantSince;
+    boolean proxied;  // ticked through a TickScheduler.TickProxy
+    boolean unloaded;
+
     public TileEntityTickableBase(TileEntityType type) {
         this(type, 0);
     }
@@ -21,4 +34,51 @@ public abstract class TileEntityTickableBase extends TileEntityBase implements I
     public void tick() {
         tickImpl();
     }
+
+    @Override
+    public void onChunkUnloaded() {
+        super.onChunkUnloaded();
+
+        unloaded = true;
+    }
+
+    @Override
+    public void onUpgradesChanged() {
+        super.onUpgradesChanged();
+
+        wakeFromSleep();
+    }
+
+    /**
+     * Stop ticking this tile entity until the given number of ticks have passed.  Server-side only; does nothing on
+     * the client, or if the tick scheduler is disabled in config.
+     *
+     * @param ticks number of ticks until this tile entity should next tick; values of 1 or less do nothing
+     */
+    protected final void sleepFor(int ticks) {
+        if (world != null && ticks > 1) {
+            sleepUntil(world.getGameTime() + ticks);
+        }
+    }
+
+    /**
+     * Stop ticking this tile entity until the given game time.  Server-side only; does nothing on the client, or if
+     * the tick scheduler is disabled in config.
+     *
+     * @param gameTime the world game time at which this tile entity should next tick
+     */
+    protected final void sleepUntil(long gameTime) {
+        if (world != null && !world.isRemote && PNCConfig.Common.Advanced.tickScheduler) {
+            TickScheduler.forWorld(world).requestSleep(this, gameTime);
+        }
+    }
+
+    /**
+     * Resume ticking this tile entity if it's sleeping (or about to sleep).  Safe to call at any time.
+     */
+    public final void wakeFromSleep() {
+        if (world != null && !world.isRemote && (dormant || wakeTime >= 0)) {
+            TickScheduler.forWorld(world).requestWake(this);
+        }
+    }
 }
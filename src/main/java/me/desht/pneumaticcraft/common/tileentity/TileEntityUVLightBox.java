@@ -51,6 +51,9 @@ public class TileEntityUVLightBox extends TileEntityPneumaticBase implements
     public final RedstoneController<TileEntityUVLightBox> rsController = new RedstoneController<>(this);
     @GuiSynced
     public int threshold = 100;
+    // exposure of the loaded PCB, kept here rather than in the item's NBT while it's in the box;
+    // see UVInputHandler#getStackInSlot()
+    private int exposure;
 
     private final UVInputHandler inputHandler = new UVInputHandler();
     private final ItemStackHandler outputHandler = new BaseItemStackHandler(this, INVENTORY_SIZE);
@@ -73,14 +76,14 @@ public class TileEntityUVLightBox extends TileEntityPneumaticBase implements
             ItemStack stack = getLoadedPCB();
             boolean didWork = false;
             if (!stack.isEmpty() && rsController.shouldRun()) {
-                int progress = getExposureProgress(stack);
-                if (getPressure() >= PneumaticValues.MIN_PRESSURE_UV_LIGHTBOX && progress < 100) {
+                if (getPressure() >= PneumaticValues.MIN_PRESSURE_UV_LIGHTBOX && exposure < 100) {
                     addAir((int) (-PneumaticValues.USAGE_UV_LIGHTBOX * getSpeedUsageMultiplierFromUpgrades()));
-                    if (ticksExisted % ticksPerProgress(progress) == 0) {
-                        progress++;
-                        setExposureProgress(stack, progress);
+                    if (ticksExisted % ticksPerProgress(exposure) == 0) {
+                        exposure++;
                     }
-                    if (progress >= threshold) {
+                    if (exposure >= threshold) {
+                        // getStackInSlot() brings the item's exposure NBT up to date, which the output slot needs
+                        // to stack it with items of matching exposure
                         if (outputHandler.insertItem(0, inputHandler.getStackInSlot(0), true).isEmpty()) {
                             ItemStack toMove = inputHandler.extractItem(0, 1, false);
                             outputHandler.insertItem(0, toMove, false);
@@ -156,12 +159,14 @@ public class TileEntityUVLightBox extends TileEntityPneumaticBase implements
 
         threshold = tag.getInt("threshold");
         inputHandler.deserializeNBT(tag.getCompound("Items"));
+        exposure = getExposureProgress(getLoadedPCB());
     }
 
     @Override
     public CompoundNBT write(CompoundNBT nbt) {
         super.write(nbt);
         nbt.putInt("threshold", threshold);
+        inputHandler.syncExposureToStack();
         nbt.put("Items", inputHandler.serializeNBT());
         return nbt;
     }
@@ -244,7 +249,7 @@ public class TileEntityUVLightBox extends TileEntityPneumaticBase implements
     }
 
     private ItemStack getLoadedPCB() {
-        return inputHandler.getStackInSlot(PCB_SLOT);
+        return inputHandler.getStackUnsynced(PCB_SLOT);
     }
 
     @Nullable
@@ -285,6 +290,53 @@ public class TileEntityUVLightBox extends TileEntityPneumaticBase implements
         public boolean isItemValid(int slot, ItemStack itemStack) {
             return itemStack.isEmpty() || itemStack.getItem() instanceof ItemEmptyPCB && ItemEmptyPCB.getEtchProgress(itemStack) == 0;
         }
+
+        /**
+         * Anything outside the box which looks at the PCB (a GUI slot, shift-clicking, other mods) gets it with its
+         * exposure up to date, since it might take the item away or replace it with a modified copy.
+         */
+        @Nonnull
+        @Override
+        public ItemStack getStackInSlot(int slot) {
+            syncExposureToStack();
+            return super.getStackInSlot(slot);
+        }
+
+        @Nonnull
+        @Override
+        public ItemStack extractItem(int slot, int amount, boolean simulate) {
+            if (!simulate) syncExposureToStack();
+            return super.extractItem(slot, amount, simulate);
+        }
+
+        /**
+         * Get the PCB without bringing its exposure up to date; for the box's own per-tick processing.
+         *
+         * @param slot the slot
+         * @return the item in the slot
+         */
+        ItemStack getStackUnsynced(int slot) {
+            return super.getStackInSlot(slot);
+        }
+
+        /**
+         * Copy the box's record of the loaded PCB's exposure into the item's NBT.
+         */
+        void syncExposureToStack() {
+            ItemStack stack = super.getStackInSlot(PCB_SLOT);
+            if (world != null && !world.isRemote && !stack.isEmpty() && getExposureProgress(stack) != exposure) {
+                setExposureProgress(stack, exposure);
+            }
+        }
+
+        @Override
+        protected void onContentsChanged(int slot) {
+            super.onContentsChanged(slot);
+
+            if (world != null && !world.isRemote) {
+                exposure = getExposureProgress(getStackUnsynced(slot));
+            }
+        }
     }
 
     private class UVInvWrapper implements IItemHandler {
@@ -508,13 +508,13 @@ public class TileEntityUniversalSensor extends TileEntityPneumaticBase implement
     @Override
     public void remove(){
         super.remove();
-        GlobalTileEntityCacheManager.getInstance().universalSensors.remove(this);
+        if (world != null) GlobalTileEntityCacheManager.getInstance(world).remove(this);
     }
 
     @Override
     public void validate(){
         super.validate();
-        GlobalTileEntityCacheManager.getInstance().universalSensors.add(this);
+        if (world != null) GlobalTileEntityCacheManager.getInstance(world).add(this);
     }
 
     @Nullable
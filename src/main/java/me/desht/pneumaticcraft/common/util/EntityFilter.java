@@ -26,6 +26,8 @@ import net.minecraft.item.DyeColor;
 import net.minecraft.item.ItemStack;
 import net.minecraft.item.Items;
 import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.text.ITextComponent;
+import net.minecraft.util.text.TranslationTextComponent;
 import net.minecraftforge.common.IForgeShearable;
 import net.minecraftforge.registries.ForgeRegistries;
 import org.apache.commons.lang3.StringUtils;
@@ -33,9 +35,9 @@ import org.apache.commons.lang3.Validate;
 
 import javax.annotation.Nullable;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiPredicate;
 import java.util.function.Predicate;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 public class EntityFilter implements Predicate<Entity>, com.google.common.base.Predicate<Entity> {
@@ -233,7 +235,9 @@ public class EntityFilter implements Predicate<Entity>, com.google.common.base.P
     private static class EntityMatcher implements Predicate<Entity> {
         private final Pattern regex;
         private final Class<?> typeClass;
-        private final List<ModifierEntry> modifiers = new ArrayList<>();
+        private final ModifierEntry[] modifiers;
+        // verdicts of the name test, which only depend on the entity's untranslated name
+        private final Map<String, Boolean> nameVerdicts = new ConcurrentHashMap<>();
 
         private EntityMatcher(String element) {
             String[] splits = ELEMENT_SUBDIVIDER.split(element);
@@ -256,6 +260,7 @@ public class EntityFilter implements Predicate<Entity>, com.google.common.base.P
                 regex = Pattern.compile(wildcardToRegex(splits[0]), Pattern.CASE_INSENSITIVE);
             }
 
+            modifiers = new ModifierEntry[splits.length - 1];
             for (int i = 1; i < splits.length; i++) {
                 String[] parts = splits[i].split("=");
                 Validate.isTrue(parts.length == 2, "Invalid modifier syntax: " + splits[i]);
@@ -274,21 +279,33 @@ public class EntityFilter implements Predicate<Entity>, com.google.common.base.P
                     throw new IllegalArgumentException(String.format("Invalid value '%s' for modifier '%s'. Valid values: %s",
                             parts[1], parts[0], modifier.displayValidOptions()));
                 }
-                modifiers.add(new ModifierEntry(modifier, parts[1], sense));
+                modifiers[i - 1] = new ModifierEntry(modifier, parts[1], sense);
             }
         }
 
         @Override
         public boolean test(Entity entity) {
-            boolean ok = false;
+            if (!matchesTypeOrName(entity)) return false;
+            // modifiers test is a match-all (e.g. "sheep(sheared=false,color=black)" matches sheep which are unsheared AND black)
+            for (ModifierEntry modifierEntry : modifiers) {
+                if (!modifierEntry.test(entity)) return false;
+            }
+            return true;
+        }
+
+        private boolean matchesTypeOrName(Entity entity) {
             if (typeClass != null) {
-                ok = typeClass.isAssignableFrom(entity.getClass());
-            } else if (regex != null) {
-                Matcher m = regex.matcher(entity.getName().getString());
-                ok = m.matches();
+                return typeClass.isAssignableFrom(entity.getClass());
             }
-            // modifiers test is a match-all (e.g. "sheep(sheared=false,color=black)" matches sheep which are unsheared AND black)
-            return ok && modifiers.stream().allMatch(modifierEntry -> modifierEntry.test(entity));
+            ITextComponent name = entity.getName();
+            if (name instanceof TranslationTextComponent && name.getSiblings().isEmpty()
+                    && ((TranslationTextComponent) name).getFormatArgs().length == 0) {
+                // a plain translated name (i.e. no custom name, not a player): the verdict only depends on the key,
+                // so avoid building & matching the display string for every entity we see
+                return nameVerdicts.computeIfAbsent(((TranslationTextComponent) name).getKey(),
+                        k -> regex.matcher(name.getString()).matches());
+            }
+            return regex.matcher(name.getString()).matches();
         }
     }
 
@@ -1,82 +1,285 @@
 package me.desht.pneumaticcraft.common.util;
 
-import me.desht.pneumaticcraft.common.tileentity.TileEntityAerialInterface;
-import me.desht.pneumaticcraft.common.tileentity.TileEntityChargingStation;
-import me.desht.pneumaticcraft.common.tileentity.TileEntitySecurityStation;
-import me.desht.pneumaticcraft.common.tileentity.TileEntityUniversalSensor;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import me.desht.pneumaticcraft.lib.Names;
 import net.minecraft.tileentity.TileEntity;
+import net.minecraft.tileentity.TileEntityType;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.IWorld;
+import net.minecraftforge.event.world.ChunkEvent;
 import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
-import net.minecraftforge.fml.LogicalSide;
 import net.minecraftforge.fml.common.Mod;
-import net.minecraftforge.fml.common.thread.EffectiveSide;
 
-import java.util.Collections;
-import java.util.Iterator;
-import java.util.Set;
-import java.util.WeakHashMap;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 /**
  * Helper which allows querying TE's of specific types, like the Universal Sensor, Security Station and Charging Station
  * This is very important for performance, especially in worlds with many tile entities.
+ * <p>
+ * Tile entities are tracked per tile entity type, and within each type, per world in chunk-sized buckets, so
+ * range queries only need to look at the chunks which can actually contain matches.
  *
  * @author MineMaarten
  */
 @Mod.EventBusSubscriber(modid = Names.MOD_ID)
-public class GlobalTileEntityCacheManager{
+public class GlobalTileEntityCacheManager {
     private static final GlobalTileEntityCacheManager CLIENT_INSTANCE = new GlobalTileEntityCacheManager();
     private static final GlobalTileEntityCacheManager SERVER_INSTANCE = new GlobalTileEntityCacheManager();
-    
-    public static GlobalTileEntityCacheManager getInstance(){
-        return EffectiveSide.get() == LogicalSide.CLIENT ? CLIENT_INSTANCE : SERVER_INSTANCE;
+
+    public static GlobalTileEntityCacheManager getInstance(IWorld world) {
+        return world.isRemote() ? CLIENT_INSTANCE : SERVER_INSTANCE;
+    }
+
+    @SubscribeEvent
+    public static void onWorldUnloaded(WorldEvent.Unload event) {
+        getInstance(event.getWorld()).removeFromWorld(event.getWorld());
     }
-    
+
     @SubscribeEvent
-    public static void onWorldUnloaded(WorldEvent.Unload event){
-        getInstance().removeFromWorld(event.getWorld());
+    public static void onChunkUnloaded(ChunkEvent.Unload event) {
+        getInstance(event.getWorld()).removeFromChunk(event.getWorld(), event.getChunk().getPos());
+    }
+
+    private final Map<TileEntityType<?>, GlobalTileEntityCache<?>> cacheMap = new IdentityHashMap<>();
+    private final GlobalTileEntityCache<TileEntity> camouflageableCache = new GlobalTileEntityCache<>();
+
+    /**
+     * Get the cache for the given tile entity type, creating it if necessary.
+     *
+     * @param type the tile entity type
+     * @param <T> tile entity class
+     * @return the cache for that type
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends TileEntity> GlobalTileEntityCache<T> getCache(TileEntityType<T> type) {
+        return (GlobalTileEntityCache<T>) cacheMap.computeIfAbsent(type, k -> new GlobalTileEntityCache<>());
+    }
+
+    /**
+     * Start tracking the given tile entity; call from {@link TileEntity#validate()}, on the instance for the tile
+     * entity's world.
+     *
+     * @param te the tile entity
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends TileEntity> void add(T te) {
+        getCache((TileEntityType<T>) te.getType()).add(te);
+    }
+
+    /**
+     * Stop tracking the given tile entity; call from {@link TileEntity#remove()}.
+     *
+     * @param te the tile entity
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends TileEntity> void remove(T te) {
+        GlobalTileEntityCache<T> cache = (GlobalTileEntityCache<T>) cacheMap.get(te.getType());
+        if (cache != null) cache.remove(te);
     }
 
-//    private final Map<TileEntityType<? extends TileEntity>, GlobalTileEntityCache<? extends TileEntity>> cacheMap = new HashMap<>();
+    /**
+     * Get the cache of camouflageable tile entities, of any type.  This is only populated client-side, where it's
+     * used to highlight camouflageable blocks for the Camouflage Applicator.
+     *
+     * @return the camouflageable tile entity cache
+     */
+    public GlobalTileEntityCache<TileEntity> getCamouflageableCache() {
+        return camouflageableCache;
+    }
 
-    public final GlobalTileEntityCache<TileEntityUniversalSensor> universalSensors = new GlobalTileEntityCache<>();
-    public final GlobalTileEntityCache<TileEntityChargingStation> chargingStations = new GlobalTileEntityCache<>();
-    public final GlobalTileEntityCache<TileEntitySecurityStation> securityStations = new GlobalTileEntityCache<>();
-    public final GlobalTileEntityCache<TileEntityAerialInterface> aerialInterfaces = new GlobalTileEntityCache<>();
+    private void removeFromWorld(IWorld world) {
+        cacheMap.values().forEach(cache -> cache.removeFromWorld(world));
+        camouflageableCache.removeFromWorld(world);
+    }
 
-    private void removeFromWorld(IWorld world){
-        universalSensors.removeFromWorld(world);
-        chargingStations.removeFromWorld(world);
-        securityStations.removeFromWorld(world);
-        aerialInterfaces.removeFromWorld(world);
+    private void removeFromChunk(IWorld world, ChunkPos chunkPos) {
+        cacheMap.values().forEach(cache -> cache.removeFromChunk(world, chunkPos));
+        camouflageableCache.removeFromChunk(world, chunkPos);
     }
 
-    public static class GlobalTileEntityCache<T extends TileEntity> implements Iterable<T>{
-        private final Set<T> tileEntities = Collections.newSetFromMap(new WeakHashMap<>());
-        
-        public void add(T te){
-            tileEntities.add(te);
+    public static class GlobalTileEntityCache<T extends TileEntity> implements Iterable<T> {
+        private final Map<IWorld, DimensionCache<T>> byWorld = new HashMap<>();
+        private int version = 0;
+
+        public void add(T te) {
+            if (te.getWorld() != null) {
+                byWorld.computeIfAbsent(te.getWorld(), k -> new DimensionCache<>()).add(te);
+                version++;
+            }
+        }
+
+        public void remove(T te) {
+            version++;
+            if (te.getWorld() != null) {
+                DimensionCache<T> dc = byWorld.get(te.getWorld());
+                if (dc != null) {
+                    dc.remove(te);
+                    if (dc.isEmpty()) byWorld.remove(te.getWorld());
+                }
+            } else {
+                byWorld.values().forEach(dc -> dc.remove(te));
+            }
+        }
+
+        public void removeFromWorld(IWorld world) {
+            if (byWorld.remove(world) != null) version++;
+        }
+
+        /**
+         * Note that something about a tracked tile entity has changed, without it being added or removed, so
+         * anything derived from this cache should be recalculated.
+         */
+        public void markChanged() {
+            version++;
+        }
+
+        /**
+         * Get the cache's version, which changes whenever the cache contents change.  Useful to detect when data
+         * derived from the cache needs to be recalculated.
+         *
+         * @return the version
+         */
+        public int getVersion() {
+            return version;
+        }
+
+        void removeFromChunk(IWorld world, ChunkPos chunkPos) {
+            DimensionCache<T> dc = byWorld.get(world);
+            if (dc != null) {
+                if (dc.buckets.remove(chunkPos.asLong()) != null) version++;
+                if (dc.isEmpty()) byWorld.remove(world);
+            }
         }
-        
-        public void remove(T te){
-            tileEntities.remove(te);
+
+        /**
+         * Stream all tracked tile entities, in all worlds.
+         *
+         * @return a stream of tile entities
+         */
+        public Stream<T> stream() {
+            return byWorld.values().stream().flatMap(DimensionCache::stream);
         }
-        
-        public void removeFromWorld(IWorld world){
-            tileEntities.removeIf(te -> te.getWorld() == world);
+
+        /**
+         * Stream the tracked tile entities in the given world only.
+         *
+         * @param world the world
+         * @return a stream of tile entities
+         */
+        public Stream<T> stream(IWorld world) {
+            DimensionCache<T> dc = byWorld.get(world);
+            return dc == null ? Stream.empty() : dc.stream();
         }
-        
-        public Stream<T> stream(){
-            return tileEntities.stream();
+
+        /**
+         * Find all tracked tile entities in the given world within a radius of a position which match a predicate.
+         * The predicate is only tested for tile entities which are already known to be in range.
+         *
+         * @param world the world
+         * @param center center of the search
+         * @param radius search radius, in blocks
+         * @param predicate filter to apply to in-range tile entities
+         * @return a list of matching tile entities, in no particular order
+         */
+        public List<T> getWithinRadius(IWorld world, BlockPos center, double radius, Predicate<? super T> predicate) {
+            DimensionCache<T> dc = byWorld.get(world);
+            if (dc == null) return Collections.emptyList();
+            List<T> res = new ArrayList<>();
+            dc.collectInRange(center, radius, te -> {
+                if (predicate.test(te)) res.add(te);
+            });
+            return res;
+        }
+
+        /**
+         * Find up to {@code k} tracked tile entities in the given world within a radius of a position which match a
+         * predicate, nearest first.
+         *
+         * @param world the world
+         * @param center center of the search
+         * @param radius search radius, in blocks
+         * @param k maximum number of results to return
+         * @param predicate filter to apply to in-range tile entities
+         * @return a list of matching tile entities, sorted by ascending distance from the center
+         */
+        public List<T> getNearest(IWorld world, BlockPos center, double radius, int k, Predicate<? super T> predicate) {
+            List<T> res = getWithinRadius(world, center, radius, predicate);
+            res.sort(Comparator.comparingDouble(te -> te.getPos().distanceSq(center)));
+            return res.size() > k ? new ArrayList<>(res.subList(0, k)) : res;
         }
 
         @Override
-        public Iterator<T> iterator(){
-            return tileEntities.iterator();
+        public Iterator<T> iterator() {
+            return stream().iterator();
         }
     }
-}
 
+    /**
+     * Tile entities of one type in one world, bucketed by chunk.
+     */
+    private static class DimensionCache<T extends TileEntity> {
+        private final Long2ObjectMap<Set<T>> buckets = new Long2ObjectOpenHashMap<>();
+
+        void add(T te) {
+            long key = ChunkPos.asLong(te.getPos().getX() >> 4, te.getPos().getZ() >> 4);
+            buckets.computeIfAbsent(key, k -> Collections.newSetFromMap(new WeakHashMap<>())).add(te);
+        }
+
+        void remove(T te) {
+            long key = ChunkPos.asLong(te.getPos().getX() >> 4, te.getPos().getZ() >> 4);
+            Set<T> set = buckets.get(key);
+            if (set != null) {
+                set.remove(te);
+                if (set.isEmpty()) buckets.remove(key);
+            }
+        }
+
+        boolean isEmpty() {
+            return buckets.isEmpty();
+        }
+
+        Stream<T> stream() {
+            return buckets.values().stream().flatMap(Collection::stream);
+        }
 
+        void collectInRange(BlockPos center, double radius, Consumer<T> consumer) {
+            double radiusSq = radius * radius;
+            int cx0 = ((int) Math.floor(center.getX() - radius)) >> 4;
+            int cx1 = ((int) Math.floor(center.getX() + radius)) >> 4;
+            int cz0 = ((int) Math.floor(center.getZ() - radius)) >> 4;
+            int cz1 = ((int) Math.floor(center.getZ() + radius)) >> 4;
+            long area = (long) (cx1 - cx0 + 1) * (cz1 - cz0 + 1);
+            if (area > buckets.size()) {
+                // sparse: cheaper to check each occupied chunk than to probe every chunk in range
+                for (Long2ObjectMap.Entry<Set<T>> entry : buckets.long2ObjectEntrySet()) {
+                    int cx = ChunkPos.getX(entry.getLongKey());
+                    int cz = ChunkPos.getZ(entry.getLongKey());
+                    if (cx >= cx0 && cx <= cx1 && cz >= cz0 && cz <= cz1) {
+                        collectFromBucket(entry.getValue(), center, radiusSq, consumer);
+                    }
+                }
+            } else {
+                for (int cx = cx0; cx <= cx1; cx++) {
+                    for (int cz = cz0; cz <= cz1; cz++) {
+                        Set<T> set = buckets.get(ChunkPos.asLong(cx, cz));
+                        if (set != null) collectFromBucket(set, center, radiusSq, consumer);
+                    }
+                }
+            }
+        }
+
+        private void collectFromBucket(Set<T> set, BlockPos center, double radiusSq, Consumer<T> consumer) {
+            for (T te : set) {
+                if (!te.isRemoved() && te.getPos().distanceSq(center) <= radiusSq) {
+                    consumer.accept(te);
+                }
+            }
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package me.desht.pneumaticcraft.common.variables;
 
 import me.desht.pneumaticcraft.common.progwidgets.IVariableProvider;
+import me.desht.pneumaticcraft.lib.Names;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.CompoundNBT;
 import net.minecraft.nbt.ListNBT;
@@ -9,18 +10,25 @@ import net.minecraft.world.World;
 import net.minecraft.world.server.ServerWorld;
 import net.minecraft.world.storage.WorldSavedData;
 import net.minecraftforge.common.util.Constants;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.LogicalSide;
+import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.common.thread.EffectiveSide;
 import net.minecraftforge.fml.server.ServerLifecycleHooks;
 
 import javax.annotation.Nonnull;
+import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Manages global variables. These are prefixed with '#'.
+ * <p>
+ * Each variable name is interned to a single {@link GlobalVariable} handle, which callers that access the same
+ * variable repeatedly can hold onto, and which can notify listeners when the variable's value changes.
  */
 public class GlobalVariableManager extends WorldSavedData implements IVariableProvider {
     public static final int MAX_VARIABLE_LEN = 64;
@@ -28,15 +36,18 @@ public class GlobalVariableManager extends WorldSavedData implements IVariablePr
     private static final String DATA_KEY = "PneumaticCraftGlobalVariables";
     private static final GlobalVariableManager CLIENT_INSTANCE = new GlobalVariableManager();
 
-    private final Map<String, BlockPos> globalVars = new HashMap<>();
-    private final Map<String, ItemStack> globalItemVars = new HashMap<>();
+    private final Map<String, GlobalVariable> variables = new HashMap<>();
     private static ServerWorld overworld;
+    private static GlobalVariableManager serverInstance;
 
     public static GlobalVariableManager getInstance() {
         if (EffectiveSide.get() == LogicalSide.CLIENT) {
             return CLIENT_INSTANCE;
         } else {
-            return getOverworld().getSavedData().getOrCreate(GlobalVariableManager::new, DATA_KEY);
+            if (serverInstance == null) {
+                serverInstance = getOverworld().getSavedData().getOrCreate(GlobalVariableManager::new, DATA_KEY);
+            }
+            return serverInstance;
         }
     }
 
@@ -54,6 +65,17 @@ public class GlobalVariableManager extends WorldSavedData implements IVariablePr
         return overworld;
     }
 
+    /**
+     * Get the handle for the given variable, creating it (unset) if necessary.  The same handle is always returned
+     * for the same name, for as long as this manager exists.
+     *
+     * @param varName the variable name, without the leading '#'
+     * @return the variable handle
+     */
+    public GlobalVariable getVariable(String varName) {
+        return variables.computeIfAbsent(varName, k -> new GlobalVariable(this, k));
+    }
+
     public void set(String varName, boolean value) {
         set(varName, value ? 1 : 0);
     }
@@ -67,13 +89,11 @@ public class GlobalVariableManager extends WorldSavedData implements IVariablePr
     }
 
     public void set(String varName, BlockPos pos) {
-        globalVars.put(varName, pos);
-        markDirty();
+        getVariable(varName).setPos(pos);
     }
 
     public void set(String varName, ItemStack item) {
-        globalItemVars.put(varName, item);
-        markDirty();
+        getVariable(varName).setItem(item);
     }
 
     public boolean getBoolean(String varName) {
@@ -85,83 +105,80 @@ public class GlobalVariableManager extends WorldSavedData implements IVariablePr
     }
 
     public boolean hasPos(String varName) {
-        return globalVars.containsKey(varName);
+        GlobalVariable var = variables.get(varName);
+        return var != null && var.hasPos();
     }
 
     public boolean hasItem(String varName) {
-        return globalItemVars.containsKey(varName);
+        GlobalVariable var = variables.get(varName);
+        return var != null && var.hasItem();
     }
 
     public BlockPos getPos(String varName) {
-        return globalVars.getOrDefault(varName, BlockPos.ZERO);
+        GlobalVariable var = variables.get(varName);
+        return var == null ? BlockPos.ZERO : var.getPos();
     }
 
     public ItemStack getItem(String varName) {
-        return globalItemVars.getOrDefault(varName, ItemStack.EMPTY);
+        GlobalVariable var = variables.get(varName);
+        return var == null ? ItemStack.EMPTY : var.getItem();
     }
 
     @Override
     public void read(CompoundNBT tag) {
-        globalVars.clear();
+        // existing handles stay valid; they just lose their values unless they're in the saved data
+        variables.values().forEach(GlobalVariable::clear);
+
         ListNBT list = tag.getList("globalVars", Constants.NBT.TAG_COMPOUND);
         for (int i = 0; i < list.size(); i++) {
             CompoundNBT t = list.getCompound(i);
-            globalVars.put(t.getString("varName"), new BlockPos(t.getInt("x"), t.getInt("y"), t.getInt("z")));
+            getVariable(t.getString("varName")).pos = new BlockPos(t.getInt("x"), t.getInt("y"), t.getInt("z"));
         }
 
-        readItemVars(tag, globalItemVars);
-    }
-
-    public static void readItemVars(CompoundNBT tag, Map<String, ItemStack> map) {
-        map.clear();
-        ListNBT list = tag.getList("globalItemVars", Constants.NBT.TAG_COMPOUND);
+        list = tag.getList("globalItemVars", Constants.NBT.TAG_COMPOUND);
         for (int i = 0; i < list.size(); i++) {
             CompoundNBT t = list.getCompound(i);
-            map.put(t.getString("varName"), ItemStack.read(t.getCompound("item")));
+            getVariable(t.getString("varName")).item = ItemStack.read(t.getCompound("item"));
         }
     }
 
     @Override
     public CompoundNBT write(CompoundNBT tag) {
         ListNBT list = new ListNBT();
-        for (Map.Entry<String, BlockPos> entry : globalVars.entrySet()) {
-            CompoundNBT t = new CompoundNBT();
-            t.putString("varName", entry.getKey());
-            BlockPos pos = entry.getValue();
-            t.putInt("x", pos.getX());
-            t.putInt("y", pos.getY());
-            t.putInt("z", pos.getZ());
-            list.add(t);
+        ListNBT itemList = new ListNBT();
+        for (GlobalVariable var : variables.values()) {
+            if (var.hasPos()) {
+                CompoundNBT t = new CompoundNBT();
+                t.putString("varName", var.getName());
+                t.putInt("x", var.pos.getX());
+                t.putInt("y", var.pos.getY());
+                t.putInt("z", var.pos.getZ());
+                list.add(t);
+            }
+            if (var.hasItem()) {
+                CompoundNBT t = new CompoundNBT();
+                t.putString("varName", var.getName());
+                CompoundNBT itemTag = new CompoundNBT();
+                var.item.write(itemTag);
+                t.put("item", itemTag);
+                itemList.add(t);
+            }
         }
         tag.put("globalVars", list);
-
-        writeItemVars(tag);
+        tag.put("globalItemVars", itemList);
         return tag;
     }
 
-    public void writeItemVars(CompoundNBT tag) {
-        ListNBT list = new ListNBT();
-        for (Map.Entry<String, ItemStack> entry : globalItemVars.entrySet()) {
-            CompoundNBT t = new CompoundNBT();
-            t.putString("varName", entry.getKey());
-            CompoundNBT itemTag = new CompoundNBT();
-            entry.getValue().write(itemTag);
-            t.put("item", itemTag);
-            list.add(t);
-        }
-        tag.put("globalItemVars", list);
-    }
-
     public String[] getAllActiveVariableNames() {
-        Set<String> varNames = new HashSet<>();
-        varNames.addAll(globalVars.keySet());
-        varNames.addAll(globalItemVars.keySet());
-        return varNames.toArray(new String[0]);
+        return variables.values().stream()
+                .filter(var -> var.hasPos() || var.hasItem())
+                .map(GlobalVariable::getName)
+                .toArray(String[]::new);
     }
 
     @Override
     public boolean hasCoordinate(String varName) {
-        return globalVars.containsKey(varName);
+        return hasPos(varName);
     }
 
     @Override
@@ -171,7 +188,7 @@ public class GlobalVariableManager extends WorldSavedData implements IVariablePr
 
     @Override
     public boolean hasStack(String varName) {
-        return globalItemVars.containsKey(varName);
+        return hasItem(varName);
     }
 
     @Nonnull
@@ -179,4 +196,86 @@ public class GlobalVariableManager extends WorldSavedData implements IVariablePr
     public ItemStack getStack(String varName) {
         return getItem(varName);
     }
+
+    /**
+     * A handle for one global variable.  Listeners are called (on the thread which changed the variable) whenever
+     * the variable's coordinate or item value changes.
+     */
+    public static class GlobalVariable {
+        private final GlobalVariableManager manager;
+        private final String name;
+        private BlockPos pos;  // null if unset
+        private ItemStack item;  // null if unset
+        private final List<Consumer<GlobalVariable>> listeners = new ArrayList<>();
+
+        private GlobalVariable(GlobalVariableManager manager, String name) {
+            this.manager = manager;
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public boolean hasPos() {
+            return pos != null;
+        }
+
+        public boolean hasItem() {
+            return item != null;
+        }
+
+        public BlockPos getPos() {
+            return pos == null ? BlockPos.ZERO : pos;
+        }
+
+        public ItemStack getItem() {
+            return item == null ? ItemStack.EMPTY : item;
+        }
+
+        public void setPos(BlockPos pos) {
+            BlockPos prev = this.pos;
+            this.pos = pos.toImmutable();
+            manager.markDirty();
+            if (!this.pos.equals(prev)) notifyListeners();
+        }
+
+        public void setItem(ItemStack item) {
+            ItemStack prev = this.item;
+            this.item = item;
+            manager.markDirty();
+            if (prev == null || !ItemStack.areItemStacksEqual(prev, item)) notifyListeners();
+        }
+
+        public void addListener(Consumer<GlobalVariable> listener) {
+            listeners.add(listener);
+        }
+
+        public void removeListener(Consumer<GlobalVariable> listener) {
+            listeners.remove(listener);
+        }
+
+        private void clear() {
+            pos = null;
+            item = null;
+        }
+
+        private void notifyListeners() {
+            // copy, since listeners may well unsubscribe themselves
+            for (Consumer<GlobalVariable> listener : new ArrayList<>(listeners)) {
+                listener.accept(this);
+            }
+        }
+    }
+
+    @Mod.EventBusSubscriber(modid = Names.MOD_ID)
+    public static class Listener {
+        @SubscribeEvent
+        public static void onWorldUnload(WorldEvent.Unload event) {
+            if (event.getWorld() == overworld) {
+                overworld = null;
+                serverInstance = null;
+            }
+        }
+    }
 }